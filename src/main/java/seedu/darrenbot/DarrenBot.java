@@ -0,0 +1,994 @@
+package seedu.darrenbot;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Scanner;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Consumer;
+
+import seedu.darrenbot.exception.EmptyTaskException;
+import seedu.darrenbot.exception.UnexpectedCommandException;
+import seedu.darrenbot.monitor.CommandEvent;
+import seedu.darrenbot.monitor.DarrenBotMXBean;
+import seedu.darrenbot.monitor.Monitoring;
+import seedu.darrenbot.parser.Parser;
+import seedu.darrenbot.reminder.ReminderScheduler;
+import seedu.darrenbot.search.Autocomplete;
+import seedu.darrenbot.search.SearchIndex;
+import seedu.darrenbot.storage.Archive;
+import seedu.darrenbot.storage.ChangeWatcher;
+import seedu.darrenbot.storage.Storage;
+import seedu.darrenbot.storage.Workspaces;
+import seedu.darrenbot.tasks.Deadline;
+import seedu.darrenbot.tasks.Event;
+import seedu.darrenbot.tasks.Recurring;
+import seedu.darrenbot.tasks.SortedView;
+import seedu.darrenbot.tasks.StringInterner;
+import seedu.darrenbot.tasks.Task;
+import seedu.darrenbot.tasks.TaskList;
+import seedu.darrenbot.tasks.Todo;
+import seedu.darrenbot.ui.ResponseCache;
+import seedu.darrenbot.ui.Ui;
+
+/**
+ * Entry point of the darren_bot application.
+ * <p>
+ * This class coordinates the overall workflow of the program by:
+ * <ul>
+ *   <li>Initializing the {@link Ui}, {@link Storage}, and {@link TaskList} components.</li>
+ *   <li>Reading user input from the console.</li>
+ *   <li>Parsing the input into commands using {@link Parser}.</li>
+ *   <li>Executing the corresponding task operations (add, list, delete, mark/unmark, etc.).</li>
+ *   <li>Persisting changes to the storage file.</li>
+ * </ul>
+ * </p>
+ *
+ * <p>This class never touches JavaFX, so the text-mode {@link #main(String[])} can run
+ * without it on the classpath; the GUI lives separately in {@code seedu.darrenbot.gui}.</p>
+ *
+ * <p>Example usage:</p>
+ * <pre>
+ * $ java -jar darrenbot-cli.jar
+ * Hello! I'm darren_bot
+ * What can I do for you?
+ * </pre>
+ */
+
+public class DarrenBot {
+
+    /** Directory holding one shard file per workspace. */
+    public static final String DATA_DIR = "data";
+
+    /** Workspace used at startup; its shard is the original single data file. */
+    public static final String DEFAULT_WORKSPACE = "duke";
+
+    /** Default file path where tasks are stored persistently. */
+    public static final String FILE_PATH = DATA_DIR + "/" + DEFAULT_WORKSPACE + Workspaces.SHARD_EXTENSION;
+
+    /** Number of workspaces kept in memory before the least recently used one is evicted. */
+    private static final int WORKSPACE_CACHE_SIZE = 3;
+
+    /** Maximum number of ranked results shown by {@code search}. */
+    private static final int SEARCH_RESULT_LIMIT = 10;
+
+    /** Words up to this length tolerate one typo in {@code find~}; longer words tolerate two. */
+    private static final int SHORT_WORD_LENGTH = 4;
+
+    /** How far ahead of a deadline or event start its reminder fires. */
+    private static final Duration REMINDER_LEAD_TIME = Duration.ofDays(1);
+    private static final Duration REMINDER_TICK = Duration.ofMinutes(1);
+
+    /** Number of rendered {@code list}, {@code find} and {@code filter} replies kept for reuse. */
+    private static final int RESPONSE_CACHE_SIZE = 32;
+
+    /** Commands that only read the list, from snapshots, so they run without its monitor. */
+    private static final Set<Parser.Command> READ_ONLY =
+            EnumSet.of(Parser.Command.LIST, Parser.Command.FIND, Parser.Command.FILTER);
+
+    private final Ui ui;
+    private final Workspaces workspaces;
+    private final ReminderScheduler reminders;
+    private final ResponseCache responses = new ResponseCache(RESPONSE_CACHE_SIZE);
+    private final Autocomplete completions = new Autocomplete(Parser.COMMAND_NAMES);
+    /** Name of the active workspace. Its fields are volatile because the JMX threads read them too. */
+    private volatile String workspaceName;
+    private volatile Storage storage;
+    private volatile TaskList tasks;
+    private SearchIndex searchIndex;
+    /** Old completed tasks of the active workspace; {@code null} if it could not be loaded. */
+    private volatile Archive archive;
+    private volatile boolean isReady;
+    /** True while a pipeline runs; writes are then deferred to {@link #flushPending()}. */
+    private boolean isBatching;
+    private boolean needsRewrite;
+    private final List<Task> pendingAppends = new ArrayList<>();
+    private final Set<Integer> pendingStatus = new TreeSet<>();
+    /** Receives notices about changes made by other processes; {@code null} until watching starts. */
+    private volatile Consumer<String> changeNotifier;
+    private ChangeWatcher watcher;
+
+    /**
+     * Constructs DarrenBot Object.
+     * <p>
+     * Construction does no I/O so that a window can be shown straight away;
+     * call {@link #load(Consumer)} before handling commands.
+     * </p>
+     */
+    public DarrenBot() {
+        this.ui = new Ui();
+        this.workspaces = new Workspaces(DATA_DIR, WORKSPACE_CACHE_SIZE);
+        this.reminders = new ReminderScheduler(Clock.systemDefaultZone(), REMINDER_TICK, REMINDER_LEAD_TIME, null);
+    }
+
+    /**
+     * Loads the default workspace.
+     *
+     * @throws IOException if the data file cannot be created or read
+     * @throws UnexpectedCommandException if the data file is corrupted
+     */
+    public void load() throws IOException, UnexpectedCommandException {
+        Monitoring.register(new Stats());
+        activate(this.workspaces.open(DEFAULT_WORKSPACE));
+        this.isReady = true;
+    }
+
+    /**
+     * Loads the default workspace, reporting progress as it goes.
+     * <p>
+     * This may take a while for large data files and is safe to call from a background thread.
+     * If loading fails, the bot starts with an empty list and reports why.
+     * </p>
+     *
+     * @param progress receives short human-readable progress messages
+     */
+    public void load(Consumer<String> progress) {
+        progress.accept("Loading your tasks from " + FILE_PATH + "...");
+        try {
+            load();
+            progress.accept("Ready! " + tasks.size() + " tasks loaded.");
+            recoveryNotice().ifPresent(progress);
+        } catch (IOException | UnexpectedCommandException e) {
+            // If load fails, start with an empty list but keep the error visible in responses
+            this.workspaceName = DEFAULT_WORKSPACE;
+            this.storage = Storage.open(FILE_PATH);
+            this.tasks = new TaskList(new ArrayList<>());
+            this.searchIndex = SearchIndex.build(this.tasks);
+            this.tasks.addListener(this.searchIndex);
+            ensureViews(this.tasks);
+            this.tasks.addListener(this.reminders);
+            this.completions.reset(this.tasks);
+            this.tasks.addListener(this.completions);
+            this.isReady = true;
+            progress.accept("Error: could not load your tasks (" + e.getMessage() + "), starting with an empty list.");
+        }
+    }
+
+    public boolean isReady() {
+        return this.isReady;
+    }
+
+    /**
+     * Starts firing reminders for upcoming deadlines and events.
+     *
+     * @param notifier receives the text of each reminder, possibly from a background thread
+     */
+    public void startReminders(Consumer<String> notifier) {
+        reminders.setNotifier(notifier);
+        reminders.start();
+    }
+
+    /**
+     * Starts picking up changes that other running copies of the app make to the active workspace.
+     * <p>
+     * Each command already catches up with the data file before it runs; this also applies
+     * changes as soon as they are saved, so the list on screen stays current while idle.
+     * </p>
+     *
+     * @param notifier receives a short notice after each change is applied, possibly from a background thread
+     */
+    public synchronized void watchForChanges(Consumer<String> notifier) {
+        this.changeNotifier = notifier;
+        if (storage != null) {
+            restartWatcher(storage, tasks);
+        }
+    }
+
+    /**
+     * Suggests completions for a partly typed command, such as command words or task descriptions.
+     * <p>
+     * Each lookup takes time proportional to the typed text, not to the number of tasks, so this
+     * is cheap enough to call on every keystroke. It does not wait for a running command or
+     * sync: the completions are guarded by their own lock, which a change holds for one task at a
+     * time, not by the list's monitor.
+     * </p>
+     *
+     * @param input the command line typed so far
+     * @param limit the most suggestions to return
+     * @return the suggestions, best first; empty while the tasks are still loading
+     */
+    public List<String> suggest(String input, int limit) {
+        if (!isReady) {
+            return List.of();
+        }
+        return completions.suggest(input, limit);
+    }
+
+    /**
+     * Returns the command line after accepting one of the suggestions from {@link #suggest(String, int)}.
+     * Indices are read from a snapshot of the list, without waiting for a running command.
+     *
+     * @param input      the command line typed so far
+     * @param suggestion the accepted suggestion
+     * @return the completed command line
+     */
+    public String complete(String input, String suggestion) {
+        if (!isReady) {
+            return input;
+        }
+        return completions.complete(input, suggestion, tasks);
+    }
+
+    /**
+     * The main entry point of the program.
+     * <p>
+     * Starts the user interface, loads existing tasks from storage,
+     * then enters the main loop to continuously accept and process commands
+     * until the {@code bye} command is entered or input ends.
+     * </p>
+     *
+     * @param args command-line arguments (not used)
+     */
+    public static void main(String[] args) {
+        Ui ui = new Ui();
+        DarrenBot bot = new DarrenBot();
+
+        try {
+            bot.load();
+        } catch (IOException | UnexpectedCommandException e) {
+            ui.showError("Cannot initialize storage: " + e.getMessage());
+            return;
+        }
+
+        ui.showWelcome();
+        bot.recoveryNotice().ifPresent(System.out::println);
+        bot.startReminders(System.out::println);
+        bot.watchForChanges(System.out::println);
+        Scanner sc = new Scanner(System.in);
+
+        while (sc.hasNextLine()) {
+            String line = sc.nextLine();
+            String response = bot.getResponse(line);
+            System.out.println(response);
+            if (isExit(line)) {
+                break;
+            }
+        }
+        sc.close();
+    }
+
+    /**
+     * Executes one command, or a pipeline of commands separated by {@code ;}, and returns the reply.
+     * <p>
+     * Commands in a pipeline run in order and stop at the first error. Their changes are saved
+     * with a single write once the pipeline ends, and the replies are returned together.
+     * </p>
+     *
+     * <p>The data file stays locked while the command runs, after first taking in any changes
+     * other processes saved, so two copies of the app never overwrite each other's work. A
+     * {@code use} command runs without the lock, since opening a workspace takes that workspace's
+     * lock and two copies switching in opposite directions must not wait on each other.</p>
+     *
+     * @param line the user input
+     * @return the reply to show the user
+     */
+    @SuppressWarnings("try")
+    public String getResponse(String line) {
+        if (!isReady) {
+            return "Still loading your tasks, please try again in a moment.";
+        }
+        List<String> commands = Parser.splitPipeline(line);
+        if (commands.size() > 1) {
+            return runPipeline(commands);
+        }
+        String command = commands.isEmpty() ? line : commands.get(0);
+        try (Closeable lease = isUse(command) ? null : storage.lockAndSync(tasks)) {
+            return dispatch(command);
+        } catch (UnexpectedCommandException | EmptyTaskException | IOException e) {
+            return "Error: " + e.getMessage();
+        }
+    }
+
+    /**
+     * Returns whether the given input ends the session, i.e. it is or contains a {@code bye} command.
+     *
+     * @param line the user input
+     * @return {@code true} if the app should exit after replying
+     */
+    public static boolean isExit(String line) {
+        return Parser.splitPipeline(line).stream()
+                .anyMatch(c -> Parser.parseCommand(c) == Parser.Command.BYE);
+    }
+
+    private static boolean isUse(String command) {
+        return Parser.parseCommand(command) == Parser.Command.USE;
+    }
+
+    /**
+     * Runs the commands of a pipeline while holding the active workspace's lock, which is given up
+     * around each {@code use} once the stages before it are saved, and taken on the new workspace
+     * for the stages after it.
+     */
+    private String runPipeline(List<String> commands) {
+        List<String> replies = new ArrayList<>();
+        Closeable lease = null;
+        isBatching = true;
+        try {
+            for (String command : commands) {
+                try {
+                    if (isUse(command) && lease != null) {
+                        flushPending();
+                        lease.close();
+                        lease = null;
+                    } else if (!isUse(command) && lease == null) {
+                        lease = storage.lockAndSync(tasks);
+                    }
+                    replies.add(dispatch(command));
+                } catch (UnexpectedCommandException | EmptyTaskException | IOException e) {
+                    replies.add("Error: " + e.getMessage());
+                    break;
+                } catch (RuntimeException e) {
+                    replies.add("Error: could not run '" + command.trim() + "' (" + e.getMessage() + ")");
+                    break;
+                }
+                if (Parser.parseCommand(command) == Parser.Command.BYE) {
+                    break;
+                }
+            }
+        } finally {
+            // Always write out and forget what earlier stages deferred, or a later flush would save it again.
+            isBatching = false;
+            try {
+                flushPending();
+            } catch (IOException e) {
+                replies.add("Error: could not save your tasks (" + e.getMessage() + ")");
+            }
+            closeQuietly(lease);
+        }
+        return String.join("\n\n", replies);
+    }
+
+    private static void closeQuietly(Closeable lease) {
+        if (lease == null) {
+            return;
+        }
+        try {
+            lease.close();
+        } catch (IOException e) {
+            // the lock is released when the process exits at the latest
+        }
+    }
+
+    /**
+     * Runs one command while holding the active workspace's lock and then its list's monitor, the
+     * order {@link Storage#sync} takes them in. A {@code use} earlier in a pipeline may have
+     * changed the workspace, so both are taken again for each command; the lock is reentrant.
+     * {@code use} itself takes neither, as the caller holds no lock for it either, and read-only
+     * commands skip the monitor, reading the list's snapshots and self-guarding views instead.
+     */
+    @SuppressWarnings("try")
+    private String dispatch(String line) throws UnexpectedCommandException, EmptyTaskException, IOException {
+        Parser.Command cmd = Parser.parseCommand(line);
+        if (cmd != Parser.Command.UNKNOWN) {
+            completions.recordCommand(line.split(" ")[0]);
+        }
+        CommandEvent event = new CommandEvent();
+        event.begin();
+        TaskList list = tasks;
+        try {
+            if (cmd == Parser.Command.USE) {
+                return handleUse(line);
+            }
+            try (Closeable lease = storage.lock()) {
+                if (READ_ONLY.contains(cmd)) {
+                    return execute(cmd, line); // works off snapshots, so never waits for a change
+                }
+                synchronized (list) {
+                    return execute(cmd, line);
+                }
+            }
+        } finally {
+            event.complete(cmd.name().toLowerCase(), tasks.size());
+        }
+    }
+
+    private String execute(Parser.Command cmd, String line)
+            throws UnexpectedCommandException, EmptyTaskException, IOException {
+        return switch (cmd) {
+        case BYE -> handleBye();
+        case LIST -> handleList(line);
+        case TODO -> handleTodo(line);
+        case MARK -> handleMark(line);
+        case UNMARK -> handleUnmark(line);
+        case DELETE -> handleDelete(line);
+        case DEADLINE -> handleDeadline(line);
+        case EVENT -> handleEvent(line);
+        case RECUR -> handleRecur(line);
+        case FIND -> handleFind(line);
+        case UPDATE -> handleUpdate(line);
+        case FILTER -> handleFilter(line);
+        case SEARCH -> handleSearch(line);
+        case FUZZY_FIND -> handleFuzzyFind(line);
+        case MEMORY -> handleMemory();
+        case TAG -> handleTag(line, true);
+        case UNTAG -> handleTag(line, false);
+        case PRIORITY -> handlePriority(line);
+        case NEXT -> handleNext(line);
+        case UNKNOWN -> throwUnknown(line);
+        default -> handleUnhandled(cmd);
+        };
+    }
+
+    /* =========================
+     * Command Handlers (1 level)
+     * ========================= */
+
+    private String handleBye() throws IOException {
+        flushPending();
+        workspaces.saveIndexes();
+        stopWatcher();
+        return "Bye. Hope to see you again soon!";
+    }
+
+    private String handleList(String line) throws EmptyTaskException, UnexpectedCommandException {
+        Parser.ParsedArgs a = Parser.parseArgs(Parser.Command.LIST, line);
+        String key = cacheKey("list " + a.getView() + " " + a.getLimit());
+        long version = tasks.getModCount();
+        String cached = responses.get(key, version);
+        return cached != null ? cached : responses.put(key, version, renderList(a));
+    }
+
+    private String renderList(Parser.ParsedArgs a) throws UnexpectedCommandException {
+        if (tasks.size() == 0) {
+            return "Your task list is empty.";
+        }
+        if (a.getView() == null) {
+            List<Task> all = tasks.all();
+            return ui.formatList(a.getLimit() < all.size() ? all.subList(0, a.getLimit()) : all);
+        }
+        SortedView<?> view = tasks.getView(a.getView());
+        if (view == null) {
+            throw new UnexpectedCommandException("Try list, list undone, list sort:by, list sort:done, "
+                    + "list sort:type or list undone sort:by.");
+        }
+        List<Task> page = view.first(a.getLimit());
+        return page.isEmpty() ? "No tasks to show." : ui.formatList(page, tasks);
+    }
+
+    private String handleTodo(String line) throws EmptyTaskException, IOException, UnexpectedCommandException {
+        Parser.ParsedArgs a = Parser.parseArgs(Parser.Command.TODO, line);
+        Todo todo = new Todo(a.getDesc());
+        tasks.add(todo);
+        persistAdded(todo);
+        return "Added todo: " + todo;
+    }
+
+    private String handleMark(String line) throws EmptyTaskException, IOException, UnexpectedCommandException {
+        Parser.ParsedArgs a = Parser.parseArgs(Parser.Command.MARK, line);
+        if (a.getSelector() != null) {
+            int[] changed = setDoneWhere(a, true);
+            return changed.length == 0
+                    ? "No matching tasks were left to mark."
+                    : "Nice! I’ve marked " + changed.length + " task(s) as done.";
+        }
+        if (a.getIndex() < 0 || a.getIndex() >= tasks.size()) {
+            throw new UnexpectedCommandException("Index out of bounds!");
+        }
+        Task t = tasks.mark(a.getIndex());
+        persistStatus(a.getIndex());
+        return "Nice! I’ve marked this task as done:\n  " + t;
+    }
+
+    private String handleUnmark(String line) throws EmptyTaskException, IOException, UnexpectedCommandException {
+        Parser.ParsedArgs a = Parser.parseArgs(Parser.Command.UNMARK, line);
+        if (a.getSelector() != null) {
+            int[] changed = setDoneWhere(a, false);
+            return changed.length == 0
+                    ? "No matching tasks were marked as done."
+                    : "OK, I’ve marked " + changed.length + " task(s) as not done yet.";
+        }
+        if (a.getIndex() < 0 || a.getIndex() >= tasks.size()) {
+            throw new UnexpectedCommandException("Index out of bounds!");
+        }
+        Task t = tasks.unmark(a.getIndex());
+        persistStatus(a.getIndex());
+        return "OK, I’ve marked this task as not done yet:\n  " + t;
+    }
+
+    private String handleDelete(String line) throws EmptyTaskException, IOException, UnexpectedCommandException {
+        Parser.ParsedArgs a = Parser.parseArgs(Parser.Command.DELETE, line);
+        if (a.getSelector() != null) {
+            checkHighestIndex(a);
+            List<Task> removed = tasks.removeWhere(a.getSelector());
+            if (removed.isEmpty()) {
+                return "No tasks matched, so nothing was removed.";
+            }
+            persistAll();
+            return "Noted. I’ve removed " + removed.size() + " task(s).\nNow you have " + tasks.size()
+                    + " tasks in the list.";
+        }
+        if (a.getIndex() < 0 || a.getIndex() >= tasks.size()) {
+            throw new UnexpectedCommandException("Index out of bounds!");
+        }
+        Task removed = tasks.remove(a.getIndex());
+        persistAll();
+        return "Noted. I’ve removed this task:\n  " + removed
+                + "\nNow you have " + tasks.size() + " tasks in the list.";
+    }
+
+    private String handleDeadline(String line) throws EmptyTaskException, IOException, UnexpectedCommandException {
+        Parser.ParsedArgs a = Parser.parseArgs(Parser.Command.DEADLINE, line);
+        Deadline d = new Deadline(a.getDesc(), a.getBy());
+        tasks.add(d);
+        persistAdded(d);
+        return "Got it. I’ve added this task:\n  " + d
+                + "\n Now you have " + tasks.size() + " tasks in the list.";
+    }
+
+    private String handleEvent(String line) throws EmptyTaskException, IOException, UnexpectedCommandException {
+        Parser.ParsedArgs a = Parser.parseArgs(Parser.Command.EVENT, line);
+        Event e = new Event(a.getDesc(), a.getFrom(), a.getTo());
+        tasks.add(e);
+        persistAdded(e);
+        return "Got it. I’ve added this task:\n  " + e
+                + "\nNow you have " + tasks.size() + " tasks in the list.";
+    }
+
+    private String handleRecur(String line) throws EmptyTaskException, IOException, UnexpectedCommandException {
+        Parser.ParsedArgs a = Parser.parseArgs(Parser.Command.RECUR, line);
+        Recurring r = new Recurring(a.getDesc(), a.getBy(), a.getIntervalDays());
+        tasks.add(r);
+        persistAdded(r);
+        return "Got it. I’ve added this recurring task:\n  " + r
+                + "\nNow you have " + tasks.size() + " tasks in the list.";
+    }
+
+    private String handleFind(String line) throws EmptyTaskException, UnexpectedCommandException, IOException {
+        Parser.ParsedArgs a = Parser.parseArgs(Parser.Command.FIND, line);
+        String needle = a.getFindKeyword().toLowerCase().trim();
+        if (a.isAllWorkspaces()) {
+            return findInAllWorkspaces(needle); // other workspaces have their own versions, so never cached
+        }
+        String key = cacheKey("find " + a.isIncludingArchive() + " " + needle);
+        long version = tasks.getModCount();
+        String cached = responses.get(key, version);
+        return cached != null ? cached : responses.put(key, version, renderFind(needle, a));
+    }
+
+    private String renderFind(String needle, Parser.ParsedArgs a) throws IOException {
+        TaskList found = new TaskList(new ArrayList<>());
+        for (Task t : tasks.all()) {
+            if (t.toString().toLowerCase().contains(needle)) {
+                found.add(t);
+            }
+        }
+        List<Task> archived = a.isIncludingArchive() && archive != null ? archive.search(needle) : List.of();
+
+        if (found.size() == 0 && archived.isEmpty()) {
+            return "I couldn’t find any matching tasks.";
+        }
+        StringBuilder sb = new StringBuilder();
+        if (found.size() > 0) {
+            sb.append("Here are the matching tasks in your list:\n").append(ui.formatList(found.all(), tasks));
+        }
+        if (!archived.isEmpty()) {
+            sb.append(sb.length() > 0 ? "\n" : "").append("From your archive of completed tasks:\n")
+                    .append(ui.formatTasks(archived, tasks));
+        }
+        return sb.toString();
+    }
+
+    private String handleUpdate(String line) throws EmptyTaskException, UnexpectedCommandException, IOException {
+        Parser.ParsedArgs a = Parser.parseArgs(Parser.Command.UPDATE, line);
+        if (a.getIndex() < 0 || a.getIndex() >= tasks.size()) {
+            throw new UnexpectedCommandException("Index out of bounds!");
+        }
+        Task t = tasks.get(a.getIndex());
+        if (!(t instanceof Event)) {
+            throw new UnexpectedCommandException("Task of index " + a.getIndex() + " is not an Event!");
+        }
+        tasks.updateEvent(a.getIndex(), a.getFrom(), a.getTo());
+        persistAll();
+        return "Updated Event " + a.getIndex() + " successfully!";
+    }
+
+    private String handleTag(String line, boolean isAdding)
+            throws EmptyTaskException, UnexpectedCommandException, IOException {
+        Parser.ParsedArgs a = Parser.parseArgs(isAdding ? Parser.Command.TAG : Parser.Command.UNTAG, line);
+        if (a.getIndex() < 0 || a.getIndex() >= tasks.size()) {
+            throw new UnexpectedCommandException("Index out of bounds!");
+        }
+        long before = tasks.getModCount();
+        Task t = isAdding ? tasks.tag(a.getIndex(), a.getTags()) : tasks.untag(a.getIndex(), a.getTags());
+        if (tasks.getModCount() != before) {
+            persistAll();
+        }
+        return (isAdding ? "Tagged:\n  " : "Untagged:\n  ") + t;
+    }
+
+    private String handlePriority(String line) throws EmptyTaskException, UnexpectedCommandException, IOException {
+        Parser.ParsedArgs a = Parser.parseArgs(Parser.Command.PRIORITY, line);
+        if (a.getIndex() < 0 || a.getIndex() >= tasks.size()) {
+            throw new UnexpectedCommandException("Index out of bounds!");
+        }
+        Task t = tasks.setPriority(a.getIndex(), a.getPriority());
+        persistAll();
+        return "Priority set:\n  " + t;
+    }
+
+    private String handleNext(String line) throws EmptyTaskException, UnexpectedCommandException {
+        Parser.ParsedArgs a = Parser.parseArgs(Parser.Command.NEXT, line);
+        List<Task> next = tasks.next(a.getLimit());
+        return next.isEmpty()
+                ? "Nothing left to do!"
+                : "Here is what to do next:\n" + ui.formatTasks(next, tasks);
+    }
+
+    private String handleFilter(String line) throws EmptyTaskException, UnexpectedCommandException {
+        Parser.ParsedArgs a = Parser.parseArgs(Parser.Command.FILTER, line);
+        String key = cacheKey("filter " + String.join(" ", line.trim().substring(6).trim().split("\\s+")));
+        long version = tasks.getModCount();
+        String cached = responses.get(key, version);
+        return cached != null ? cached : responses.put(key, version, renderFilter(a));
+    }
+
+    private String renderFilter(Parser.ParsedArgs a) {
+        List<Task> found = a.getQuery().run(tasks).toList();
+        return found.isEmpty()
+                ? "No tasks match that filter."
+                : "Here are the tasks matching your filter:\n" + ui.formatTasks(found, tasks);
+    }
+
+    private String handleSearch(String line) throws EmptyTaskException, UnexpectedCommandException {
+        Parser.ParsedArgs a = Parser.parseArgs(Parser.Command.SEARCH, line);
+        List<Task> best = searchIndex.search(a.getFindKeyword(), SEARCH_RESULT_LIMIT);
+        return best.isEmpty()
+                ? "I couldn’t find any matching tasks."
+                : "Here are the best matches for \"" + a.getFindKeyword() + "\":\n"
+                        + ui.formatTasks(best, tasks);
+    }
+
+    private String handleFuzzyFind(String line) throws EmptyTaskException, UnexpectedCommandException {
+        Parser.ParsedArgs a = Parser.parseArgs(Parser.Command.FUZZY_FIND, line);
+        String term = a.getFindKeyword();
+        List<Task> found = searchIndex.fuzzySearch(term, term.length() <= SHORT_WORD_LENGTH ? 1 : 2);
+        return found.isEmpty()
+                ? "I couldn’t find any tasks close to \"" + term + "\"."
+                : "Here are the tasks close to \"" + term + "\":\n" + ui.formatTasks(found, tasks);
+    }
+
+    private String handleMemory() {
+        StringInterner pool = StringInterner.shared();
+        Runtime rt = Runtime.getRuntime();
+        long usedMib = (rt.totalMemory() - rt.freeMemory()) / (1024 * 1024);
+        return "Memory report:\n"
+                + "Tasks: " + tasks.size() + "\n"
+                + "Shared strings: " + pool.size() + ", taking about " + pool.getOverheadBytes() + " bytes\n"
+                + "Since start, " + pool.getHitCount() + " of " + pool.getLookupCount()
+                + " lookups reused a shared copy (about " + pool.getBytesAvoided()
+                + " bytes of duplicates in total)\n"
+                + "Cached replies: " + responses.size() + " of " + responses.getCapacity() + " ("
+                + responses.getHitCount() + " hits, " + responses.getMissCount() + " misses)\n"
+                + "Heap in use: " + usedMib + " MiB of " + rt.maxMemory() / (1024 * 1024) + " MiB";
+    }
+
+    private String handleUse(String line) throws EmptyTaskException, UnexpectedCommandException, IOException {
+        Parser.ParsedArgs a = Parser.parseArgs(Parser.Command.USE, line);
+        activate(workspaces.open(a.getWorkspace()));
+        return "Now using workspace '" + workspaceName + "' with " + tasks.size() + " tasks."
+                + recoveryNotice().map(n -> "\n" + n).orElse("");
+    }
+
+    private String findInAllWorkspaces(String needle) throws IOException {
+        Map<String, Map<Integer, Task>> found = workspaces.search(t -> t.toString().toLowerCase().contains(needle));
+        if (found.isEmpty()) {
+            return "I couldn’t find any matching tasks in any workspace.";
+        }
+        StringBuilder sb = new StringBuilder("Here are the matching tasks across your workspaces:");
+        for (Map.Entry<String, Map<Integer, Task>> e : found.entrySet()) {
+            sb.append("\n[").append(e.getKey()).append("]\n").append(ui.formatTasks(e.getValue()));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Qualifies a normalised read command with today's date, since replies show dates relative to
+     * today (e.g. the next occurrence of a recurring task).
+     */
+    private static String cacheKey(String command) {
+        return LocalDate.now() + " " + command;
+    }
+
+    /* =========================
+     * Bulk operations
+     * ========================= */
+
+    private int[] setDoneWhere(Parser.ParsedArgs a, boolean isDone) throws IOException, UnexpectedCommandException {
+        checkHighestIndex(a);
+        int[] changed = tasks.setDoneWhere(a.getSelector(), isDone);
+        persistStatus(changed);
+        return changed;
+    }
+
+    private void checkHighestIndex(Parser.ParsedArgs a) throws UnexpectedCommandException {
+        if (a.getHighestIndex() >= tasks.size()) {
+            throw new UnexpectedCommandException("Index out of bounds!");
+        }
+    }
+
+    /* =========================
+     * Persistence
+     * ========================= */
+
+    /** Saves a task just added to the list; if it cannot be saved, it is taken off the list again. */
+    private void persistAdded(Task t) throws IOException {
+        if (isBatching) {
+            pendingAppends.add(t);
+            return;
+        }
+        try {
+            storage.append(t);
+        } catch (IOException e) {
+            tasks.removeWhere((i, x) -> x == t);
+            throw e;
+        }
+    }
+
+    private void persistAll() throws IOException {
+        if (isBatching) {
+            needsRewrite = true;
+        } else {
+            storage.rewrite(tasks);
+        }
+    }
+
+    private void persistStatus(int... indices) throws IOException {
+        if (isBatching) {
+            for (int index : indices) {
+                pendingStatus.add(index);
+            }
+        } else if (indices.length > 0) {
+            storage.saveStatus(tasks, indices);
+        }
+    }
+
+    private void flushPending() throws IOException {
+        try {
+            if (needsRewrite) {
+                storage.rewrite(tasks); // already includes any pending appends and status changes
+            } else {
+                IOException appendFailure = null;
+                if (!pendingAppends.isEmpty()) {
+                    try {
+                        storage.appendAll(pendingAppends);
+                    } catch (IOException e) {
+                        // None of them were written, so none stay in the list; earlier indices are unaffected.
+                        Set<Task> unsaved = Collections.newSetFromMap(new IdentityHashMap<>());
+                        unsaved.addAll(pendingAppends);
+                        tasks.removeWhere((i, t) -> unsaved.contains(t));
+                        appendFailure = e;
+                    }
+                }
+                int[] changed = pendingStatus.stream().mapToInt(Integer::intValue).filter(i -> i < tasks.size())
+                        .toArray();
+                if (changed.length > 0) {
+                    storage.saveStatus(tasks, changed);
+                }
+                if (appendFailure != null) {
+                    throw appendFailure;
+                }
+            }
+        } finally {
+            needsRewrite = false;
+            pendingAppends.clear();
+            pendingStatus.clear();
+        }
+    }
+
+    /* =========================
+     * Workspace switching
+     * ========================= */
+
+    /** Registers the sorted views behind {@code list undone} and {@code list sort:...}, once per list. */
+    private static void ensureViews(TaskList list) {
+        if (list.getView("undone") != null) {
+            return;
+        }
+        list.addView("undone", new SortedView<>(t -> !t.isDone(), t -> 0));
+        list.addView("undone sort:by", new SortedView<>(t -> !t.isDone(), DarrenBot::sortDateOf));
+        list.addView("sort:by", new SortedView<>(t -> true, DarrenBot::sortDateOf));
+        list.addView("sort:done", new SortedView<>(t -> true, Task::isDone));
+        list.addView("sort:type", new SortedView<>(t -> true, Task::getTaskType));
+    }
+
+    /** Due date used for sorting; tasks without one sort last. */
+    private static LocalDate sortDateOf(Task t) {
+        if (t instanceof Deadline d) {
+            return d.getDeadline();
+        }
+        if (t instanceof Recurring r) {
+            return r.nextOccurrence(LocalDate.now());
+        }
+        return LocalDate.MAX;
+    }
+
+    private void activate(Workspaces.Workspace ws) {
+        if (this.tasks != null) {
+            this.tasks.removeListener(reminders);
+            this.tasks.removeListener(completions);
+        }
+        this.workspaceName = ws.getName();
+        this.storage = ws.getStorage();
+        this.tasks = ws.getTasks();
+        this.searchIndex = ws.getSearchIndex();
+        this.archive = ws.getArchive();
+        this.responses.clear(); // versions are only comparable within one list
+        ensureViews(this.tasks);
+        reminders.cancelAll();
+        for (Task t : tasks.all()) {
+            reminders.schedule(t);
+        }
+        tasks.addListener(reminders);
+        completions.reset(tasks);
+        tasks.addListener(completions);
+        if (changeNotifier != null) {
+            restartWatcher(storage, tasks);
+        }
+    }
+
+    /* =========================
+     * Changes by other processes
+     * ========================= */
+
+    /** Watches the given workspace, which must be the active one, in place of any other. */
+    private synchronized void restartWatcher(Storage s, TaskList list) {
+        stopWatcher();
+        try {
+            watcher = ChangeWatcher.start(s, () -> syncFromDisk(s, list));
+        } catch (IOException e) {
+            changeNotifier.accept("Note: changes from other windows will show after your next command ("
+                    + e.getMessage() + ").");
+        }
+    }
+
+    private synchronized void stopWatcher() {
+        if (watcher == null) {
+            return;
+        }
+        try {
+            watcher.close();
+        } catch (IOException e) {
+            // the watcher thread stops either way
+        }
+        watcher = null;
+    }
+
+    /** Runs on the watcher thread; waits for any command in progress, which holds the lock. */
+    private void syncFromDisk(Storage s, TaskList list) {
+        try {
+            if (s.sync(list)) {
+                changeNotifier.accept("Your tasks were changed in another window, so I've updated them here.");
+            }
+        } catch (IOException | RuntimeException e) {
+            changeNotifier.accept("Error: could not reload changes from another window (" + e.getMessage() + ")");
+        }
+    }
+
+    private Optional<String> recoveryNotice() {
+        int damaged = storage.getQuarantinedCount();
+        if (damaged == 0) {
+            return Optional.empty();
+        }
+        return Optional.of("Note: skipped " + damaged + " damaged record(s) in " + storage.getPath()
+                + "; they were saved to " + storage.getQuarantinePath() + ".");
+    }
+
+    /* =========================
+     * Monitoring
+     * ========================= */
+
+    /**
+     * Figures about the active workspace, published over JMX; read from the JMX threads. Figures
+     * kept by the list's listeners are read while holding the list's monitor, like every change.
+     */
+    private class Stats implements DarrenBotMXBean {
+        @Override
+        public String getWorkspace() {
+            return workspaceName;
+        }
+
+        @Override
+        public int getTaskCount() {
+            TaskList list = tasks;
+            if (list == null) {
+                return -1;
+            }
+            synchronized (list) {
+                return list.size();
+            }
+        }
+
+        @Override
+        public int getDoneTaskCount() {
+            TaskList list = tasks;
+            if (list == null) {
+                return -1;
+            }
+            synchronized (list) {
+                SortedView<?> undone = list.getView("undone");
+                return undone == null ? -1 : list.size() - undone.size();
+            }
+        }
+
+        @Override
+        public long getStorageBytes() {
+            Storage s = storage;
+            try {
+                return s == null ? -1 : Files.size(s.getPath());
+            } catch (IOException e) {
+                return -1;
+            }
+        }
+
+        @Override
+        public long getArchivedTaskCount() {
+            Archive a = archive;
+            try {
+                return a == null ? -1 : a.getTaskCount();
+            } catch (IOException e) {
+                return -1;
+            }
+        }
+
+        @Override
+        public int getQuarantinedRecordCount() {
+            Storage s = storage;
+            return s == null ? -1 : s.getQuarantinedCount();
+        }
+
+        @Override
+        public long getCachedReplyHitCount() {
+            return responses.getHitCount();
+        }
+
+        @Override
+        public long getCachedReplyMissCount() {
+            return responses.getMissCount();
+        }
+    }
+
+    /* =========================
+     * Tiny helpers for routing
+     * ========================= */
+
+    private String throwUnknown(String line) throws UnexpectedCommandException {
+        String hint = Parser.suggestCommand(line).map(w -> " Did you mean '" + w + "'?").orElse("");
+        throw new UnexpectedCommandException("OOPS!!! I don't know what that means :-(" + hint);
+    }
+
+    private String handleUnhandled(Parser.Command cmd) throws UnexpectedCommandException {
+        assert false : "Unhandled command: " + cmd;
+        throw new UnexpectedCommandException("OOPS!!! I don't know what that means :-(");
+    }
+}
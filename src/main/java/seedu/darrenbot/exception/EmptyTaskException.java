@@ -6,6 +6,8 @@ package seedu.darrenbot.exception;
  * This is used to indicate that the user attempted to add a {@code todo}
  */
 public class EmptyTaskException extends Exception {
+    private static final long serialVersionUID = 1L;
+
     public EmptyTaskException(String taskType) {
         super("OOPS!!! The description of a " + taskType + " cannot be empty.");
     }
@@ -20,6 +20,8 @@ package seedu.darrenbot.exception;
  * </pre>
  */
 public class UnexpectedCommandException extends Exception {
+    private static final long serialVersionUID = 1L;
+
     /**
      * Constructs a new {@code UnexpectedCommandException} with
      * the specified detail message.
@@ -19,6 +19,9 @@ import javafx.scene.layout.HBox;
  * and a label containing text from the speaker.
  */
 public class DialogBox extends HBox {
+    /** Width and height of the avatar, matching {@code fitWidth}/{@code fitHeight} in DialogBox.fxml. */
+    public static final double AVATAR_SIZE = 99.0;
+
     @FXML
     private Label dialog;
     @FXML
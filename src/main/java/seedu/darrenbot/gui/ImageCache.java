@@ -0,0 +1,75 @@
+package seedu.darrenbot.gui;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javafx.scene.image.Image;
+import javafx.stage.Screen;
+
+/**
+ * A small cache of avatar images decoded at the size they are displayed at.
+ * <p>
+ * Decoding a photo at full resolution only for it to be shown as a thumbnail wastes decode time
+ * and texture memory. Images from this cache are decoded with the requested-size {@link Image}
+ * constructor (scaled for HiDPI screens) and one instance is shared by every dialog that shows
+ * it. The least recently used entry is dropped once the cache is full.
+ * </p>
+ *
+ * <p>Example usage:</p>
+ * <pre>
+ * Image avatar = ImageCache.get("/images/gloria.jpg", DialogBox.AVATAR_SIZE);
+ * </pre>
+ */
+public class ImageCache {
+    private static final int MAX_ENTRIES = 16;
+
+    private static final Map<String, Image> CACHE = new LinkedHashMap<>(MAX_ENTRIES, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Image> eldest) {
+            return size() > MAX_ENTRIES;
+        }
+    };
+
+    private ImageCache() {
+    }
+
+    /**
+     * Returns the image at {@code resourcePath}, decoded to fit a {@code size} x {@code size} box.
+     *
+     * @param resourcePath the classpath resource of the image, e.g. {@code /images/gloria.jpg}
+     * @param size         the display size in pixels
+     * @return the shared, downsampled image
+     * @throws IllegalArgumentException if there is no such resource
+     * @throws UncheckedIOException if the resource cannot be read
+     */
+    public static synchronized Image get(String resourcePath, double size) {
+        double decodeSize = Math.ceil(size * outputScale());
+        String key = resourcePath + "@" + decodeSize;
+        Image image = CACHE.get(key);
+        if (image == null) {
+            image = decode(resourcePath, decodeSize);
+            CACHE.put(key, image);
+        }
+        return image;
+    }
+
+    /** Decodes the resource right away, so its stream can be closed as soon as the image exists. */
+    private static Image decode(String resourcePath, double decodeSize) {
+        try (InputStream in = ImageCache.class.getResourceAsStream(resourcePath)) {
+            if (in == null) {
+                throw new IllegalArgumentException("Missing image resource " + resourcePath);
+            }
+            return new Image(in, decodeSize, decodeSize, true, true);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read image resource " + resourcePath, e);
+        }
+    }
+
+    private static double outputScale() {
+        Screen screen = Screen.getPrimary();
+        return screen == null ? 1.0 : Math.max(screen.getOutputScaleX(), screen.getOutputScaleY());
+    }
+}
@@ -7,14 +7,17 @@ import javafx.fxml.FXMLLoader;
 import javafx.scene.Scene;
 import javafx.scene.layout.AnchorPane;
 import javafx.stage.Stage;
+import seedu.darrenbot.DarrenBot;
 
 /**
  * A GUI for DarrenBot using FXML.
+ * <p>
+ * The window is shown before any tasks are read from disk; loading then continues
+ * on a background thread so first paint does not depend on the size of the data file.
+ * </p>
  */
 public class Main extends Application {
 
-    private final DarrenBot darrenBot = new DarrenBot();
-
     @Override
     public void start(Stage stage) {
         try {
@@ -23,9 +26,11 @@ public class Main extends Application {
             Scene scene = new Scene(ap);
             stage.setScene(scene);
             stage.setTitle("DarrenBot");
-            fxmlLoader.<MainWindow>getController().setDuke(darrenBot);
+            MainWindow controller = fxmlLoader.getController();
+            controller.setDuke(new DarrenBot());
             // inject the Duke instance
             stage.show();
+            controller.loadInBackground();
         } catch (IOException e) {
             e.printStackTrace();
         }
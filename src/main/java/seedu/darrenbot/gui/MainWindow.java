@@ -1,13 +1,26 @@
 package seedu.darrenbot.gui;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+
 import javafx.application.Platform;
 import javafx.fxml.FXML;
+import javafx.geometry.Side;
 import javafx.scene.control.Button;
+import javafx.scene.control.ContextMenu;
+import javafx.scene.control.MenuItem;
 import javafx.scene.control.ScrollPane;
 import javafx.scene.control.TextField;
 import javafx.scene.image.Image;
+import javafx.scene.input.KeyCode;
+import javafx.scene.input.KeyEvent;
 import javafx.scene.layout.AnchorPane;
 import javafx.scene.layout.VBox;
+import seedu.darrenbot.DarrenBot;
+import seedu.darrenbot.monitor.UiStallEvent;
+import seedu.darrenbot.parser.Parser;
 
 /**
  * Main GUI controller for the DarrenBot application.
@@ -26,6 +39,7 @@ import javafx.scene.layout.VBox;
  *   <li>Injects and manages a {@link DarrenBot} instance to produce responses.</li>
  *   <li>Appends user and bot dialog boxes to the chat container.</li>
  *   <li>Clears user input after submission.</li>
+ *   <li>Suggests completions above the input field as the user types; Tab accepts the first.</li>
  * </ul>
  *
  * <h2>FXML Elements:</h2>
@@ -36,7 +50,8 @@ import javafx.scene.layout.VBox;
  *   <li>{@code sendButton} – Button to trigger message submission.</li>
  * </ul>
  *
- * <p>Associated images (user and bot avatars) are loaded from the {@code /images} resource folder.</p>
+ * <p>Associated images (user and bot avatars) are loaded from the {@code /images} resource folder
+ * through {@link ImageCache}, already downsampled to the avatar size.</p>
  */
 
 public class MainWindow extends AnchorPane {
@@ -45,6 +60,7 @@ public class MainWindow extends AnchorPane {
      */
     public static final String USER_IMAGE_PATH = "/images/gloria.jpg";
     public static final String DUKE_IMAGE_PATH = "/images/motomoto.jpg";
+    private static final int MAX_SUGGESTIONS = 5;
     @FXML
     private ScrollPane scrollPane;
     @FXML
@@ -55,37 +71,113 @@ public class MainWindow extends AnchorPane {
     private Button sendButton;
 
     private DarrenBot darrenBot;
+    /** Commands typed while the task list was still loading, oldest first. */
+    private final Queue<String> pendingInput = new ArrayDeque<>();
+    private final ContextMenu suggestions = new ContextMenu();
 
-    private final Image userImage = new Image(this.getClass().getResourceAsStream(USER_IMAGE_PATH));
-    private final Image dukeImage = new Image(this.getClass().getResourceAsStream(DUKE_IMAGE_PATH));
+    private final Image userImage = ImageCache.get(USER_IMAGE_PATH, DialogBox.AVATAR_SIZE);
+    private final Image dukeImage = ImageCache.get(DUKE_IMAGE_PATH, DialogBox.AVATAR_SIZE);
 
     @FXML
     public void initialize() {
         scrollPane.vvalueProperty().bind(dialogContainer.heightProperty());
+        userInput.textProperty().addListener((obs, old, text) -> showSuggestions(text));
+        userInput.addEventFilter(KeyEvent.KEY_PRESSED, e -> {
+            if (e.getCode() == KeyCode.TAB && suggestions.isShowing() && !suggestions.getItems().isEmpty()) {
+                suggestions.getItems().get(0).fire();
+                e.consume();
+            }
+        });
     }
 
-    /** Injects the Duke instance */
+    /** Injects the Duke instance and routes its reminders and change notices into the dialog container. */
     public void setDuke(DarrenBot d) {
         darrenBot = d;
+        darrenBot.startReminders(message -> Platform.runLater(() -> showBotMessage(message)));
+        darrenBot.watchForChanges(message -> Platform.runLater(() -> showBotMessage(message)));
+    }
+
+    /**
+     * Loads the injected bot's tasks on a background thread.
+     * <p>
+     * Progress messages are shown as they arrive. Commands entered before loading finishes
+     * are queued and answered, in order, once the task list is ready.
+     * </p>
+     */
+    public void loadInBackground() {
+        Thread loader = new Thread(() -> {
+            darrenBot.load(message -> Platform.runLater(() -> showBotMessage(message)));
+            Platform.runLater(this::drainPendingInput);
+        }, "darrenbot-loader");
+        loader.setDaemon(true);
+        loader.start();
     }
 
     /**
      * Creates two dialog boxes, one echoing user input and the other containing Duke's reply and then appends them to
      * the dialog container. Clears the user input after processing.
+     * <p>
+     * This runs on the JavaFX application thread; handling that takes longer than a frame is
+     * recorded as a {@link UiStallEvent}.
+     * </p>
      */
     @FXML
     private void handleUserInput() {
+        UiStallEvent stall = new UiStallEvent();
+        stall.begin();
         String input = userInput.getText();
-        String response = darrenBot.getResponse(input);
-        dialogContainer.getChildren().addAll(
-                DialogBox.getUserDialog(input, userImage),
-                DialogBox.getDukeDialog(response, dukeImage)
-        );
+        userInput.clear();
+        suggestions.hide();
+        dialogContainer.getChildren().add(DialogBox.getUserDialog(input, userImage));
+        if (!darrenBot.isReady() || !pendingInput.isEmpty()) {
+            pendingInput.add(input);
+        } else {
+            respondTo(input);
+        }
+        stall.complete(Parser.parseCommand(input).name().toLowerCase());
+    }
 
-        if (seedu.darrenbot.parser.Parser.parseCommand(input)
-                == seedu.darrenbot.parser.Parser.Command.BYE) {
+    private void respondTo(String input) {
+        showBotMessage(darrenBot.getResponse(input));
+        if (DarrenBot.isExit(input)) {
             Platform.exit();
         }
-        userInput.clear();
+    }
+
+    private void drainPendingInput() {
+        while (!pendingInput.isEmpty()) {
+            respondTo(pendingInput.poll());
+        }
+    }
+
+    /** Looks up completions for the current input; this runs on every keystroke. */
+    private void showSuggestions(String text) {
+        List<String> found = darrenBot == null || !userInput.isFocused()
+                ? List.of()
+                : darrenBot.suggest(text, MAX_SUGGESTIONS);
+        if (found.isEmpty()) {
+            suggestions.hide();
+            return;
+        }
+        List<MenuItem> items = new ArrayList<>(found.size());
+        for (String suggestion : found) {
+            MenuItem item = new MenuItem(suggestion);
+            item.setMnemonicParsing(false);
+            item.setOnAction(e -> acceptSuggestion(suggestion));
+            items.add(item);
+        }
+        suggestions.getItems().setAll(items);
+        if (!suggestions.isShowing()) {
+            suggestions.show(userInput, Side.TOP, 0, 0);
+        }
+    }
+
+    private void acceptSuggestion(String suggestion) {
+        userInput.setText(darrenBot.complete(userInput.getText(), suggestion));
+        userInput.positionCaret(userInput.getLength());
+    }
+
+    private void showBotMessage(String message) {
+        dialogContainer.getChildren().add(DialogBox.getDukeDialog(message, dukeImage));
     }
 }
@@ -0,0 +1,49 @@
+package seedu.darrenbot.monitor;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight Recorder event covering the execution of one command, from parsing to the rendered reply.
+ * <p>
+ * Only the command word is recorded, never the task text the user typed.
+ * </p>
+ *
+ * <p>Example usage:</p>
+ * <pre>
+ * CommandEvent event = new CommandEvent();
+ * event.begin();
+ * String reply = run(line);
+ * event.complete("list", tasks.size());
+ * </pre>
+ */
+@Name("seedu.darrenbot.Command")
+@Label("Command")
+@Category("DarrenBot")
+@Description("Execution of one DarrenBot command")
+public class CommandEvent extends Event {
+    @Label("Command")
+    String command;
+
+    @Label("List Size")
+    @Description("Number of tasks in the active list once the command finished")
+    int listSize;
+
+    /**
+     * Ends the event and records it, if it is enabled and long enough to keep.
+     *
+     * @param command  the command word, e.g. {@code list}
+     * @param listSize the number of tasks in the list afterwards
+     */
+    public void complete(String command, int listSize) {
+        end();
+        if (shouldCommit()) {
+            this.command = command;
+            this.listSize = listSize;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package seedu.darrenbot.monitor;
+
+/**
+ * Live figures about a running DarrenBot, published over JMX as
+ * {@code seedu.darrenbot:type=DarrenBot} so they can be watched in JConsole or Mission Control.
+ * <p>
+ * Every figure describes the active workspace. Figures that cannot be read at the moment are
+ * reported as {@code -1}.
+ * </p>
+ */
+public interface DarrenBotMXBean {
+    /** Returns the name of the active workspace. */
+    String getWorkspace();
+
+    /** Returns the number of tasks in the active list. */
+    int getTaskCount();
+
+    /** Returns the number of tasks in the active list that are done. */
+    int getDoneTaskCount();
+
+    /** Returns the size of the active workspace's data file, in bytes. */
+    long getStorageBytes();
+
+    /** Returns the number of tasks in the active workspace's archive. */
+    long getArchivedTaskCount();
+
+    /** Returns the number of damaged records skipped when the active workspace was loaded. */
+    int getQuarantinedRecordCount();
+
+    /** Returns the number of replies served from the response cache. */
+    long getCachedReplyHitCount();
+
+    /** Returns the number of replies that had to be rendered afresh. */
+    long getCachedReplyMissCount();
+}
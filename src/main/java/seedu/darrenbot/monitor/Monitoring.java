@@ -0,0 +1,43 @@
+package seedu.darrenbot.monitor;
+
+import java.lang.management.ManagementFactory;
+import javax.management.InstanceNotFoundException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Publishes a {@link DarrenBotMXBean} on the platform MBean server.
+ */
+public class Monitoring {
+    /** Name the bean is registered under. */
+    public static final String OBJECT_NAME = "seedu.darrenbot:type=DarrenBot";
+
+    private Monitoring() {
+    }
+
+    /**
+     * Registers the given bean, replacing any bean registered earlier by another bot in this JVM.
+     * <p>
+     * Monitoring is best effort: if the bean cannot be registered, the bot carries on without it.
+     * </p>
+     *
+     * @param bean the bean to publish
+     * @return {@code true} if the bean was registered
+     */
+    public static boolean register(DarrenBotMXBean bean) {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            try {
+                server.unregisterMBean(name);
+            } catch (InstanceNotFoundException e) {
+                // nothing registered yet
+            }
+            server.registerMBean(bean, name);
+            return true;
+        } catch (JMException | SecurityException e) {
+            return false;
+        }
+    }
+}
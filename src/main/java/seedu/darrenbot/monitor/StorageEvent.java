@@ -0,0 +1,73 @@
+package seedu.darrenbot.monitor;
+
+import java.nio.file.Path;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight Recorder event covering one load or write of a task shard.
+ * <p>
+ * A slow rewrite shows up in a recording next to the GC pauses and file I/O events of the
+ * same period, together with how much it wrote.
+ * </p>
+ *
+ * <p>Example usage:</p>
+ * <pre>
+ * StorageEvent event = StorageEvent.start("rewrite");
+ * ... write the file ...
+ * event.complete(path, bytesWritten, tasks.size());
+ * </pre>
+ */
+@Name("seedu.darrenbot.Storage")
+@Label("Storage Operation")
+@Category("DarrenBot")
+@Description("Load or write of a task shard")
+public class StorageEvent extends Event {
+    @Label("Operation")
+    String operation;
+
+    @Label("Path")
+    String path;
+
+    @Label("Bytes")
+    @DataAmount
+    long bytes;
+
+    @Label("Records")
+    int records;
+
+    /**
+     * Creates and begins timing an event for the given operation.
+     *
+     * @param operation {@code load}, {@code append}, {@code rewrite}, {@code saveStatus} or {@code sync}
+     * @return the started event
+     */
+    public static StorageEvent start(String operation) {
+        StorageEvent event = new StorageEvent();
+        event.operation = operation;
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Ends the event and records it, if it is enabled and long enough to keep.
+     *
+     * @param path    the file that was read or written
+     * @param bytes   the number of bytes read or written
+     * @param records the number of task records read or written
+     */
+    public void complete(Path path, long bytes, int records) {
+        end();
+        if (shouldCommit()) {
+            this.path = path.toString();
+            this.bytes = bytes;
+            this.records = records;
+            commit();
+        }
+    }
+}
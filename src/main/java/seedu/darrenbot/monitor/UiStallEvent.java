@@ -0,0 +1,39 @@
+package seedu.darrenbot.monitor;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+
+/**
+ * Flight Recorder event for work on the JavaFX application thread that took long enough to drop
+ * frames.
+ * <p>
+ * Only stalls longer than the threshold (about one frame by default) are recorded; the threshold
+ * can be changed in the recording settings like any other event's.
+ * </p>
+ */
+@Name("seedu.darrenbot.UiStall")
+@Label("UI Stall")
+@Category("DarrenBot")
+@Description("User input handled on the JavaFX application thread for longer than a frame")
+@Threshold("16 ms")
+public class UiStallEvent extends Event {
+    @Label("Command")
+    String command;
+
+    /**
+     * Ends the event and records it, if it is enabled and took longer than the threshold.
+     *
+     * @param command the command word of the input being handled
+     */
+    public void complete(String command) {
+        end();
+        if (shouldCommit()) {
+            this.command = command;
+            commit();
+        }
+    }
+}
@@ -1,7 +1,20 @@
 package seedu.darrenbot.parser;
 
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
 import seedu.darrenbot.exception.EmptyTaskException;
 import seedu.darrenbot.exception.UnexpectedCommandException;
+import seedu.darrenbot.query.Query;
+import seedu.darrenbot.search.BkTree;
+import seedu.darrenbot.tasks.Priority;
+import seedu.darrenbot.tasks.Task;
+import seedu.darrenbot.tasks.TaskSelector;
 
 /**
  * Utility class that translates raw user input strings into structured commands
@@ -23,6 +36,30 @@ import seedu.darrenbot.exception.UnexpectedCommandException;
  * </pre>
  */
 public class Parser {
+    /** Flag that makes {@code find} search every workspace instead of only the active one. */
+    public static final String ALL_WORKSPACES_FLAG = "--workspaces";
+
+    /** Flag that makes {@code find} also search the archive of old completed tasks. */
+    public static final String INCLUDE_ARCHIVE_FLAG = "--all";
+
+    private static final int MAX_COMMAND_TYPOS = 2;
+    private static final int DAYS_PER_WEEK = 7;
+    private static final int DEFAULT_NEXT_COUNT = 5;
+    private static final char PIPELINE_SEPARATOR = ';';
+    private static final BkTree COMMAND_WORDS = new BkTree();
+
+    /** Every command word, in the order they are listed in the user guide. */
+    public static final List<String> COMMAND_NAMES = List.of("list", "bye", "mark", "unmark", "deadline", "todo",
+            "event", "delete", "find", "update", "use", "filter", "search", "memory", "recur", "tag", "untag",
+            "priority", "next", "find~");
+
+    static {
+        for (String word : COMMAND_NAMES) {
+            if (Character.isLetter(word.charAt(word.length() - 1))) { // typo hints only name plain words
+                COMMAND_WORDS.add(word);
+            }
+        }
+    }
 
     /**
      * Parses a raw line of user input and maps it to a supported {@link Command}.
@@ -47,10 +84,74 @@ public class Parser {
         case "delete" -> Command.DELETE;
         case "find" -> Command.FIND;
         case "update" -> Command.UPDATE;
+        case "use" -> Command.USE;
+        case "filter" -> Command.FILTER;
+        case "search" -> Command.SEARCH;
+        case "find~" -> Command.FUZZY_FIND;
+        case "memory" -> Command.MEMORY;
+        case "recur" -> Command.RECUR;
+        case "tag" -> Command.TAG;
+        case "untag" -> Command.UNTAG;
+        case "priority" -> Command.PRIORITY;
+        case "next" -> Command.NEXT;
         default -> Command.UNKNOWN;
         };
     }
 
+    /**
+     * Splits an input line into the commands of a pipeline.
+     * <p>
+     * Commands are separated by {@code ;}; write {@code \;} for a literal semicolon inside a
+     * command. Blank commands are dropped.
+     * </p>
+     *
+     * @param line the user input line
+     * @return the commands, in order, trimmed
+     */
+    public static List<String> splitPipeline(String line) {
+        List<String> commands = new ArrayList<>();
+        if (line == null) {
+            return commands;
+        }
+        StringBuilder current = new StringBuilder();
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c == '\\' && i + 1 < line.length() && line.charAt(i + 1) == PIPELINE_SEPARATOR) {
+                current.append(PIPELINE_SEPARATOR);
+                i++;
+            } else if (c == PIPELINE_SEPARATOR) {
+                addCommand(commands, current);
+            } else {
+                current.append(c);
+            }
+        }
+        addCommand(commands, current);
+        return commands;
+    }
+
+    private static void addCommand(List<String> commands, StringBuilder current) {
+        String command = current.toString().trim();
+        if (!command.isEmpty()) {
+            commands.add(command);
+        }
+        current.setLength(0);
+    }
+
+    /**
+     * Suggests the known command word closest to the first word of an unrecognised input line.
+     *
+     * @param line the user input line
+     * @return the suggested command word, or empty if nothing is within two typos
+     */
+    public static Optional<String> suggestCommand(String line) {
+        if (line == null || line.isBlank()) {
+            return Optional.empty();
+        }
+        String first = line.trim().split("\\s+")[0].toLowerCase();
+        List<String> close = COMMAND_WORDS.search(first, MAX_COMMAND_TYPOS);
+        return close.isEmpty() ? Optional.empty() : Optional.of(close.get(0));
+    }
+
     /**
      * Extracts arguments from a user input line according to the command type.
      * <p>
@@ -71,12 +172,21 @@ public class Parser {
      */
     public static ParsedArgs parseArgs(Command cmd, String line) throws EmptyTaskException, UnexpectedCommandException {
         return switch (cmd) {
-        case MARK, UNMARK, DELETE -> parseIndexOnly(line);
+        case LIST -> parseList(line);
+        case MARK, UNMARK, DELETE -> parseSelection(line);
         case TODO -> parseTodo(line);
         case DEADLINE -> parseDeadline(line);
         case EVENT -> parseEvent(line);
+        case RECUR -> parseRecur(line);
         case FIND -> parseFind(line);
         case UPDATE -> parseUpdate(line);
+        case USE -> parseUse(line);
+        case FILTER -> parseFilter(line);
+        case SEARCH -> parseSearch(line);
+        case FUZZY_FIND -> parseFuzzyFind(line);
+        case TAG, UNTAG -> parseTag(line);
+        case PRIORITY -> parsePriority(line);
+        case NEXT -> parseNext(line);
         default -> ParsedArgs.none();
         };
     }
@@ -85,10 +195,174 @@ public class Parser {
      * Per-command helpers
      * ------------------------- */
 
-    private static ParsedArgs parseIndexOnly(String line) {
-        String[] value = line.split(" ");
-        int idx = Integer.parseInt(value[1]);
-        return ParsedArgs.index(idx);
+    private static ParsedArgs parseList(String line) throws UnexpectedCommandException {
+        String[] words = line.trim().split("\\s+");
+        boolean isUndoneOnly = false;
+        String sort = null;
+        int limit = Integer.MAX_VALUE;
+        for (int i = 1; i < words.length; i++) {
+            String w = words[i].toLowerCase();
+            if (w.equals("undone")) {
+                isUndoneOnly = true;
+            } else if (w.startsWith("sort:")) {
+                sort = w;
+            } else if (w.equals("limit") && i + 1 < words.length) {
+                limit = parseLimit(words[++i]);
+            } else if (w.startsWith("limit:")) {
+                limit = parseLimit(w.substring(6));
+            } else {
+                throw new UnexpectedCommandException("list should be in the format: "
+                        + "list [undone] [sort:by|sort:done|sort:type] [limit <n>]");
+            }
+        }
+        if (!isUndoneOnly && sort == null) {
+            return ParsedArgs.view(null, limit);
+        }
+        String view = isUndoneOnly ? (sort == null ? "undone" : "undone " + sort) : sort;
+        return ParsedArgs.view(view, limit);
+    }
+
+    private static int parseLimit(String value) throws UnexpectedCommandException {
+        try {
+            int n = Integer.parseInt(value);
+            if (n < 0) {
+                throw new NumberFormatException();
+            }
+            return n;
+        } catch (NumberFormatException e) {
+            throw new UnexpectedCommandException("limit must be a non-negative integer.");
+        }
+    }
+
+    /**
+     * Parses the target of {@code mark}, {@code unmark} or {@code delete}.
+     * <p>
+     * The target is a single index, a list of indices and inclusive ranges such as
+     * {@code 1-500} or {@code 2,4,10-12}, or filter terms such as {@code done}, {@code undone},
+     * {@code type:event}, {@code by<2025-01-01} or {@code #work}. Plain words are not accepted as filters
+     * here, so a typo cannot select every task whose text happens to contain it.
+     * </p>
+     */
+    private static ParsedArgs parseSelection(String line) throws UnexpectedCommandException {
+        String[] words = line.trim().split("\\s+", 2);
+        String target = words.length > 1 ? words[1].trim() : "";
+        if (target.matches("-?\\d+")) {
+            return ParsedArgs.index(parseIndex(target));
+        }
+        if (target.matches("[\\d\\s,-]+")) {
+            return parseIndexList(target);
+        }
+        List<String> terms = new ArrayList<>();
+        for (String term : target.split("\\s+")) {
+            String lower = term.toLowerCase();
+            if (lower.equals("done") || lower.equals("undone")) {
+                terms.add(lower.equals("done") ? "done:true" : "done:false");
+            } else if (lower.matches(".*[:<>].*") && !lower.startsWith("sort:") && !lower.startsWith("limit:")
+                    || lower.startsWith("#") || lower.startsWith("-#")) {
+                terms.add(term);
+            } else {
+                throw new UnexpectedCommandException(words[0] + " needs an index (3), indices (1-5,8) "
+                        + "or filter terms (done, undone, type:event, by<2025-01-01, #work).");
+            }
+        }
+        Query q = Query.compile(String.join(" ", terms));
+        return ParsedArgs.selection((i, t) -> q.matches(t), -1);
+    }
+
+    /**
+     * Parses indices and inclusive ranges such as {@code 2,4,10-12}.
+     * <p>
+     * Only the bounds of each range are kept, sorted and merged, so {@code 0-2147483647} costs no more
+     * than {@code 0-1}; the caller rejects it by its highest index before any task is looked at.
+     * </p>
+     */
+    private static ParsedArgs parseIndexList(String target) throws UnexpectedCommandException {
+        List<int[]> ranges = new ArrayList<>();
+        for (String part : target.split("[\\s,]+")) {
+            if (part.isEmpty()) {
+                continue;
+            }
+            String[] bounds = part.split("-", -1);
+            try {
+                int from = Integer.parseInt(bounds[0]);
+                int to = bounds.length == 1 ? from : Integer.parseInt(bounds[1]);
+                if (bounds.length > 2 || to < from) {
+                    throw new NumberFormatException();
+                }
+                ranges.add(new int[] {from, to});
+            } catch (NumberFormatException e) {
+                throw new UnexpectedCommandException("Invalid index range: " + part
+                        + " (use the form low-high, e.g. 1-5)");
+            }
+        }
+        if (ranges.isEmpty()) {
+            throw new UnexpectedCommandException("No indices given.");
+        }
+        ranges.sort((a, b) -> Integer.compare(a[0], b[0]));
+        int[] lows = new int[ranges.size()];
+        int[] highs = new int[ranges.size()];
+        int count = 0;
+        for (int[] r : ranges) {
+            if (count > 0 && r[0] <= highs[count - 1] + 1L) {
+                highs[count - 1] = Math.max(highs[count - 1], r[1]);
+            } else {
+                lows[count] = r[0];
+                highs[count] = r[1];
+                count++;
+            }
+        }
+        int[] from = Arrays.copyOf(lows, count);
+        int[] to = Arrays.copyOf(highs, count);
+        return ParsedArgs.selection((i, t) -> {
+            int at = Arrays.binarySearch(from, i);
+            int range = at >= 0 ? at : -at - 2;
+            return range >= 0 && i <= to[range];
+        }, to[count - 1]);
+    }
+
+    /** Parses a task index, reporting one too large for an {@code int} as out of bounds. */
+    private static int parseIndex(String word) throws UnexpectedCommandException {
+        try {
+            return Integer.parseInt(word);
+        } catch (NumberFormatException e) {
+            throw new UnexpectedCommandException("Index out of bounds!");
+        }
+    }
+
+    /** Parses {@code tag <index> <tags...>} and {@code untag <index> <tags...>}; the {@code #} is optional. */
+    private static ParsedArgs parseTag(String line) throws UnexpectedCommandException {
+        String[] words = line.trim().split("\\s+");
+        if (words.length < 3 || !words[1].matches("-?\\d+")) {
+            throw new UnexpectedCommandException(words[0] + " should be in the format: "
+                    + words[0] + " <index> #tag [#tag...]");
+        }
+        List<String> tags = new ArrayList<>();
+        for (int i = 2; i < words.length; i++) {
+            if (!Task.isValidTag(words[i])) {
+                throw new UnexpectedCommandException("Invalid tag: " + words[i]
+                        + " (tags use letters, digits, - and _ only)");
+            }
+            tags.add(Task.normaliseTag(words[i]));
+        }
+        return ParsedArgs.tags(parseIndex(words[1]), tags);
+    }
+
+    private static ParsedArgs parsePriority(String line) throws UnexpectedCommandException {
+        String[] words = line.trim().split("\\s+");
+        Priority priority = words.length == 3 ? Priority.parse(words[2]) : null;
+        if (priority == null || !words[1].matches("-?\\d+")) {
+            throw new UnexpectedCommandException("priority should be in the format: "
+                    + "priority <index> <high|medium|low|none>");
+        }
+        return ParsedArgs.priority(parseIndex(words[1]), priority);
+    }
+
+    private static ParsedArgs parseNext(String line) throws UnexpectedCommandException {
+        String[] words = line.trim().split("\\s+");
+        if (words.length > 2) {
+            throw new UnexpectedCommandException("next should be in the format: next [count]");
+        }
+        return ParsedArgs.view(null, words.length == 2 ? parseLimit(words[1]) : DEFAULT_NEXT_COUNT);
     }
 
     private static ParsedArgs parseTodo(String line) throws EmptyTaskException {
@@ -136,12 +410,106 @@ public class Parser {
         return ParsedArgs.event(desc, from, to);
     }
 
+    private static ParsedArgs parseRecur(String line) throws EmptyTaskException, UnexpectedCommandException {
+        String usage = "recur should be in the format: recur <desc> /every <day|week|monday..sunday|N days|N weeks>"
+                + " [/from <yyyy-mm-dd>]";
+        int everyIndex = line.indexOf("/every ");
+        if (everyIndex < 0) {
+            throw new UnexpectedCommandException(usage);
+        }
+        int fromIndex = line.indexOf("/from ", everyIndex);
+        String desc = line.substring(5, everyIndex).trim();
+        String rule = (fromIndex < 0 ? line.substring(everyIndex + 7) : line.substring(everyIndex + 7, fromIndex))
+                .trim().toLowerCase();
+        if (desc.isEmpty()) {
+            throw new EmptyTaskException("recur");
+        }
+
+        LocalDate from;
+        try {
+            from = fromIndex < 0 ? LocalDate.now() : LocalDate.parse(line.substring(fromIndex + 6).trim());
+        } catch (java.time.format.DateTimeParseException e) {
+            throw new UnexpectedCommandException("recur (date must be yyyy-mm-dd)");
+        }
+
+        Optional<DayOfWeek> weekday = Arrays.stream(DayOfWeek.values())
+                .filter(d -> d.name().toLowerCase().equals(rule)
+                        || d.name().toLowerCase().substring(0, 3).equals(rule))
+                .findFirst();
+        if (weekday.isPresent()) {
+            return ParsedArgs.recur(desc, from.with(TemporalAdjusters.nextOrSame(weekday.get())), DAYS_PER_WEEK);
+        }
+        String[] words = rule.split("\\s+");
+        try {
+            if (words.length == 1) {
+                return switch (words[0]) {
+                case "day", "daily" -> ParsedArgs.recur(desc, from, 1);
+                case "week", "weekly" -> ParsedArgs.recur(desc, from, DAYS_PER_WEEK);
+                default -> throw new UnexpectedCommandException(usage);
+                };
+            }
+            int n = Integer.parseInt(words[0]);
+            if (words.length != 2 || n <= 0) {
+                throw new UnexpectedCommandException(usage);
+            }
+            return switch (words[1]) {
+            case "day", "days" -> ParsedArgs.recur(desc, from, n);
+            case "week", "weeks" -> ParsedArgs.recur(desc, from, n * DAYS_PER_WEEK);
+            default -> throw new UnexpectedCommandException(usage);
+            };
+        } catch (NumberFormatException e) {
+            throw new UnexpectedCommandException(usage);
+        }
+    }
+
     private static ParsedArgs parseFind(String line) throws EmptyTaskException {
         String kw = line.substring(5).trim();
+        boolean isAllWorkspaces = false;
+        boolean isIncludingArchive = false;
+        while (kw.startsWith("--")) {
+            if (kw.startsWith(ALL_WORKSPACES_FLAG)) {
+                isAllWorkspaces = true;
+                kw = kw.substring(ALL_WORKSPACES_FLAG.length()).trim();
+            } else if (kw.startsWith(INCLUDE_ARCHIVE_FLAG)) {
+                isIncludingArchive = true;
+                kw = kw.substring(INCLUDE_ARCHIVE_FLAG.length()).trim();
+            } else {
+                break;
+            }
+        }
         if (kw.isEmpty()) {
             throw new EmptyTaskException("find");
         }
-        return ParsedArgs.find(kw);
+        return ParsedArgs.find(kw, isAllWorkspaces, isIncludingArchive);
+    }
+
+    private static ParsedArgs parseSearch(String line) throws EmptyTaskException {
+        String terms = line.length() > 7 ? line.substring(7).trim() : "";
+        if (terms.isEmpty()) {
+            throw new EmptyTaskException("search");
+        }
+        return ParsedArgs.find(terms, false);
+    }
+
+    private static ParsedArgs parseFuzzyFind(String line) throws EmptyTaskException {
+        String term = line.length() > 6 ? line.substring(6).trim() : "";
+        if (term.isEmpty()) {
+            throw new EmptyTaskException("find~");
+        }
+        return ParsedArgs.find(term, false);
+    }
+
+    private static ParsedArgs parseFilter(String line) throws UnexpectedCommandException {
+        String text = line.length() > 6 ? line.substring(6) : "";
+        return ParsedArgs.query(Query.compile(text));
+    }
+
+    private static ParsedArgs parseUse(String line) throws UnexpectedCommandException {
+        String[] value = line.trim().split("\\s+");
+        if (value.length != 2) {
+            throw new UnexpectedCommandException("use should be in the format: use <workspace>");
+        }
+        return ParsedArgs.workspace(value[1]);
     }
 
     private static ParsedArgs parseUpdate(String line) throws UnexpectedCommandException {
@@ -169,7 +537,10 @@ public class Parser {
      *
      * <p>Each constant corresponds to a specific action that the bot can execute.</p>
      */
-    public enum Command { BYE, LIST, MARK, UNMARK, DEADLINE, TODO, EVENT, DELETE, FIND, UPDATE, UNKNOWN }
+    public enum Command {
+        BYE, LIST, MARK, UNMARK, DEADLINE, TODO, EVENT, DELETE, FIND, UPDATE, USE, FILTER, SEARCH, FUZZY_FIND, MEMORY,
+        RECUR, TAG, UNTAG, PRIORITY, NEXT, UNKNOWN
+    }
 
 
     /**
@@ -186,6 +557,17 @@ public class Parser {
         private String from;
         private String to;
         private String findKeyword;
+        private boolean isAllWorkspaces;
+        private boolean isIncludingArchive;
+        private String workspace;
+        private Query query;
+        private int intervalDays;
+        private String view;
+        private int limit;
+        private TaskSelector selector;
+        private int highestIndex;
+        private List<String> tags;
+        private Priority priority;
 
         // --- Getters ---
         public Integer getIndex() {
@@ -206,6 +588,39 @@ public class Parser {
         public String getFindKeyword() {
             return this.findKeyword;
         }
+        public boolean isAllWorkspaces() {
+            return this.isAllWorkspaces;
+        }
+        public boolean isIncludingArchive() {
+            return this.isIncludingArchive;
+        }
+        public String getWorkspace() {
+            return this.workspace;
+        }
+        public Query getQuery() {
+            return this.query;
+        }
+        public int getIntervalDays() {
+            return this.intervalDays;
+        }
+        public String getView() {
+            return this.view;
+        }
+        public int getLimit() {
+            return this.limit;
+        }
+        public TaskSelector getSelector() {
+            return this.selector;
+        }
+        public int getHighestIndex() {
+            return this.highestIndex;
+        }
+        public List<String> getTags() {
+            return this.tags;
+        }
+        public Priority getPriority() {
+            return this.priority;
+        }
         /** Creates an empty {@link ParsedArgs} object. */
         public static ParsedArgs none() {
             return new ParsedArgs();
@@ -218,6 +633,17 @@ public class Parser {
             return a;
         }
 
+        /**
+         * Creates {@link ParsedArgs} for a bulk operation; {@code highestIndex} is the largest index
+         * named explicitly, or -1 if the tasks are chosen by a filter.
+         */
+        public static ParsedArgs selection(TaskSelector selector, int highestIndex) {
+            ParsedArgs a = new ParsedArgs();
+            a.selector = selector;
+            a.highestIndex = highestIndex;
+            return a;
+        }
+
         /** Creates {@link ParsedArgs} for a todo with a description. */
         public static ParsedArgs todo(String d) {
             ParsedArgs a = new ParsedArgs();
@@ -242,10 +668,63 @@ public class Parser {
             return a;
         }
 
-        /** Creates {@link ParsedArgs} for to find a keyword. */
-        public static ParsedArgs find(String keyword) {
+        /** Creates {@link ParsedArgs} for a recurring task; the first occurrence is stored as {@code by}. */
+        public static ParsedArgs recur(String d, java.time.LocalDate start, int intervalDays) {
+            ParsedArgs a = new ParsedArgs();
+            a.desc = d;
+            a.by = start;
+            a.intervalDays = intervalDays;
+            return a;
+        }
+
+        /** Creates {@link ParsedArgs} to list a named sorted view ({@code null} for list order). */
+        public static ParsedArgs view(String name, int limit) {
+            ParsedArgs a = new ParsedArgs();
+            a.view = name;
+            a.limit = limit;
+            return a;
+        }
+
+        /** Creates {@link ParsedArgs} for to find a keyword, optionally across all workspaces. */
+        public static ParsedArgs find(String keyword, boolean isAllWorkspaces) {
             ParsedArgs a = new ParsedArgs();
             a.findKeyword = keyword;
+            a.isAllWorkspaces = isAllWorkspaces;
+            return a;
+        }
+
+        /** Creates {@link ParsedArgs} to find a keyword, optionally also in the archive of old tasks. */
+        public static ParsedArgs find(String keyword, boolean isAllWorkspaces, boolean isIncludingArchive) {
+            ParsedArgs a = find(keyword, isAllWorkspaces);
+            a.isIncludingArchive = isIncludingArchive;
+            return a;
+        }
+
+        /** Creates {@link ParsedArgs} holding a compiled filter query. */
+        public static ParsedArgs query(Query q) {
+            ParsedArgs a = new ParsedArgs();
+            a.query = q;
+            return a;
+        }
+
+        /** Creates {@link ParsedArgs} to switch to a named workspace. */
+        public static ParsedArgs workspace(String name) {
+            ParsedArgs a = new ParsedArgs();
+            a.workspace = name;
+            return a;
+        }
+
+        /** Creates {@link ParsedArgs} to add or remove tags on the task at an index. */
+        public static ParsedArgs tags(int index, List<String> tags) {
+            ParsedArgs a = index(index);
+            a.tags = tags;
+            return a;
+        }
+
+        /** Creates {@link ParsedArgs} to set the priority of the task at an index. */
+        public static ParsedArgs priority(int index, Priority priority) {
+            ParsedArgs a = index(index);
+            a.priority = priority;
             return a;
         }
 
@@ -0,0 +1,309 @@
+package seedu.darrenbot.query;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+import seedu.darrenbot.exception.UnexpectedCommandException;
+import seedu.darrenbot.tasks.Deadline;
+import seedu.darrenbot.tasks.Recurring;
+import seedu.darrenbot.tasks.Task;
+import seedu.darrenbot.tasks.TaskList;
+
+/**
+ * A compiled task query, built from the small filter language used by the {@code filter} command.
+ * <p>
+ * A query is a whitespace-separated list of terms, all of which must hold:
+ * <ul>
+ *   <li>{@code type:todo}, {@code type:deadline}, {@code type:event}, {@code type:recurring} – task type.</li>
+ *   <li>{@code done:true}, {@code done:false} – completion status.</li>
+ *   <li>{@code by<2025-12-01} (also {@code <=}, {@code >}, {@code >=}, {@code :}) – deadline date;
+ *       all {@code by} terms together form one date range. A recurring task matches if any of its
+ *       occurrences falls in the range; tasks without a date never match.</li>
+ *   <li>{@code #work} – tasks tagged {@code work}; {@code #work,#home} matches either tag and
+ *       {@code -#work} excludes the tag.</li>
+ *   <li>{@code sort:by}, {@code sort:type}, {@code sort:done}, {@code sort:desc} – result order,
+ *       prefix the key with {@code -} to reverse it.</li>
+ *   <li>{@code limit:10} or {@code limit 10} – maximum number of results.</li>
+ *   <li>any other word – case-insensitive substring of the task text.</li>
+ * </ul>
+ * </p>
+ *
+ * <p>The text is compiled once into a predicate and comparator. Running the query uses the
+ * tag bitmaps of {@link TaskList} when a tag term is present, its type index when a {@code type:}
+ * term is, and returns a lazy stream so a {@code limit} stops the scan early.</p>
+ *
+ * <p>Example usage:</p>
+ * <pre>
+ * Query q = Query.compile("type:deadline done:false by&lt;2025-12-01 sort:by limit 10");
+ * List&lt;Task&gt; due = q.run(tasks).toList();
+ * List&lt;Task&gt; work = Query.compile("#work #urgent,#soon -#blocked").run(tasks).toList();
+ * </pre>
+ */
+public class Query {
+    /** Lists at least this large are scanned with a parallel stream when no limit applies. */
+    public static final int PARALLEL_THRESHOLD = 50_000;
+
+    private static final long NO_LIMIT = Long.MAX_VALUE;
+
+    private final Predicate<Task> predicate;
+    private final Comparator<Task> comparator;
+    private final long limit;
+    private final String typeHint;
+    private final List<List<String>> tagGroups;
+    private final List<String> excludedTags;
+
+    private Query(Predicate<Task> predicate, Comparator<Task> comparator, long limit, String typeHint,
+            List<List<String>> tagGroups, List<String> excludedTags) {
+        this.predicate = predicate;
+        this.comparator = comparator;
+        this.limit = limit;
+        this.typeHint = typeHint;
+        this.tagGroups = tagGroups;
+        this.excludedTags = excludedTags;
+    }
+
+    /**
+     * Compiles query text into a {@code Query}.
+     *
+     * @param text the query text, without the leading command word
+     * @return the compiled query
+     * @throws UnexpectedCommandException if a term is malformed
+     */
+    public static Query compile(String text) throws UnexpectedCommandException {
+        Predicate<Task> predicate = t -> true;
+        Comparator<Task> comparator = null;
+        long limit = NO_LIMIT;
+        String typeHint = null;
+        DateRange range = null;
+        List<List<String>> tagGroups = new ArrayList<>();
+        List<String> excludedTags = new ArrayList<>();
+
+        String[] terms = text.trim().isEmpty() ? new String[0] : text.trim().split("\\s+");
+        for (int i = 0; i < terms.length; i++) {
+            String term = terms[i];
+            String lower = term.toLowerCase();
+            if (lower.equals("limit") && i + 1 < terms.length) {
+                limit = parseLimit(terms[++i]);
+            } else if (lower.startsWith("limit:")) {
+                limit = parseLimit(term.substring(6));
+            } else if (lower.startsWith("type:")) {
+                typeHint = parseType(lower.substring(5));
+                String type = typeHint;
+                predicate = predicate.and(t -> t.getTaskType().equals(type));
+            } else if (lower.startsWith("done:")) {
+                boolean isDone = parseBoolean(lower.substring(5));
+                predicate = predicate.and(t -> t.isDone() == isDone);
+            } else if (lower.startsWith("by") && isComparison(lower.substring(2))) {
+                DateRange next = parseByTerm(lower);
+                range = range == null ? next : range.intersect(next);
+            } else if (lower.startsWith("#")) {
+                List<String> group = parseTags(lower);
+                tagGroups.add(group);
+                predicate = predicate.and(t -> group.stream().anyMatch(t::hasTag));
+            } else if (lower.startsWith("-#")) {
+                List<String> excluded = parseTags(lower.substring(1));
+                excludedTags.addAll(excluded);
+                predicate = predicate.and(t -> excluded.stream().noneMatch(t::hasTag));
+            } else if (lower.startsWith("sort:")) {
+                Comparator<Task> next = parseSort(lower.substring(5));
+                comparator = comparator == null ? next : comparator.thenComparing(next);
+            } else {
+                predicate = predicate.and(t -> t.toString().toLowerCase().contains(lower));
+            }
+        }
+        if (range != null) {
+            predicate = predicate.and(range::matches);
+        }
+        return new Query(predicate, comparator, limit, typeHint, tagGroups, excludedTags);
+    }
+
+    /**
+     * Runs this query against the given task list.
+     * <p>
+     * Tag terms are answered first from the list's tag bitmaps, so only tasks with the right tags
+     * are tested against the other terms. The returned stream is lazy: without a sort, a limit
+     * stops the scan as soon as enough matches are found. With both a sort and a limit, only the
+     * best {@code limit} matches are kept in a bounded heap instead of sorting every match.
+     * Matches that sort equally keep their list order either way.
+     * </p>
+     *
+     * @param tasks the tasks to query
+     * @return the matching tasks, in result order
+     */
+    public Stream<Task> run(TaskList tasks) {
+        Collection<Task> source;
+        if (!tagGroups.isEmpty() || !excludedTags.isEmpty()) {
+            source = tasks.withTags(tagGroups, excludedTags);
+        } else {
+            source = typeHint != null ? tasks.ofType(typeHint) : tasks.all();
+        }
+        Stream<Task> matches = source.stream();
+        if (limit == NO_LIMIT && source.size() >= PARALLEL_THRESHOLD) {
+            matches = matches.parallel();
+        }
+        matches = matches.filter(predicate);
+        if (comparator == null) {
+            return matches.limit(limit);
+        }
+        if (limit == NO_LIMIT) {
+            return matches.sorted(comparator);
+        }
+        return topK(matches, comparator, (int) Math.min(limit, Integer.MAX_VALUE)).stream();
+    }
+
+    /**
+     * Returns whether the given task satisfies every filter term of this query.
+     *
+     * @param t the task to test
+     * @return {@code true} if it matches
+     */
+    public boolean matches(Task t) {
+        return predicate.test(t);
+    }
+
+    /* =========================
+     * Helpers (single concerns)
+     * ========================= */
+
+    /**
+     * Keeps the best {@code k} matches in a bounded heap. The heap does not keep the order of ties,
+     * so each match is numbered as it is seen; every source yields tasks in list order, so the
+     * numbers settle ties by list position without looking any task up in the list.
+     */
+    private static List<Task> topK(Stream<Task> matches, Comparator<Task> comparator, int k) {
+        if (k == 0) {
+            return List.of();
+        }
+        Comparator<Ranked> order = Comparator.comparing(Ranked::task, comparator).thenComparingLong(Ranked::seen);
+        // Max-heap on the result order: the root is the worst of the best k seen so far.
+        PriorityQueue<Ranked> heap = new PriorityQueue<>(order.reversed());
+        long[] seen = {0};
+        matches.forEachOrdered(t -> {
+            Ranked r = new Ranked(t, seen[0]++);
+            if (heap.size() < k) {
+                heap.add(r);
+            } else if (order.compare(r, heap.peek()) < 0) {
+                heap.poll();
+                heap.add(r);
+            }
+        });
+        List<Ranked> best = new ArrayList<>(heap);
+        best.sort(order);
+        return best.stream().map(Ranked::task).toList();
+    }
+
+    private static long parseLimit(String value) throws UnexpectedCommandException {
+        try {
+            long n = Long.parseLong(value);
+            if (n < 0) {
+                throw new NumberFormatException();
+            }
+            return n;
+        } catch (NumberFormatException e) {
+            throw new UnexpectedCommandException("limit must be a non-negative integer.");
+        }
+    }
+
+    /** Parses {@code #a} or {@code #a,#b} into normalised tags. */
+    private static List<String> parseTags(String term) throws UnexpectedCommandException {
+        List<String> tags = new ArrayList<>();
+        for (String tag : term.split(",")) {
+            if (!tag.startsWith("#") || !Task.isValidTag(tag)) {
+                throw new UnexpectedCommandException("tags look like #work, with letters, digits, - and _ only.");
+            }
+            tags.add(Task.normaliseTag(tag));
+        }
+        return tags;
+    }
+
+    private static String parseType(String value) throws UnexpectedCommandException {
+        return switch (value) {
+        case "todo", "deadline", "event", "recurring" -> value;
+        default -> throw new UnexpectedCommandException("type must be one of todo, deadline, event or recurring.");
+        };
+    }
+
+    private static boolean parseBoolean(String value) throws UnexpectedCommandException {
+        return switch (value) {
+        case "true", "yes", "1" -> true;
+        case "false", "no", "0" -> false;
+        default -> throw new UnexpectedCommandException("done must be true or false.");
+        };
+    }
+
+    private static boolean isComparison(String rest) {
+        return rest.startsWith("<") || rest.startsWith(">") || rest.startsWith(":") || rest.startsWith("=");
+    }
+
+    private static DateRange parseByTerm(String term) throws UnexpectedCommandException {
+        String rest = term.substring(2);
+        String op = rest.startsWith("<=") || rest.startsWith(">=") ? rest.substring(0, 2) : rest.substring(0, 1);
+        LocalDate date;
+        try {
+            date = LocalDate.parse(rest.substring(op.length()));
+        } catch (DateTimeParseException e) {
+            throw new UnexpectedCommandException("by dates must be yyyy-mm-dd, e.g. by<2025-12-01");
+        }
+        return switch (op) {
+        case "<" -> new DateRange(null, date.minusDays(1));
+        case "<=" -> new DateRange(null, date);
+        case ">" -> new DateRange(date.plusDays(1), null);
+        case ">=" -> new DateRange(date, null);
+        default -> new DateRange(date, date);
+        };
+    }
+
+    private static Comparator<Task> parseSort(String key) throws UnexpectedCommandException {
+        boolean isReversed = key.startsWith("-");
+        String k = isReversed ? key.substring(1) : key;
+        if (k.equals("by") || k.equals("date")) {
+            // Tasks without a date stay last in either direction.
+            Comparator<LocalDate> dates = isReversed ? Comparator.reverseOrder() : Comparator.naturalOrder();
+            return Comparator.comparing(Query::dueDateOf, Comparator.nullsLast(dates));
+        }
+        Comparator<Task> c = switch (k) {
+        case "type" -> Comparator.comparing(Task::getTaskType);
+        case "done", "status" -> Comparator.comparing(Task::isDone);
+        case "desc", "description" -> Comparator.comparing(t -> t.getDescription().toLowerCase());
+        default -> throw new UnexpectedCommandException("sort must be one of by, type, done or desc.");
+        };
+        return isReversed ? c.reversed() : c;
+    }
+
+    private static LocalDate dueDateOf(Task t) {
+        if (t instanceof Recurring r) {
+            return r.nextOccurrence(LocalDate.now());
+        }
+        return t instanceof Deadline d ? d.getDeadline() : null;
+    }
+
+    /** An inclusive date range; a {@code null} end is unbounded. */
+    /** A match and the order it was seen in. */
+    private record Ranked(Task task, long seen) {
+    }
+
+    private record DateRange(LocalDate from, LocalDate to) {
+        DateRange intersect(DateRange other) {
+            LocalDate f = from == null || (other.from != null && other.from.isAfter(from)) ? other.from : from;
+            LocalDate t = to == null || (other.to != null && other.to.isBefore(to)) ? other.to : to;
+            return new DateRange(f, t);
+        }
+
+        boolean matches(Task task) {
+            if (task instanceof Recurring r) {
+                // Only the first occurrence in range is computed, never the whole series.
+                LocalDate first = r.nextOccurrence(from == null ? r.getStart() : from);
+                return to == null || !first.isAfter(to);
+            }
+            LocalDate due = dueDateOf(task);
+            return due != null && (from == null || !due.isBefore(from)) && (to == null || !due.isAfter(to));
+        }
+    }
+}
@@ -0,0 +1,232 @@
+package seedu.darrenbot.reminder;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import seedu.darrenbot.tasks.Deadline;
+import seedu.darrenbot.tasks.Event;
+import seedu.darrenbot.tasks.Recurring;
+import seedu.darrenbot.tasks.Task;
+import seedu.darrenbot.tasks.TaskListener;
+
+/**
+ * Fires reminders shortly before {@link Deadline}s fall due, {@link Event}s start and each
+ * occurrence of a {@link Recurring} task comes round.
+ * <p>
+ * All pending reminders live in a single {@link TimingWheel}, so scheduling or cancelling
+ * a reminder is O(1) no matter how many are pending. One background thread polls the wheel
+ * once per tick; tests can skip {@link #start()} and call {@link #poll()} with an injected
+ * {@link Clock} instead.
+ * </p>
+ *
+ * <p>Registered as a {@link TaskListener}, it keeps reminders in sync with a task list:
+ * added tasks are scheduled, removed ones cancelled, and changed ones rescheduled. A recurring
+ * task only ever has its next occurrence scheduled; when that reminder fires, the following
+ * occurrence is scheduled in its place.</p>
+ *
+ * <p>Example usage:</p>
+ * <pre>
+ * ReminderScheduler r = new ReminderScheduler(Clock.systemDefaultZone(), Duration.ofMinutes(1),
+ *         Duration.ofDays(1), System.out::println);
+ * r.schedule(new Deadline("submit report", LocalDate.of(2025, 10, 1)));
+ * r.start();
+ * </pre>
+ */
+public class ReminderScheduler implements TaskListener {
+    private static final int WHEEL_SIZE = 64;
+    private static final int WHEEL_LEVELS = 5;
+
+    private final Clock clock;
+    private final Duration tick;
+    private final Duration leadTime;
+    private final TimingWheel wheel;
+    private final Map<Task, TimingWheel.Timeout> byTask = new IdentityHashMap<>();
+    private volatile Consumer<String> notifier;
+    private ScheduledExecutorService ticker;
+
+    /**
+     * Constructs a scheduler driven by the given clock.
+     *
+     * @param clock    the source of the current time
+     * @param tick     the resolution at which reminders fire
+     * @param leadTime how long before a task falls due its reminder should fire
+     * @param notifier receives the text of every reminder that fires
+     */
+    public ReminderScheduler(Clock clock, Duration tick, Duration leadTime, Consumer<String> notifier) {
+        this.clock = clock;
+        this.tick = tick;
+        this.leadTime = leadTime;
+        this.notifier = notifier;
+        this.wheel = new TimingWheel(tick.toMillis(), WHEEL_SIZE, WHEEL_LEVELS, clock.millis());
+    }
+
+    public void setNotifier(Consumer<String> notifier) {
+        this.notifier = notifier;
+    }
+
+    /**
+     * Schedules a reminder for the given task, replacing any reminder it already had.
+     * <p>
+     * Tasks that are done, have no parseable date, or whose date has already passed are ignored.
+     * </p>
+     *
+     * @param t the task to be reminded about
+     * @return {@code true} if a reminder was scheduled
+     */
+    public synchronized boolean schedule(Task t) {
+        // Occurrences are due at the start of their day, so today's has already begun.
+        return schedule(t, LocalDate.now(clock).plusDays(1));
+    }
+
+    /**
+     * Cancels the pending reminder of the given task, if any.
+     *
+     * @param t the task whose reminder should be dropped
+     */
+    public synchronized void cancel(Task t) {
+        TimingWheel.Timeout timeout = byTask.remove(t);
+        if (timeout != null) {
+            timeout.cancel();
+        }
+    }
+
+    /**
+     * Cancels every pending reminder.
+     */
+    public synchronized void cancelAll() {
+        for (TimingWheel.Timeout timeout : byTask.values()) {
+            timeout.cancel();
+        }
+        byTask.clear();
+    }
+
+    @Override
+    public void onAdded(Task t) {
+        schedule(t);
+    }
+
+    @Override
+    public void onRemoved(Task t) {
+        cancel(t);
+    }
+
+    @Override
+    public void onChanged(Task t) {
+        schedule(t);
+    }
+
+    /**
+     * Fires every reminder that is due according to the clock.
+     *
+     * @return the number of reminders fired
+     */
+    public synchronized int poll() {
+        return wheel.advanceTo(clock.millis());
+    }
+
+    public synchronized int getPendingCount() {
+        return wheel.pendingCount();
+    }
+
+    /**
+     * Starts a daemon thread that polls the wheel once per tick.
+     */
+    public synchronized void start() {
+        if (ticker != null) {
+            return;
+        }
+        ticker = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread th = new Thread(r, "darrenbot-reminders");
+            th.setDaemon(true);
+            return th;
+        });
+        ticker.scheduleAtFixedRate(this::poll, 0, tick.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops the polling thread started by {@link #start()}.
+     */
+    public synchronized void stop() {
+        if (ticker != null) {
+            ticker.shutdownNow();
+            ticker = null;
+        }
+    }
+
+    /**
+     * Returns the moment the given task falls due, if it has one.
+     * <p>
+     * Deadlines are due at the start of their day. Events are due at their start time when it is
+     * written as an ISO date ({@code 2025-10-01}) or date-time ({@code 2025-10-01T14:00}).
+     * </p>
+     *
+     * @param t the task to inspect
+     * @return the due time, or empty if the task has none
+     */
+    public static Optional<LocalDateTime> dueTimeOf(Task t) {
+        if (t instanceof Deadline d) {
+            return Optional.of(d.getDeadline().atStartOfDay());
+        }
+        if (t instanceof Event e) {
+            return parseStart(e.getFrom());
+        }
+        return Optional.empty();
+    }
+
+    /* =========================
+     * Helpers (single concerns)
+     * ========================= */
+
+    private boolean schedule(Task t, LocalDate earliestOccurrence) {
+        cancel(t);
+        Optional<LocalDateTime> dueAt = t instanceof Recurring r
+                ? Optional.of(r.nextOccurrence(earliestOccurrence).atStartOfDay())
+                : dueTimeOf(t);
+        if (t.isDone() || dueAt.isEmpty()) {
+            return false;
+        }
+        long due = dueAt.get().atZone(clock.getZone()).toInstant().toEpochMilli();
+        if (due <= clock.millis()) {
+            return false;
+        }
+        LocalDate day = dueAt.get().toLocalDate();
+        TimingWheel.Timeout timeout = wheel.schedule(due - leadTime.toMillis(), () -> fire(t, day));
+        byTask.put(t, timeout);
+        return true;
+    }
+
+    private void fire(Task t, LocalDate day) {
+        byTask.remove(t);
+        Consumer<String> sink = notifier;
+        if (sink != null) {
+            sink.accept("Reminder: " + t + " is coming up soon!");
+        }
+        if (t instanceof Recurring) {
+            schedule(t, day.plusDays(1));
+        }
+    }
+
+    private static Optional<LocalDateTime> parseStart(String from) {
+        String s = from.trim();
+        try {
+            return Optional.of(LocalDateTime.parse(s));
+        } catch (DateTimeParseException e) {
+            // not a date-time, try a plain date below
+        }
+        try {
+            return Optional.of(LocalDate.parse(s).atStartOfDay());
+        } catch (DateTimeParseException e) {
+            return Optional.empty();
+        }
+    }
+}
@@ -0,0 +1,259 @@
+package seedu.darrenbot.reminder;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A hierarchical hashed timing wheel for scheduling many one-shot callbacks.
+ * <p>
+ * Time is divided into ticks of {@code tickMillis}. Level 0 holds one bucket per tick
+ * for the next {@code wheelSize} ticks, level 1 holds one bucket per {@code wheelSize}
+ * ticks, and so on. When a lower level wraps around, the current bucket of the level above
+ * is cascaded down. Scheduling and cancelling are O(1); advancing costs O(1) per elapsed
+ * tick plus the work of the callbacks that expire.
+ * </p>
+ *
+ * <p>The wheel is not thread-safe and never reads the system clock itself: callers decide
+ * what "now" is by calling {@link #advanceTo(long)}, which keeps it fully deterministic.</p>
+ *
+ * <p>Example usage:</p>
+ * <pre>
+ * TimingWheel wheel = new TimingWheel(1000, 64, 4, 0);
+ * TimingWheel.Timeout t = wheel.schedule(5000, () -> System.out.println("ding"));
+ * wheel.advanceTo(5000); // prints "ding"
+ * </pre>
+ */
+public class TimingWheel {
+    private final long tickMillis;
+    private final int bits;
+    private final int mask;
+    private final Bucket[][] levels;
+
+    private final List<Timeout> due = new ArrayList<>();
+    private long currentTick;
+    private int pending;
+
+    /**
+     * Constructs an empty timing wheel.
+     *
+     * @param tickMillis the resolution of the wheel in milliseconds
+     * @param wheelSize  the number of buckets per level; must be a power of two
+     * @param levelCount the number of levels in the hierarchy
+     * @param startMillis the time the wheel starts at
+     */
+    public TimingWheel(long tickMillis, int wheelSize, int levelCount, long startMillis) {
+        if (tickMillis <= 0 || wheelSize < 2 || Integer.bitCount(wheelSize) != 1 || levelCount < 1) {
+            throw new IllegalArgumentException("Invalid timing wheel dimensions");
+        }
+        this.tickMillis = tickMillis;
+        this.bits = Integer.numberOfTrailingZeros(wheelSize);
+        this.mask = wheelSize - 1;
+        this.levels = new Bucket[levelCount][wheelSize];
+        for (Bucket[] level : levels) {
+            for (int i = 0; i < wheelSize; i++) {
+                level[i] = new Bucket();
+            }
+        }
+        this.currentTick = startMillis / tickMillis;
+    }
+
+    /**
+     * Schedules {@code action} to run once the wheel has advanced to {@code deadlineMillis}.
+     * <p>
+     * Deadlines that are already due run on the next call to {@link #advanceTo(long)}.
+     * </p>
+     *
+     * @param deadlineMillis the time at which the action should run
+     * @param action         the callback to run
+     * @return a handle that can be used to cancel the callback
+     */
+    public Timeout schedule(long deadlineMillis, Runnable action) {
+        Timeout t = new Timeout(this, Math.floorDiv(deadlineMillis, tickMillis), action);
+        place(t);
+        pending++;
+        return t;
+    }
+
+    /**
+     * Advances the wheel to {@code nowMillis}, running every callback whose deadline has passed.
+     *
+     * @param nowMillis the current time
+     * @return the number of callbacks that ran
+     */
+    public int advanceTo(long nowMillis) {
+        int fired = runDue();
+        long target = Math.floorDiv(nowMillis, tickMillis);
+        while (currentTick < target) {
+            if (pending == 0) {
+                currentTick = target;
+                break;
+            }
+            currentTick++;
+            cascade();
+            fired += expire(levels[0][(int) (currentTick & mask)]);
+        }
+        return fired;
+    }
+
+    /**
+     * Returns the number of callbacks that are scheduled but have neither run nor been cancelled.
+     *
+     * @return the number of pending callbacks
+     */
+    public int pendingCount() {
+        return pending;
+    }
+
+    /* =========================
+     * Helpers (single concerns)
+     * ========================= */
+
+    private void place(Timeout t) {
+        long delta = t.expiryTick - currentTick;
+        if (delta <= 0) {
+            due.add(t);
+            t.bucket = null;
+            return;
+        }
+        int level = 0;
+        while (level < levels.length - 1 && (delta >>> (bits * (level + 1))) != 0) {
+            level++;
+        }
+        long tick = t.expiryTick;
+        long span = 1L << (bits * (level + 1));
+        if (level == levels.length - 1 && delta >= span) {
+            // Too far away even for the top level: park it at the furthest slot and re-place on cascade.
+            tick = currentTick + span - 1;
+        }
+        int slot = (int) ((tick >>> (bits * level)) & mask);
+        levels[level][slot].append(t);
+    }
+
+    private void cascade() {
+        int highest = 0;
+        while (highest + 1 < levels.length && (currentTick & ((1L << (bits * (highest + 1))) - 1)) == 0) {
+            highest++;
+        }
+        for (int level = highest; level >= 1; level--) {
+            int slot = (int) ((currentTick >>> (bits * level)) & mask);
+            for (Timeout t : levels[level][slot].drain()) {
+                place(t);
+            }
+        }
+    }
+
+    private int expire(Bucket bucket) {
+        for (Timeout t : bucket.drain()) {
+            if (t.expiryTick <= currentTick) {
+                due.add(t);
+            } else {
+                place(t);
+            }
+        }
+        return runDue();
+    }
+
+    private int runDue() {
+        if (due.isEmpty()) {
+            return 0;
+        }
+        List<Timeout> batch = new ArrayList<>(due);
+        due.clear();
+        int fired = 0;
+        for (Timeout t : batch) {
+            if (t.isCancelled) {
+                continue;
+            }
+            t.isDone = true;
+            pending--;
+            fired++;
+            t.action.run();
+        }
+        return fired;
+    }
+
+    /**
+     * Handle to a scheduled callback.
+     */
+    public static final class Timeout {
+        private final TimingWheel wheel;
+        private final long expiryTick;
+        private final Runnable action;
+        private Bucket bucket;
+        private Timeout prev;
+        private Timeout next;
+        private boolean isCancelled;
+        private boolean isDone;
+
+        private Timeout(TimingWheel wheel, long expiryTick, Runnable action) {
+            this.wheel = wheel;
+            this.expiryTick = expiryTick;
+            this.action = action;
+        }
+
+        /**
+         * Cancels the callback in O(1). Has no effect if it already ran or was cancelled.
+         *
+         * @return {@code true} if this call cancelled the callback
+         */
+        public boolean cancel() {
+            if (isCancelled || isDone) {
+                return false;
+            }
+            isCancelled = true;
+            if (bucket != null) {
+                bucket.unlink(this);
+            }
+            wheel.pending--;
+            return true;
+        }
+
+        public boolean isCancelled() {
+            return this.isCancelled;
+        }
+    }
+
+    /** Intrusive doubly linked list of timeouts sharing one wheel slot. */
+    private static final class Bucket {
+        private Timeout head;
+
+        void append(Timeout t) {
+            t.bucket = this;
+            t.prev = null;
+            t.next = head;
+            if (head != null) {
+                head.prev = t;
+            }
+            head = t;
+        }
+
+        void unlink(Timeout t) {
+            if (t.prev != null) {
+                t.prev.next = t.next;
+            } else {
+                head = t.next;
+            }
+            if (t.next != null) {
+                t.next.prev = t.prev;
+            }
+            t.prev = null;
+            t.next = null;
+            t.bucket = null;
+        }
+
+        List<Timeout> drain() {
+            List<Timeout> out = new ArrayList<>();
+            Timeout t = head;
+            while (t != null) {
+                Timeout next = t.next;
+                t.prev = null;
+                t.next = null;
+                t.bucket = null;
+                out.add(t);
+                t = next;
+            }
+            head = null;
+            return out;
+        }
+    }
+}
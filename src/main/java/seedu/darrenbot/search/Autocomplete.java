@@ -0,0 +1,248 @@
+package seedu.darrenbot.search;
+
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import seedu.darrenbot.tasks.Event;
+import seedu.darrenbot.tasks.Task;
+import seedu.darrenbot.tasks.TaskList;
+import seedu.darrenbot.tasks.TaskListener;
+
+/**
+ * Suggests completions for a partly typed command line.
+ * <p>
+ * What is suggested depends on where the caret is in the command: command words at the start,
+ * task descriptions after {@code find}, {@code todo} and similar commands, and event start and
+ * end times after {@code /from} and {@code /to}. After {@code mark}, {@code unmark} and
+ * {@code delete}, descriptions are suggested and accepting one fills in that task's index.
+ * </p>
+ *
+ * <p>Each kind of completion lives in its own {@link CompletionTrie}, so a lookup costs
+ * O(typed text) however many tasks there are. The tries are kept up to date as a
+ * {@link TaskListener}; command words are ranked by how often they have been used.</p>
+ *
+ * <p>Example usage:</p>
+ * <pre>
+ * Autocomplete completions = new Autocomplete(Parser.COMMAND_NAMES);
+ * completions.reset(tasks);
+ * tasks.addListener(completions);
+ * completions.suggest("find rea", 5);                    // ["read book"]
+ * completions.complete("mark rea", "read book", tasks); // "mark 3"
+ * </pre>
+ */
+public class Autocomplete implements TaskListener {
+    /** Most suggestions any lookup returns. */
+    public static final int MAX_SUGGESTIONS = 8;
+
+    private final CompletionTrie verbs = new CompletionTrie(MAX_SUGGESTIONS);
+    private CompletionTrie descriptions = new CompletionTrie(MAX_SUGGESTIONS);
+    private CompletionTrie endpoints = new CompletionTrie(MAX_SUGGESTIONS);
+    /** What was added to the tries for each task, so it can be taken out again after an edit. */
+    private Map<Task, String[]> indexed = new IdentityHashMap<>();
+
+    /**
+     * Constructs an autocomplete that knows the command words but no tasks yet.
+     *
+     * @param commandWords every command word, e.g. {@code list} and {@code find}
+     */
+    public Autocomplete(List<String> commandWords) {
+        for (String word : commandWords) {
+            verbs.add(word);
+        }
+    }
+
+    /**
+     * Forgets every task and indexes the tasks of the given list instead, e.g. after switching
+     * workspace. Command word usage is kept.
+     *
+     * @param tasks the list to index
+     */
+    public synchronized void reset(TaskList tasks) {
+        descriptions = new CompletionTrie(MAX_SUGGESTIONS);
+        endpoints = new CompletionTrie(MAX_SUGGESTIONS);
+        indexed = new IdentityHashMap<>();
+        for (Task t : tasks.snapshot()) {
+            index(t);
+        }
+    }
+
+    /**
+     * Counts one use of a command word, so frequently used commands are suggested first.
+     *
+     * @param word the command word, e.g. {@code find}
+     */
+    public synchronized void recordCommand(String word) {
+        if (verbs.count(word) > 0) {
+            verbs.add(word);
+        }
+    }
+
+    /**
+     * Returns completions for the text being typed at the end of {@code input}.
+     *
+     * @param input the command line typed so far
+     * @param limit the most suggestions to return
+     * @return the suggestions, best first; empty if there is nothing to complete
+     */
+    public synchronized List<String> suggest(String input, int limit) {
+        Slot slot = slotOf(input);
+        if (slot == null || (slot.kind == Kind.VERB && slot.stem.isEmpty())) {
+            return List.of();
+        }
+        CompletionTrie trie = switch (slot.kind) {
+        case VERB -> verbs;
+        case ENDPOINT -> endpoints;
+        default -> descriptions;
+        };
+        return trie.complete(slot.stem, limit + 1).stream()
+                .filter(s -> !s.equalsIgnoreCase(slot.stem))
+                .limit(limit)
+                .toList();
+    }
+
+    /**
+     * Returns {@code input} with the text being typed replaced by an accepted suggestion.
+     * <p>
+     * For {@code mark}, {@code unmark} and {@code delete}, the suggestion is a description and is
+     * replaced by the index of the first task with that description, preferring a task that the
+     * command would change.
+     * </p>
+     *
+     * @param input      the command line typed so far
+     * @param suggestion one of the suggestions returned by {@link #suggest(String, int)}
+     * @param tasks      the list the indices refer to
+     * @return the completed command line
+     */
+    public String complete(String input, String suggestion, TaskList tasks) {
+        Slot slot = slotOf(input);
+        if (slot == null) {
+            return input;
+        }
+        if (slot.kind != Kind.INDEX) {
+            return slot.head + suggestion;
+        }
+        int first = -1;
+        List<Task> all = tasks.snapshot();
+        for (int i = 0; i < all.size(); i++) {
+            Task t = all.get(i);
+            if (!t.getDescription().equalsIgnoreCase(suggestion)) {
+                continue;
+            }
+            if (first < 0) {
+                first = i;
+            }
+            if (slot.verb.equals("delete") || t.isDone() == slot.verb.equals("unmark")) {
+                return slot.head + i;
+            }
+        }
+        return first < 0 ? input : slot.head + first;
+    }
+
+    @Override
+    public synchronized void onAdded(Task t) {
+        index(t);
+    }
+
+    @Override
+    public synchronized void onRemoved(Task t) {
+        unindex(t);
+    }
+
+    @Override
+    public synchronized void onChanged(Task t) {
+        if (t instanceof Event) {
+            unindex(t);
+            index(t);
+        }
+    }
+
+    /* =========================
+     * Helpers (single concerns)
+     * ========================= */
+
+    private void index(Task t) {
+        String[] keys = t instanceof Event e
+                ? new String[] {t.getDescription(), e.getFrom(), e.getTo()}
+                : new String[] {t.getDescription()};
+        descriptions.add(keys[0]);
+        for (int i = 1; i < keys.length; i++) {
+            endpoints.add(keys[i]);
+        }
+        indexed.put(t, keys);
+    }
+
+    private void unindex(Task t) {
+        String[] keys = indexed.remove(t);
+        if (keys == null) {
+            return;
+        }
+        descriptions.remove(keys[0]);
+        for (int i = 1; i < keys.length; i++) {
+            endpoints.remove(keys[i]);
+        }
+    }
+
+    /** Works out what the end of {@code input} is, or returns {@code null} if it cannot be completed. */
+    private static Slot slotOf(String input) {
+        int start = input.lastIndexOf(';') + 1; // only the last command of a pipeline is being typed
+        while (start < input.length() && input.charAt(start) == ' ') {
+            start++;
+        }
+        int space = input.indexOf(' ', start);
+        if (space < 0) {
+            return new Slot(Kind.VERB, "", input.substring(0, start), input.substring(start));
+        }
+        String verb = input.substring(start, space);
+        int argStart = space + 1;
+        while (argStart < input.length() && input.charAt(argStart) == ' ') {
+            argStart++;
+        }
+        String arg = input.substring(argStart);
+        switch (verb) {
+        case "todo", "search", "find~":
+            return slot(Kind.DESCRIPTION, verb, input, argStart);
+        case "find":
+            while (arg.startsWith("--") && arg.indexOf(' ') > 0) {
+                argStart += arg.indexOf(' ') + 1;
+                arg = input.substring(argStart);
+            }
+            return slot(Kind.DESCRIPTION, verb, input, argStart);
+        case "deadline", "recur":
+            return arg.contains("/") ? null : slot(Kind.DESCRIPTION, verb, input, argStart);
+        case "event":
+            return eventSlot(input, argStart);
+        case "mark", "unmark", "delete":
+            return arg.isEmpty() || arg.matches("[\\d\\s,-]+") || arg.contains(":") || arg.contains("#")
+                    ? null
+                    : slot(Kind.INDEX, verb, input, argStart);
+        default:
+            return null;
+        }
+    }
+
+    /** Event times are completed after {@code /from} and {@code /to}, the description before them. */
+    private static Slot eventSlot(String input, int argStart) {
+        int to = input.lastIndexOf("/to ");
+        int from = input.lastIndexOf("/from ");
+        if (to > from) {
+            return slot(Kind.ENDPOINT, "event", input, to + "/to ".length());
+        }
+        if (from >= 0) {
+            return slot(Kind.ENDPOINT, "event", input, from + "/from ".length());
+        }
+        return slot(Kind.DESCRIPTION, "event", input, argStart);
+    }
+
+    private static Slot slot(Kind kind, String verb, String input, int stemStart) {
+        return new Slot(kind, verb, input.substring(0, stemStart), input.substring(stemStart));
+    }
+
+    private enum Kind {
+        VERB, DESCRIPTION, ENDPOINT, INDEX
+    }
+
+    /** The end of a command line being typed: {@code head} is kept and {@code stem} is completed. */
+    private record Slot(Kind kind, String verb, String head, String stem) {
+    }
+}
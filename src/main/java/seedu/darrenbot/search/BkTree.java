@@ -0,0 +1,140 @@
+package seedu.darrenbot.search;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A Burkhard-Keller tree of words under Levenshtein edit distance.
+ * <p>
+ * Each child edge is labelled with the distance between parent and child, so by the triangle
+ * inequality a search for words within distance {@code k} of a query only needs to descend into
+ * edges labelled {@code d - k .. d + k}, where {@code d} is the query's distance to the current
+ * node. This prunes most of the vocabulary instead of comparing the query against every word.
+ * </p>
+ *
+ * <p>Example usage:</p>
+ * <pre>
+ * BkTree tree = new BkTree();
+ * tree.add("deadline");
+ * tree.add("delete");
+ * tree.search("dedline", 1); // ["deadline"]
+ * </pre>
+ */
+public class BkTree {
+    private Node root;
+    private int size;
+
+    /**
+     * Adds a word to the tree. Adding a word that is already present has no effect.
+     *
+     * @param word the word to add
+     * @return {@code true} if the word was not present before
+     */
+    public boolean add(String word) {
+        if (root == null) {
+            root = new Node(word);
+            size++;
+            return true;
+        }
+        Node node = root;
+        while (true) {
+            int d = distance(word, node.word, Integer.MAX_VALUE);
+            if (d == 0) {
+                return false;
+            }
+            Node child = node.children.get(d);
+            if (child == null) {
+                node.children.put(d, new Node(word));
+                size++;
+                return true;
+            }
+            node = child;
+        }
+    }
+
+    /**
+     * Returns every word within {@code maxDistance} edits of {@code query}, closest first.
+     *
+     * @param query       the word to look up
+     * @param maxDistance the maximum number of insertions, deletions or substitutions
+     * @return the matching words
+     */
+    public List<String> search(String query, int maxDistance) {
+        List<List<String>> byDistance = new ArrayList<>();
+        for (int i = 0; i <= maxDistance; i++) {
+            byDistance.add(new ArrayList<>());
+        }
+        if (root != null) {
+            Deque<Node> stack = new ArrayDeque<>();
+            stack.push(root);
+            while (!stack.isEmpty()) {
+                Node node = stack.pop();
+                int d = distance(query, node.word, Integer.MAX_VALUE);
+                if (d <= maxDistance) {
+                    byDistance.get(d).add(node.word);
+                }
+                for (Map.Entry<Integer, Node> e : node.children.entrySet()) {
+                    if (e.getKey() >= d - maxDistance && e.getKey() <= d + maxDistance) {
+                        stack.push(e.getValue());
+                    }
+                }
+            }
+        }
+        List<String> out = new ArrayList<>();
+        byDistance.forEach(out::addAll);
+        return out;
+    }
+
+    public int getSize() {
+        return this.size;
+    }
+
+    /**
+     * Computes the Levenshtein distance between two words, giving up early once it exceeds {@code limit}.
+     *
+     * @param a     the first word
+     * @param b     the second word
+     * @param limit distances above this are reported as {@code limit + 1}
+     * @return the edit distance, capped at {@code limit + 1}
+     */
+    public static int distance(String a, String b, int limit) {
+        if (Math.abs(a.length() - b.length()) > limit) {
+            return limit + 1;
+        }
+        int[] prev = new int[b.length() + 1];
+        int[] curr = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            prev[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            curr[0] = i;
+            int rowMin = curr[0];
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                curr[j] = Math.min(Math.min(curr[j - 1] + 1, prev[j] + 1), prev[j - 1] + cost);
+                rowMin = Math.min(rowMin, curr[j]);
+            }
+            if (rowMin > limit) {
+                return limit + 1;
+            }
+            int[] tmp = prev;
+            prev = curr;
+            curr = tmp;
+        }
+        int d = prev[b.length()];
+        return d > limit ? limit + 1 : d;
+    }
+
+    private static final class Node {
+        private final String word;
+        private final Map<Integer, Node> children = new HashMap<>(4);
+
+        Node(String word) {
+            this.word = word;
+        }
+    }
+}
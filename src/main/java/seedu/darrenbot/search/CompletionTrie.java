@@ -0,0 +1,301 @@
+package seedu.darrenbot.search;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * A radix tree of phrases that returns the most frequent completions of a prefix.
+ * <p>
+ * Phrases are matched ignoring case and counted, so adding the same phrase twice makes it rank
+ * above a phrase added once. Chains of single-child nodes are collapsed into one edge, which
+ * keeps the tree small when it holds many long phrases.
+ * </p>
+ *
+ * <p>Every node caches the best few phrases below it. A lookup therefore only walks down the
+ * prefix, O(prefix length), however many phrases share it. Adding a phrase updates the caches
+ * on its path in place; removing one recomputes them along the path from the children's
+ * caches.</p>
+ *
+ * <p>Example usage:</p>
+ * <pre>
+ * CompletionTrie trie = new CompletionTrie(5);
+ * trie.add("read book");
+ * trie.add("return library book");
+ * trie.complete("re", 5); // ["read book", "return library book"]
+ * </pre>
+ */
+public class CompletionTrie {
+    /** Higher counts first, then alphabetical, so suggestions are stable. */
+    private static final Comparator<Node> RANK = Comparator.comparingInt((Node n) -> -n.count)
+            .thenComparing(n -> n.key);
+
+    private final int maxSuggestions;
+    private final Node root = new Node("", null);
+    private int size;
+
+    /**
+     * Constructs an empty trie.
+     *
+     * @param maxSuggestions the most completions any lookup can return
+     */
+    public CompletionTrie(int maxSuggestions) {
+        assert maxSuggestions > 0 : "A trie that suggests nothing is useless";
+        this.maxSuggestions = maxSuggestions;
+    }
+
+    /**
+     * Adds one occurrence of a phrase.
+     *
+     * @param phrase the phrase; the spelling first added is the one suggested
+     */
+    public void add(String phrase) {
+        add(phrase, 1);
+    }
+
+    /**
+     * Adds several occurrences of a phrase at once.
+     *
+     * @param phrase the phrase; the spelling first added is the one suggested
+     * @param times  how many occurrences to add
+     */
+    public void add(String phrase, int times) {
+        String key = phrase.toLowerCase(Locale.ROOT);
+        Node node = root;
+        int i = 0;
+        while (i < key.length()) {
+            Node child = node.child(key.charAt(i));
+            if (child == null) {
+                child = new Node(key.substring(i), node);
+                node.adopt(child);
+                node = child;
+                break;
+            }
+            int common = commonPrefix(child.edge, key, i);
+            if (common < child.edge.length()) {
+                child = split(child, common);
+            }
+            node = child;
+            i += common;
+        }
+        if (node.count == 0) {
+            node.phrase = phrase;
+            node.key = key;
+            size++;
+        }
+        node.count += times;
+        for (Node n = node; n != null; n = n.parent) {
+            promote(n, node);
+        }
+    }
+
+    /**
+     * Removes one occurrence of a phrase.
+     *
+     * @param phrase the phrase, in any case
+     * @return {@code true} if the phrase was present
+     */
+    public boolean remove(String phrase) {
+        Node node = find(phrase.toLowerCase(Locale.ROOT));
+        if (node == null || node.count == 0) {
+            return false;
+        }
+        node.count--;
+        Node start = node;
+        if (node.count == 0) {
+            size--;
+            node.phrase = null;
+            node.key = null;
+            start = prune(node);
+        }
+        for (Node n = start; n != null; n = n.parent) {
+            rerank(n);
+        }
+        return true;
+    }
+
+    /**
+     * Returns how many occurrences of a phrase have been added and not removed.
+     *
+     * @param phrase the phrase, in any case
+     * @return the count, or 0 if it is absent
+     */
+    public int count(String phrase) {
+        Node node = find(phrase.toLowerCase(Locale.ROOT));
+        return node == null ? 0 : node.count;
+    }
+
+    /**
+     * Returns the most frequent phrases starting with {@code prefix}, ignoring case.
+     *
+     * @param prefix the text typed so far; an empty prefix matches every phrase
+     * @param limit  the most phrases to return; at most the trie's {@code maxSuggestions}
+     * @return the phrases, most frequent first
+     */
+    public List<String> complete(String prefix, int limit) {
+        String key = prefix.toLowerCase(Locale.ROOT);
+        Node node = root;
+        int i = 0;
+        while (i < key.length()) {
+            Node child = node.child(key.charAt(i));
+            if (child == null) {
+                return List.of();
+            }
+            int common = commonPrefix(child.edge, key, i);
+            if (i + common < key.length() && common < child.edge.length()) {
+                return List.of();
+            }
+            node = child;
+            i += common;
+        }
+        List<String> found = new ArrayList<>(Math.min(limit, node.top.size()));
+        for (int k = 0; k < node.top.size() && k < limit; k++) {
+            found.add(node.top.get(k).phrase);
+        }
+        return found;
+    }
+
+    /**
+     * Returns the number of distinct phrases in the trie.
+     *
+     * @return the phrase count
+     */
+    public int size() {
+        return size;
+    }
+
+    /* =========================
+     * Helpers (single concerns)
+     * ========================= */
+
+    private Node find(String key) {
+        Node node = root;
+        int i = 0;
+        while (i < key.length()) {
+            Node child = node.child(key.charAt(i));
+            if (child == null || !key.startsWith(child.edge, i)) {
+                return null;
+            }
+            node = child;
+            i += child.edge.length();
+        }
+        return node;
+    }
+
+    /** Splits {@code node}'s edge after {@code at} characters and returns the new upper node. */
+    private static Node split(Node node, int at) {
+        Node upper = new Node(node.edge.substring(0, at), node.parent);
+        upper.top = new ArrayList<>(node.top); // same phrases below it
+        node.parent.adopt(upper);
+        node.edge = node.edge.substring(at);
+        node.parent = upper;
+        upper.adopt(node);
+        return upper;
+    }
+
+    /**
+     * Drops an emptied node, or merges it into its only child, and returns the lowest node whose
+     * cached phrases may now be out of date.
+     */
+    private Node prune(Node node) {
+        if (node == root) {
+            return node;
+        }
+        Node parent = node.parent;
+        if (node.children == null || node.children.isEmpty()) {
+            parent.children.remove(node.edge.charAt(0));
+            if (parent != root && parent.count == 0 && parent.children.size() == 1) {
+                mergeWithOnlyChild(parent);
+                return parent.parent;
+            }
+            return parent;
+        }
+        if (node.children.size() == 1) {
+            mergeWithOnlyChild(node);
+            return parent;
+        }
+        return node;
+    }
+
+    private static void mergeWithOnlyChild(Node node) {
+        Node child = node.children.values().iterator().next();
+        child.edge = node.edge + child.edge;
+        child.parent = node.parent;
+        node.parent.adopt(child);
+    }
+
+    /** Moves {@code term}, whose count just grew, into its place in {@code n}'s cached phrases. */
+    private void promote(Node n, Node term) {
+        List<Node> top = n.top;
+        int at = top.indexOf(term);
+        if (at < 0) {
+            if (top.size() < maxSuggestions) {
+                top.add(term);
+            } else if (RANK.compare(term, top.get(top.size() - 1)) < 0) {
+                top.set(top.size() - 1, term);
+            } else {
+                return;
+            }
+            at = top.size() - 1;
+        }
+        while (at > 0 && RANK.compare(top.get(at), top.get(at - 1)) < 0) {
+            top.set(at, top.get(at - 1));
+            top.set(at - 1, term);
+            at--;
+        }
+    }
+
+    /** Recomputes {@code n}'s cached phrases from its own phrase and its children's caches. */
+    private void rerank(Node n) {
+        List<Node> candidates = new ArrayList<>();
+        if (n.count > 0) {
+            candidates.add(n);
+        }
+        if (n.children != null) {
+            for (Node child : n.children.values()) {
+                candidates.addAll(child.top);
+            }
+        }
+        candidates.sort(RANK);
+        n.top = new ArrayList<>(candidates.subList(0, Math.min(maxSuggestions, candidates.size())));
+    }
+
+    private static int commonPrefix(String edge, String key, int from) {
+        int j = 0;
+        while (j < edge.length() && from + j < key.length() && edge.charAt(j) == key.charAt(from + j)) {
+            j++;
+        }
+        return j;
+    }
+
+    private static final class Node {
+        private String edge;
+        private Node parent;
+        private Map<Character, Node> children;
+        /** Occurrences of the phrase ending here; 0 if none does. */
+        private int count;
+        private String phrase;
+        private String key;
+        /** The best phrases at or below this node, best first. */
+        private List<Node> top = new ArrayList<>(1);
+
+        Node(String edge, Node parent) {
+            this.edge = edge;
+            this.parent = parent;
+        }
+
+        Node child(char c) {
+            return children == null ? null : children.get(c);
+        }
+
+        void adopt(Node child) {
+            if (children == null) {
+                children = new HashMap<>(4);
+            }
+            children.put(child.edge.charAt(0), child);
+        }
+    }
+}
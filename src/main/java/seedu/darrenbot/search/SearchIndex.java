@@ -0,0 +1,404 @@
+package seedu.darrenbot.search;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+import seedu.darrenbot.tasks.Event;
+import seedu.darrenbot.tasks.Task;
+import seedu.darrenbot.tasks.TaskList;
+import seedu.darrenbot.tasks.TaskListener;
+
+/**
+ * An in-memory inverted index over task text, ranked with Okapi BM25.
+ * <p>
+ * Every task is a document made of its description and, for events, its start and end text.
+ * The index keeps one posting map (document to term frequency) per term and is updated
+ * incrementally as a {@link TaskListener}, so adding, removing or editing a task only touches
+ * that task's terms. Queries score only documents that contain a query term and keep the best
+ * {@code k} in a bounded heap rather than sorting every match.
+ * </p>
+ *
+ * <p>The index can be saved next to the data file and reloaded on the next start, as long
+ * as the data file has not changed in the meantime.</p>
+ *
+ * <p>Example usage:</p>
+ * <pre>
+ * SearchIndex index = SearchIndex.build(tasks);
+ * tasks.addListener(index);
+ * List&lt;Task&gt; best = index.search("project report", 10);
+ * </pre>
+ */
+public class SearchIndex implements TaskListener {
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final int MAGIC = 0x44424958; // "DBIX"
+    private static final int VERSION = 1;
+    private static final int FUZZY_REBUILD_SLACK = 1024;
+
+    /** term -> (docId -> term frequency). */
+    private final Map<String, Map<Integer, Integer>> postings = new HashMap<>();
+    /** docId -> (term -> term frequency), used to undo a document's postings. */
+    private final Map<Integer, Map<String, Integer>> forward = new HashMap<>();
+    private final Map<Integer, Task> docs = new HashMap<>();
+    private final Map<Task, Integer> docIds = new IdentityHashMap<>();
+    private final Map<Integer, Integer> docLengths = new HashMap<>();
+    /** The list this index follows, whose order settles ties between equally scored tasks. */
+    private final TaskList tasks;
+    /** Vocabulary for fuzzy lookups; may still hold terms that have since left the index. */
+    private BkTree fuzzyTerms = new BkTree();
+    private int nextDocId;
+    private long totalLength;
+
+    private SearchIndex(TaskList tasks) {
+        this.tasks = tasks;
+    }
+
+    /**
+     * Builds an index over every task in the list.
+     *
+     * @param tasks the tasks to index
+     * @return the index
+     */
+    public static SearchIndex build(TaskList tasks) {
+        SearchIndex index = new SearchIndex(tasks);
+        for (Task t : tasks.all()) {
+            index.onAdded(t);
+        }
+        return index;
+    }
+
+    /**
+     * Loads a saved index if it still matches the data file, and builds a fresh one otherwise.
+     *
+     * @param indexFile the saved index
+     * @param dataFile  the data file the tasks were loaded from
+     * @param tasks     the tasks loaded from {@code dataFile}
+     * @return the index
+     */
+    public static SearchIndex loadOrBuild(Path indexFile, Path dataFile, TaskList tasks) {
+        try {
+            if (Files.exists(indexFile)) {
+                SearchIndex loaded = load(indexFile, dataFile, tasks);
+                if (loaded != null) {
+                    return loaded;
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            // A stale or damaged index is only a cache: fall through and rebuild it.
+        }
+        return build(tasks);
+    }
+
+    /**
+     * Returns the {@code k} tasks that best match the query, best first. Tasks that score equally
+     * keep their list order.
+     *
+     * @param query free text; each word is a query term
+     * @param k     the maximum number of results
+     * @return the best matching tasks
+     */
+    public List<Task> search(String query, int k) {
+        Map<Integer, Double> scores = new HashMap<>();
+        int n = docs.size();
+        double avgLength = n == 0 ? 0 : (double) totalLength / n;
+        for (String term : tokenize(query)) {
+            Map<Integer, Integer> posting = postings.get(term);
+            if (posting == null) {
+                continue;
+            }
+            int df = posting.size();
+            double idf = Math.log(1 + (n - df + 0.5) / (df + 0.5));
+            for (Map.Entry<Integer, Integer> e : posting.entrySet()) {
+                int tf = e.getValue();
+                double norm = K1 * (1 - B + B * docLengths.get(e.getKey()) / avgLength);
+                scores.merge(e.getKey(), idf * tf * (K1 + 1) / (tf + norm), Double::sum);
+            }
+        }
+
+        // Scores come out in hash order, so list position settles ties explicitly.
+        Comparator<Map.Entry<Integer, Double>> order = Map.Entry.<Integer, Double>comparingByValue().reversed()
+                .thenComparingInt(e -> tasks.indexOf(docs.get(e.getKey())));
+        // Max-heap on the result order: the root is the weakest result kept.
+        PriorityQueue<Map.Entry<Integer, Double>> heap = new PriorityQueue<>(order.reversed());
+        for (Map.Entry<Integer, Double> e : scores.entrySet()) {
+            if (heap.size() < k) {
+                heap.add(e);
+            } else if (k > 0 && order.compare(e, heap.peek()) < 0) {
+                heap.poll();
+                heap.add(e);
+            }
+        }
+        List<Task> best = new ArrayList<>(heap.size());
+        while (!heap.isEmpty()) {
+            best.add(docs.get(heap.poll().getKey()));
+        }
+        Collections.reverse(best);
+        return best;
+    }
+
+    /**
+     * Returns the tasks containing a term within {@code maxDistance} edits of any word in {@code query}.
+     * <p>
+     * Candidate terms come from a {@link BkTree} over the vocabulary, so only a small part of the
+     * vocabulary is compared against the query.
+     * </p>
+     *
+     * @param query       the (possibly misspelled) words to look up
+     * @param maxDistance the maximum edit distance per word
+     * @return the matching tasks, tasks with closer terms first
+     */
+    public List<Task> fuzzySearch(String query, int maxDistance) {
+        Set<Integer> seen = new LinkedHashSet<>();
+        for (String word : tokenize(query)) {
+            for (String term : fuzzyTerms.search(word, maxDistance)) {
+                Map<Integer, Integer> posting = postings.get(term);
+                if (posting != null) {
+                    seen.addAll(posting.keySet());
+                }
+            }
+        }
+        List<Task> out = new ArrayList<>(seen.size());
+        for (Integer docId : seen) {
+            out.add(docs.get(docId));
+        }
+        return out;
+    }
+
+    public int getDocumentCount() {
+        return docs.size();
+    }
+
+    @Override
+    public void onAdded(Task t) {
+        int docId = nextDocId++;
+        docIds.put(t, docId);
+        docs.put(docId, t);
+        indexDocument(docId, termFrequencies(t));
+    }
+
+    @Override
+    public void onRemoved(Task t) {
+        Integer docId = docIds.remove(t);
+        if (docId != null) {
+            unindexDocument(docId);
+            docs.remove(docId);
+        }
+    }
+
+    @Override
+    public void onChanged(Task t) {
+        Integer docId = docIds.get(t);
+        if (docId == null) {
+            onAdded(t);
+            return;
+        }
+        Map<String, Integer> tfs = termFrequencies(t);
+        if (!tfs.equals(forward.get(docId))) {
+            unindexDocument(docId);
+            indexDocument(docId, tfs);
+        }
+    }
+
+    /**
+     * Saves the index, stamped with the size and modification time {@code dataFile} has now; see
+     * {@link #save(Path, long, long, TaskList)}. Use this only when {@code tasks} is known to match
+     * the file as it is now.
+     *
+     * @param indexFile where to write the index
+     * @param dataFile  the data file {@code tasks} is persisted in
+     * @param tasks     the indexed tasks, in their current order
+     * @throws IOException if the index cannot be written
+     */
+    public void save(Path indexFile, Path dataFile, TaskList tasks) throws IOException {
+        save(indexFile, Files.size(dataFile), Files.getLastModifiedTime(dataFile).toMillis(), tasks);
+    }
+
+    /**
+     * Saves the index so it can be reloaded without re-tokenizing every task.
+     * <p>
+     * Documents are written by their position in {@code tasks}, and the file is stamped with the
+     * size and modification time the data file had when {@code tasks} last matched it, so an
+     * index of an older version of the file is detected on load. If the index has fallen out of
+     * step with the list, e.g. it still holds a task that was replaced without it hearing, a fresh
+     * index of {@code tasks} is saved instead.
+     * </p>
+     *
+     * @param indexFile    where to write the index
+     * @param dataSize     the size of the data file when {@code tasks} last matched it
+     * @param dataModified its modification time then, in milliseconds since the epoch
+     * @param tasks        the indexed tasks, in their current order
+     * @throws IOException if the index cannot be written
+     */
+    public void save(Path indexFile, long dataSize, long dataModified, TaskList tasks) throws IOException {
+        List<Task> all = tasks.snapshot();
+        Map<Integer, Integer> positionOf = positionsIn(all);
+        if (positionOf.size() == all.size() && docs.size() == all.size()) {
+            write(indexFile, dataSize, dataModified, all, positionOf);
+        } else {
+            SearchIndex fresh = build(tasks);
+            fresh.write(indexFile, dataSize, dataModified, all, fresh.positionsIn(all));
+        }
+    }
+
+    /** Maps the docId of each indexed task in {@code all} to its position there. */
+    private Map<Integer, Integer> positionsIn(List<Task> all) {
+        Map<Integer, Integer> positionOf = new HashMap<>();
+        for (int i = 0; i < all.size(); i++) {
+            Integer docId = docIds.get(all.get(i));
+            if (docId != null) {
+                positionOf.put(docId, i);
+            }
+        }
+        return positionOf;
+    }
+
+    /** Writes the postings of the documents in {@code positionOf}, skipping any other. */
+    private void write(Path indexFile, long dataSize, long dataModified, List<Task> all,
+            Map<Integer, Integer> positionOf) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(indexFile)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(dataSize);
+            out.writeLong(dataModified);
+            out.writeInt(all.size());
+            out.writeInt(postings.size());
+            for (Map.Entry<String, Map<Integer, Integer>> term : postings.entrySet()) {
+                List<int[]> kept = new ArrayList<>(term.getValue().size());
+                for (Map.Entry<Integer, Integer> p : term.getValue().entrySet()) {
+                    Integer position = positionOf.get(p.getKey());
+                    if (position != null) {
+                        kept.add(new int[] {position, p.getValue()});
+                    }
+                }
+                out.writeUTF(term.getKey());
+                out.writeInt(kept.size());
+                for (int[] p : kept) {
+                    out.writeInt(p[0]);
+                    out.writeInt(p[1]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Splits text into lowercase alphanumeric terms.
+     *
+     * @param text the text to split
+     * @return the terms, in order, including duplicates
+     */
+    public static List<String> tokenize(String text) {
+        List<String> terms = new ArrayList<>();
+        for (String raw : text.toLowerCase().split("[^\\p{L}\\p{N}]+")) {
+            if (!raw.isEmpty()) {
+                terms.add(raw);
+            }
+        }
+        return terms;
+    }
+
+    /* =========================
+     * Helpers (single concerns)
+     * ========================= */
+
+    private static SearchIndex load(Path indexFile, Path dataFile, TaskList tasks) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(indexFile)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION
+                    || in.readLong() != Files.size(dataFile)
+                    || in.readLong() != Files.getLastModifiedTime(dataFile).toMillis()
+                    || in.readInt() != tasks.size()) {
+                return null;
+            }
+            SearchIndex index = new SearchIndex(tasks);
+            for (int i = 0; i < tasks.size(); i++) {
+                Task t = tasks.get(i);
+                index.docIds.put(t, i);
+                index.docs.put(i, t);
+                index.forward.put(i, new HashMap<>());
+                index.docLengths.put(i, 0);
+            }
+            index.nextDocId = tasks.size();
+            int termCount = in.readInt();
+            for (int i = 0; i < termCount; i++) {
+                String term = in.readUTF();
+                int df = in.readInt();
+                Map<Integer, Integer> posting = new HashMap<>(df * 2);
+                for (int j = 0; j < df; j++) {
+                    int docId = in.readInt();
+                    int tf = in.readInt();
+                    posting.put(docId, tf);
+                    index.forward.get(docId).put(term, tf);
+                    index.docLengths.merge(docId, tf, Integer::sum);
+                    index.totalLength += tf;
+                }
+                index.postings.put(term, posting);
+                index.fuzzyTerms.add(term);
+            }
+            return index;
+        }
+    }
+
+    private static Map<String, Integer> termFrequencies(Task t) {
+        String text = t.getDescription();
+        if (t instanceof Event e) {
+            text += " " + e.getFrom() + " " + e.getTo();
+        }
+        Map<String, Integer> tfs = new LinkedHashMap<>();
+        for (String term : tokenize(text)) {
+            tfs.merge(term, 1, Integer::sum);
+        }
+        return tfs;
+    }
+
+    private void indexDocument(int docId, Map<String, Integer> tfs) {
+        int length = 0;
+        for (Map.Entry<String, Integer> e : tfs.entrySet()) {
+            Map<Integer, Integer> posting = postings.get(e.getKey());
+            if (posting == null) {
+                posting = new HashMap<>();
+                postings.put(e.getKey(), posting);
+                fuzzyTerms.add(e.getKey());
+            }
+            posting.put(docId, e.getValue());
+            length += e.getValue();
+        }
+        forward.put(docId, tfs);
+        docLengths.put(docId, length);
+        totalLength += length;
+    }
+
+    private void unindexDocument(int docId) {
+        Map<String, Integer> tfs = forward.remove(docId);
+        if (tfs == null) {
+            return;
+        }
+        for (String term : tfs.keySet()) {
+            Map<Integer, Integer> posting = postings.get(term);
+            posting.remove(docId);
+            if (posting.isEmpty()) {
+                postings.remove(term);
+            }
+        }
+        if (fuzzyTerms.getSize() > 2 * postings.size() + FUZZY_REBUILD_SLACK) {
+            // BK-trees cannot delete, so drop dead terms once they outnumber the live ones.
+            fuzzyTerms = new BkTree();
+            postings.keySet().forEach(fuzzyTerms::add);
+        }
+        totalLength -= docLengths.remove(docId);
+    }
+}
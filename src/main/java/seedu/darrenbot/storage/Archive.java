@@ -0,0 +1,289 @@
+package seedu.darrenbot.storage;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+import seedu.darrenbot.tasks.Recurring;
+import seedu.darrenbot.tasks.Task;
+import seedu.darrenbot.tasks.TaskList;
+
+/**
+ * Cold storage for tasks that were completed a long time ago.
+ * <p>
+ * Each archiving run moves the done tasks older than the age threshold out of the live
+ * {@link TaskList} into a new segment file. Segments are written once and never changed. A
+ * segment holds a small uncompressed summary followed by its records, Deflate-compressed. The
+ * summary records the number of tasks and a filter of every three-character sequence in the
+ * tasks' text.
+ * </p>
+ *
+ * <p>Archived tasks are only read by {@link #search(String)}. A segment is decompressed only
+ * if its filter contains every three-character sequence of the search text, so most segments
+ * are skipped after reading their summary alone.</p>
+ *
+ * <p>Example usage:</p>
+ * <pre>
+ * Archive archive = new Archive(Path.of("data/duke.archive"), Archive.DEFAULT_AGE_DAYS);
+ * archive.archiveDone(tasks, LocalDate.now()); // then persist the shorter list
+ * List&lt;Task&gt; old = archive.search("report");
+ * </pre>
+ */
+public class Archive {
+    /** Tasks completed more than this many days ago are archived by default. */
+    public static final int DEFAULT_AGE_DAYS = 30;
+
+    private static final int MAGIC = 0x44424152; // "DBAR"
+    private static final int VERSION = 1;
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".dfl";
+    private static final int GRAM = 3;
+    /**
+     * Filter bits per three-character sequence. Every sequence of the search text must hit a set
+     * bit, so wasted reads become rare as the search text gets longer.
+     */
+    private static final int BITS_PER_GRAM = 8;
+    private static final int MIN_FILTER_WORDS = 16;
+
+    private final Path dir;
+    private final int ageDays;
+    private List<Summary> summaries;
+    private int lastScanned;
+
+    /**
+     * Constructs an archive kept in the given directory.
+     *
+     * @param dir     the directory holding the segment files; created on first use
+     * @param ageDays done tasks completed more than this many days ago are archived
+     */
+    public Archive(Path dir, int ageDays) {
+        this.dir = dir;
+        this.ageDays = ageDays;
+    }
+
+    /**
+     * Moves the done tasks completed more than the age threshold before {@code today} into a new
+     * segment and removes them from {@code tasks}.
+     * <p>
+     * The segment is safely on disk before the tasks are removed; the caller then persists the
+     * shorter list. Tasks whose completion day is unknown are never archived, nor are recurring
+     * tasks, whose later occurrences are still to come.
+     * </p>
+     *
+     * @param tasks the live task list
+     * @param today the current day
+     * @return the archived tasks, in list order
+     * @throws IOException if the segment cannot be written; the list is then unchanged
+     */
+    public synchronized List<Task> archiveDone(TaskList tasks, LocalDate today) throws IOException {
+        LocalDate cutoff = today.minusDays(ageDays);
+        List<Task> old = new ArrayList<>();
+        for (Task t : tasks.snapshot()) {
+            if (!(t instanceof Recurring) && t.getDoneOn() != null && t.getDoneOn().isBefore(cutoff)) {
+                old.add(t);
+            }
+        }
+        if (old.isEmpty()) {
+            return old;
+        }
+        writeSegment(old);
+        Set<Task> moved = Collections.newSetFromMap(new IdentityHashMap<>());
+        moved.addAll(old);
+        tasks.removeWhere((i, t) -> moved.contains(t));
+        return old;
+    }
+
+    /**
+     * Returns the archived tasks whose text contains {@code needle}, ignoring case.
+     *
+     * @param needle the text to look for
+     * @return the matching tasks, oldest segment first
+     * @throws IOException if a segment cannot be read
+     */
+    public synchronized List<Task> search(String needle) throws IOException {
+        String lower = needle.toLowerCase(Locale.ROOT);
+        long[] grams = gramsOf(lower);
+        List<Task> found = new ArrayList<>();
+        lastScanned = 0;
+        for (Summary s : summaries()) {
+            if (!s.mayContain(grams)) {
+                continue;
+            }
+            lastScanned++;
+            for (Task t : readSegment(s.path)) {
+                if (t.toString().toLowerCase(Locale.ROOT).contains(lower)) {
+                    found.add(t);
+                }
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Returns the number of segments in this archive.
+     *
+     * @return the segment count
+     * @throws IOException if the archive directory cannot be read
+     */
+    public synchronized int getSegmentCount() throws IOException {
+        return summaries().size();
+    }
+
+    /**
+     * Returns the number of archived tasks across all segments, from their summaries alone.
+     *
+     * @return the archived task count
+     * @throws IOException if the archive directory cannot be read
+     */
+    public synchronized long getTaskCount() throws IOException {
+        return summaries().stream().mapToLong(s -> s.count).sum();
+    }
+
+    /** Number of segments the last {@link #search(String)} had to decompress. */
+    int getLastScanned() {
+        return lastScanned;
+    }
+
+    /* =========================
+     * Segments
+     * ========================= */
+
+    private void writeSegment(List<Task> old) throws IOException {
+        List<Summary> known = summaries();
+        Files.createDirectories(dir);
+        Path target = dir.resolve(String.format("%s%06d%s", SEGMENT_PREFIX, known.size() + 1, SEGMENT_SUFFIX));
+
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        int gramCount = 0;
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        try (DeflaterOutputStream z = new DeflaterOutputStream(body, deflater)) {
+            for (Task t : old) {
+                String record = RecordFrame.encode(TaskList.toStorageLine(t)) + "\n";
+                z.write(record.getBytes(StandardCharsets.UTF_8));
+                gramCount += Math.max(0, t.toString().length() - GRAM + 1);
+            }
+        } finally {
+            deflater.end();
+        }
+        int words = Integer.highestOneBit(Math.max(1, gramCount * BITS_PER_GRAM / Long.SIZE)) * 2;
+        long[] filter = new long[Math.max(MIN_FILTER_WORDS, words)];
+        for (Task t : old) {
+            for (long g : gramsOf(t.toString().toLowerCase(Locale.ROOT))) {
+                setBit(filter, g);
+            }
+        }
+        Summary summary = new Summary(target, old.size(), filter);
+
+        ByteArrayOutputStream file = new ByteArrayOutputStream(body.size() + filter.length * Long.BYTES + 64);
+        try (DataOutputStream out = new DataOutputStream(file)) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(summary.count);
+            out.writeInt(filter.length);
+            for (long word : filter) {
+                out.writeLong(word);
+            }
+            body.writeTo(out);
+        }
+        Path tmp = target.resolveSibling(target.getFileName() + ".tmp");
+        Files.write(tmp, file.toByteArray());
+        try (FileChannel ch = FileChannel.open(tmp, StandardOpenOption.WRITE)) {
+            ch.force(true);
+        }
+        Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE);
+        known.add(summary);
+    }
+
+    private List<Task> readSegment(Path segment) throws IOException {
+        try (DataInputStream in = new DataInputStream(Files.newInputStream(segment))) {
+            readSummary(segment, in);
+            try (InputStream z = new InflaterInputStream(in)) {
+                return Storage.decodeRecords(z.readAllBytes());
+            }
+        }
+    }
+
+    private List<Summary> summaries() throws IOException {
+        if (summaries != null) {
+            return summaries;
+        }
+        List<Path> segments = new ArrayList<>();
+        if (Files.isDirectory(dir)) {
+            try (DirectoryStream<Path> ds = Files.newDirectoryStream(dir, SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) {
+                ds.forEach(segments::add);
+            }
+        }
+        Collections.sort(segments);
+        summaries = new ArrayList<>();
+        for (Path segment : segments) {
+            try (DataInputStream in = new DataInputStream(Files.newInputStream(segment))) {
+                summaries.add(readSummary(segment, in));
+            }
+        }
+        return summaries;
+    }
+
+    private static Summary readSummary(Path segment, DataInputStream in) throws IOException {
+        if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+            throw new IOException("Not an archive segment: " + segment);
+        }
+        int count = in.readInt();
+        long[] filter = new long[in.readInt()];
+        for (int i = 0; i < filter.length; i++) {
+            filter[i] = in.readLong();
+        }
+        return new Summary(segment, count, filter);
+    }
+
+    /* =========================
+     * Helpers (single concerns)
+     * ========================= */
+
+    /** Hashes every three-character sequence of {@code text}; shorter text yields none. */
+    private static long[] gramsOf(String text) {
+        long[] grams = new long[Math.max(0, text.length() - GRAM + 1)];
+        for (int i = 0; i < grams.length; i++) {
+            long h = ((long) text.charAt(i) << 32) ^ ((long) text.charAt(i + 1) << 16) ^ text.charAt(i + 2);
+            h *= 0x9E3779B97F4A7C15L; // spread the bits before they are masked
+            grams[i] = h ^ (h >>> 29);
+        }
+        return grams;
+    }
+
+    private static void setBit(long[] filter, long gram) {
+        int bit = (int) Math.floorMod(gram, (long) filter.length * Long.SIZE);
+        filter[bit >>> 6] |= 1L << bit;
+    }
+
+    /** The uncompressed head of a segment. */
+    private record Summary(Path path, int count, long[] filter) {
+        boolean mayContain(long[] grams) {
+            for (long g : grams) {
+                int bit = (int) Math.floorMod(g, (long) filter.length * Long.SIZE);
+                if ((filter[bit >>> 6] & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
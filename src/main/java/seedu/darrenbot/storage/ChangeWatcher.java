@@ -0,0 +1,97 @@
+package seedu.darrenbot.storage;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Set;
+
+/**
+ * Watches a shard for writes by other processes and reports them as they happen.
+ * <p>
+ * A daemon thread waits on a {@link WatchService} for the data directory, so nothing is polled
+ * while the files are quiet. Events on the shard and its journal that arrive close together,
+ * such as an append followed by a status patch, are reported once. The callback usually calls
+ * {@link Storage#sync}, which finds nothing to do when the write was this process's own.
+ * </p>
+ *
+ * <p>Example usage:</p>
+ * <pre>
+ * ChangeWatcher watcher = ChangeWatcher.start(storage, this::reloadTasks);
+ * ...
+ * watcher.close();
+ * </pre>
+ */
+public class ChangeWatcher implements Closeable {
+    /** Events arriving within this long of the first are handled together. */
+    private static final long SETTLE_MILLIS = 50;
+
+    private final WatchService service;
+    private final Set<Path> names;
+    private final Runnable onChange;
+
+    private ChangeWatcher(WatchService service, Set<Path> names, Runnable onChange) {
+        this.service = service;
+        this.names = names;
+        this.onChange = onChange;
+    }
+
+    /**
+     * Starts watching the shard of the given storage and its journal.
+     *
+     * @param storage  the storage whose files to watch
+     * @param onChange run on the watcher thread after the files change
+     * @return the running watcher
+     * @throws IOException if the data directory cannot be watched
+     */
+    public static ChangeWatcher start(Storage storage, Runnable onChange) throws IOException {
+        Path journal = storage.getJournalPath().toAbsolutePath();
+        Path dir = journal.getParent();
+        WatchService service = dir.getFileSystem().newWatchService();
+        try {
+            dir.register(service, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+        } catch (IOException | RuntimeException e) {
+            service.close();
+            throw e;
+        }
+        Set<Path> names = Set.of(storage.getPath().getFileName(), journal.getFileName());
+        ChangeWatcher watcher = new ChangeWatcher(service, names, onChange);
+        Thread th = new Thread(watcher::run, "darrenbot-watcher");
+        th.setDaemon(true);
+        th.start();
+        return watcher;
+    }
+
+    /**
+     * Stops watching; the callback is not run again.
+     */
+    @Override
+    public void close() throws IOException {
+        service.close();
+    }
+
+    private void run() {
+        try {
+            while (true) {
+                WatchKey key = service.take();
+                Thread.sleep(SETTLE_MILLIS);
+                boolean isRelevant = false;
+                for (WatchEvent<?> e : key.pollEvents()) {
+                    isRelevant |= e.kind() == StandardWatchEventKinds.OVERFLOW || names.contains((Path) e.context());
+                }
+                if (!key.reset()) {
+                    return; // the directory is gone
+                }
+                if (isRelevant) {
+                    onChange.run();
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // closed
+        }
+    }
+}
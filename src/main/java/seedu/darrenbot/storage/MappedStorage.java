@@ -0,0 +1,617 @@
+package seedu.darrenbot.storage;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+import seedu.darrenbot.monitor.StorageEvent;
+import seedu.darrenbot.tasks.Deadline;
+import seedu.darrenbot.tasks.Event;
+import seedu.darrenbot.tasks.Priority;
+import seedu.darrenbot.tasks.Recurring;
+import seedu.darrenbot.tasks.Task;
+import seedu.darrenbot.tasks.TaskList;
+import seedu.darrenbot.tasks.Todo;
+
+/**
+ * A {@link Storage} that keeps tasks in a memory-mapped file of fixed-size records.
+ * <p>
+ * The record file ({@code <shard>.dat}, next to the text shard) is the source of truth. Each task
+ * starts in a {@value #RECORD_SIZE}-byte slot at a fixed offset, so loading decodes binary
+ * fields without any text parsing, and adding a task writes its slots straight into the
+ * mapping. Every write is followed by {@link MappedByteBuffer#force()} for durability.
+ * </p>
+ *
+ * <p>Text that does not fit in the first slot continues in the slots right after it, each
+ * marked as a continuation, so only unusually long tasks take more than one slot. Every task is
+ * encoded before anything is written, so a task that cannot be stored (a field over
+ * {@value #MAX_FIELD} bytes) is rejected without changing the file.</p>
+ *
+ * <p>The first time a workspace is opened with this engine, its text shard is imported into a
+ * temporary file that is moved into place only once it is complete, so a failed import leaves
+ * no record file behind and is simply retried on the next start. Afterwards the text shard is
+ * left untouched. It only marks that the workspace exists.</p>
+ *
+ * <p>Several processes may share the record file. Each write holds the shard's {@link #lock()}
+ * and bumps a generation number in the header, so {@link #sync(TaskList)} can tell from the
+ * header alone whether another process wrote since this one last looked.</p>
+ *
+ * <p>Record layout (offsets in bytes):</p>
+ * <pre>
+ *  0  kind        1 byte   0 = free, 1 = todo, 2 = deadline, 3 = event, 4 = recurring
+ *  1  done        1 byte   0 or 1
+ *  2  descLength  2 bytes  UTF-8 length of the description
+ *  4  fromLength  2 bytes  UTF-8 length of an event's start
+ *  6  toLength    2 bytes  UTF-8 length of an event's end
+ *  8  epochDay    8 bytes  deadline date, or first date of a recurring task
+ * 16  interval    4 bytes  days between occurrences of a recurring task
+ * 20  since       4 bytes  epoch day the current status began
+ * 24  marksLength 2 bytes  UTF-8 length of the priority and tags, e.g. {@code !high work urgent}
+ * 26  text               description, start, end and marks, back to back
+ * </pre>
+ * <p>Lengths are unsigned. A continuation slot holds kind {@code 5} followed by up to
+ * {@value #CONTINUATION_TEXT} more bytes of text. The 32-byte file header holds the magic number,
+ * version, record size and slot count at offsets 0, 4, 8 and 12, then the 8-byte generation.</p>
+ *
+ * <p>Files written by version 1, which had no {@code since} field and text at offset 20, by
+ * version 2, which had no tags and text at offset 24, and by version 3, which had no
+ * continuation slots, are read and then rewritten in this layout.</p>
+ */
+public class MappedStorage extends Storage {
+    /** Size of every record slot, in bytes. */
+    public static final int RECORD_SIZE = 256;
+
+    /** Largest UTF-8 length of a single text field. */
+    public static final int MAX_FIELD = 0xFFFF;
+
+    private static final int MAGIC = 0x44424D53; // "DBMS"
+    private static final int VERSION = 4;
+    private static final int VERSION_WITHOUT_OVERFLOW = 3;
+    private static final int VERSION_WITHOUT_TAGS = 2;
+    private static final int VERSION_WITHOUT_SINCE = 1;
+    private static final int HEADER_SIZE = 32;
+    private static final int COUNT_OFFSET = 12;
+    private static final int GENERATION_OFFSET = 16;
+    private static final int SINCE_OFFSET = 20;
+    private static final int MARKS_LENGTH_OFFSET = 24;
+    private static final int TEXT_OFFSET = 26;
+    private static final int TEXT_OFFSET_WITHOUT_TAGS = 24;
+    private static final int TEXT_OFFSET_WITHOUT_SINCE = 20;
+    private static final int MAX_TEXT = RECORD_SIZE - TEXT_OFFSET;
+    private static final int CONTINUATION_TEXT = RECORD_SIZE - 1;
+    private static final int INITIAL_SLOTS = 1024;
+
+    private static final byte KIND_TODO = 1;
+    private static final byte KIND_DEADLINE = 2;
+    private static final byte KIND_EVENT = 3;
+    private static final byte KIND_RECURRING = 4;
+    private static final byte KIND_CONTINUATION = 5;
+
+    private final Path recordPath;
+    private MappedByteBuffer map;
+    /** Slots in use, including free and continuation slots. */
+    private int slotCount;
+    private int fileVersion = VERSION;
+    /** First slot of each task, in list order. */
+    private int[] firstSlots = new int[0];
+    private int taskCount;
+    /** Generation of the file as this store last read or wrote it. */
+    private long generation;
+    /** Identity of the record file that is mapped, to notice it being replaced. */
+    private Object fileKey;
+
+    /**
+     * Constructs a mapped store for the given text shard.
+     *
+     * @param filePath the text shard; records are kept in {@code filePath + ".dat"}
+     */
+    public MappedStorage(String filePath) {
+        super(filePath);
+        Path text = super.getPath();
+        this.recordPath = text.resolveSibling(text.getFileName() + ".dat");
+    }
+
+    /**
+     * Returns the record file, which is what the search index is stamped against.
+     *
+     * @return the record file path
+     */
+    @Override
+    public Path getPath() {
+        return this.recordPath;
+    }
+
+    /**
+     * Maps the record file and decodes every record, importing the text shard if there is no
+     * complete record file yet.
+     *
+     * @return the stored tasks
+     * @throws IOException if the file cannot be mapped or the text shard cannot be imported
+     */
+    @Override
+    @SuppressWarnings("try")
+    public TaskList load() throws IOException {
+        try (Closeable lock = lock()) {
+            if (!Files.exists(recordPath) || Files.size(recordPath) < HEADER_SIZE) {
+                TaskList imported = super.load();
+                writeNewFile(encodeAll(imported.snapshot()));
+                stampSynced();
+                return imported;
+            }
+            StorageEvent event = StorageEvent.start("load");
+            map = null;
+            ensureMapped(0);
+            TaskList list = new TaskList(decodeAll());
+            if (fileVersion != VERSION) {
+                rewrite(list);
+            }
+            stampSynced();
+            event.complete(recordPath, HEADER_SIZE + (long) slotCount * RECORD_SIZE, list.size());
+            return list;
+        }
+    }
+
+    /**
+     * Decodes the record file as it is now, without taking the lock, mapping it for writing or
+     * upgrading an older layout; see {@link Storage#peek()}. Without a complete record file, the
+     * text shard that the first {@link #load()} would import is read instead.
+     *
+     * @return the stored tasks
+     * @throws IOException if the file cannot be read, or another process changed it while it was read
+     */
+    @Override
+    public List<Task> peek() throws IOException {
+        if (!Files.exists(recordPath) || Files.size(recordPath) < HEADER_SIZE) {
+            return super.peek();
+        }
+        MappedStorage reader = new MappedStorage(super.getPath().toString());
+        try (FileChannel ch = FileChannel.open(recordPath, StandardOpenOption.READ)) {
+            reader.map = ch.map(FileChannel.MapMode.READ_ONLY, 0, ch.size());
+        }
+        reader.readHeader();
+        reader.slotCount = Math.min(reader.slotCount, reader.capacity());
+        try {
+            return reader.decodeAll();
+        } catch (RuntimeException e) {
+            throw new IOException("The record file " + recordPath + " changed while it was being read", e);
+        }
+    }
+
+    /**
+     * Parses a storage line, in the format of {@link TaskList#asStorageLines()}, and appends the task it describes.
+     *
+     * @param line the storage line of one task
+     * @throws IOException if the line does not describe a task, or the task cannot be written
+     */
+    @Override
+    public void appendLine(String line) throws IOException {
+        List<Task> parsed = decodeRecords((RecordFrame.encode(line) + "\n").getBytes(StandardCharsets.UTF_8));
+        if (parsed.isEmpty()) {
+            throw new IOException("Not a task record: " + line);
+        }
+        appendAll(parsed);
+    }
+
+    @Override
+    public void append(Task t) throws IOException {
+        appendAll(List.of(t));
+    }
+
+    /**
+     * Appends newly added tasks. All of them are encoded first, so if one cannot be stored none is written.
+     *
+     * @param added the tasks to persist, in the order they were added
+     * @throws IOException if a task is too long to store or the file cannot be written
+     */
+    @Override
+    @SuppressWarnings("try")
+    public void appendAll(List<Task> added) throws IOException {
+        try (Closeable lock = lock()) {
+            StorageEvent event = StorageEvent.start("append");
+            List<byte[]> records = encodeAll(added);
+            ensureMapped(slotCount + slotsOf(records));
+            long written = 0;
+            for (byte[] record : records) {
+                trackSlot(slotCount);
+                slotCount += put(slotCount, record);
+                written += record.length;
+            }
+            commit();
+            stampSynced();
+            event.complete(recordPath, written, added.size());
+        }
+    }
+
+    /**
+     * Rewrites every record from the given list, dropping any free slots. All tasks are encoded
+     * before the first slot is overwritten.
+     *
+     * @param tasks the current list of tasks to persist
+     * @throws IOException if a task is too long to store or the file cannot be written
+     */
+    @Override
+    @SuppressWarnings("try")
+    public void rewrite(TaskList tasks) throws IOException {
+        try (Closeable lock = lock()) {
+            StorageEvent event = StorageEvent.start("rewrite");
+            List<byte[]> records = encodeAll(tasks.snapshot());
+            if (!Files.exists(recordPath)) {
+                writeNewFile(records);
+            } else {
+                ensureMapped(slotsOf(records));
+                slotCount = 0;
+                taskCount = 0;
+                for (byte[] record : records) {
+                    trackSlot(slotCount);
+                    slotCount += put(slotCount, record);
+                }
+                commit();
+            }
+            stampSynced();
+            event.complete(recordPath, HEADER_SIZE + (long) slotCount * RECORD_SIZE, records.size());
+        }
+    }
+
+    /**
+     * Persists a change to the completion status of some tasks by writing their records' status fields.
+     *
+     * @param tasks   the current list of tasks
+     * @param indices the indices of the tasks whose status changed
+     * @throws IOException if the file cannot be written
+     */
+    @Override
+    @SuppressWarnings("try")
+    public void saveStatus(TaskList tasks, int... indices) throws IOException {
+        try (Closeable lock = lock()) {
+            StorageEvent event = StorageEvent.start("saveStatus");
+            for (int index : indices) {
+                int base = index < taskCount ? HEADER_SIZE + firstSlots[index] * RECORD_SIZE : -1;
+                if (map == null || base < 0 || map.get(base) == 0) {
+                    rewrite(tasks);
+                    return;
+                }
+                Task t = tasks.get(index);
+                map.put(base + 1, (byte) (t.isDone() ? 1 : 0)).putInt(base + SINCE_OFFSET, sinceDay(t));
+            }
+            commit();
+            stampSynced();
+            event.complete(recordPath, (long) indices.length * (1 + Integer.BYTES), indices.length);
+        }
+    }
+
+    /**
+     * Applies to the tasks the changes other processes made to the record file since this store
+     * last read or wrote it.
+     * <p>
+     * Checking costs one read of the generation in the file's header. If it moved on, or another process
+     * replaced the file, the file is remapped and decoded whole, but only the run of tasks that
+     * differ is replaced in the list, while holding its monitor. Does nothing before the first
+     * {@link #load()}.
+     * </p>
+     *
+     * @param tasks the tasks loaded from this storage
+     * @return {@code true} if any task was added, removed or changed
+     * @throws IOException if the file cannot be mapped
+     */
+    @Override
+    @SuppressWarnings("try")
+    public boolean sync(TaskList tasks) throws IOException {
+        if (map == null) {
+            return false;
+        }
+        try (Closeable lock = lock()) {
+            StorageEvent event = StorageEvent.start("sync");
+            if (readGeneration() == generation && Objects.equals(fileKey, fileKey())) {
+                event.complete(recordPath, 0, 0);
+                return false;
+            }
+            synchronized (tasks) {
+                map = null;
+                ensureMapped(0);
+                int changed = Storage.replaceChanged(tasks, decodeAll());
+                stampSynced();
+                event.complete(recordPath, HEADER_SIZE + (long) slotCount * RECORD_SIZE, changed);
+                return changed > 0;
+            }
+        }
+    }
+
+    /* =========================
+     * Helpers (single concerns)
+     * ========================= */
+
+    private void ensureMapped(int slotsNeeded) throws IOException {
+        if (map != null && capacity() >= slotsNeeded) {
+            return;
+        }
+        if (!Files.exists(recordPath)) {
+            writeNewFile(List.of());
+        }
+        int slots = Math.max(INITIAL_SLOTS, map == null ? 0 : capacity());
+        try (FileChannel ch = FileChannel.open(recordPath, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            slots = Math.max(slots, (int) Math.max(0, (ch.size() - HEADER_SIZE) / RECORD_SIZE));
+            while (slots < slotsNeeded) {
+                slots *= 2;
+            }
+            map = ch.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE + (long) slots * RECORD_SIZE);
+        }
+        readHeader();
+        fileKey = fileKey();
+    }
+
+    /** Checks the mapped file's header and takes its layout version, slot count and generation. */
+    private void readHeader() throws IOException {
+        if (map.capacity() < HEADER_SIZE || map.getInt(0) != MAGIC || map.getInt(4) < VERSION_WITHOUT_SINCE
+                || map.getInt(4) > VERSION || map.getInt(8) != RECORD_SIZE) {
+            throw new IOException("Unsupported record file " + recordPath);
+        }
+        fileVersion = map.getInt(4);
+        slotCount = map.getInt(COUNT_OFFSET);
+        generation = map.getLong(GENERATION_OFFSET);
+    }
+
+    /**
+     * Writes a complete record file next to the real one and moves it into place, so the record
+     * file either does not exist or holds every record.
+     */
+    private void writeNewFile(List<byte[]> records) throws IOException {
+        Path tmp = recordPath.resolveSibling(recordPath.getFileName() + ".tmp");
+        int slots = slotsOf(records);
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE)
+                .putInt(0, MAGIC).putInt(4, VERSION).putInt(8, RECORD_SIZE).putInt(COUNT_OFFSET, slots)
+                .putLong(GENERATION_OFFSET, generation + 1);
+        try (FileChannel ch = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            writeFully(ch, header);
+            for (byte[] record : records) {
+                writeFully(ch, ByteBuffer.wrap(record));
+            }
+            ch.force(true);
+        }
+        Files.move(tmp, recordPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        map = null;
+        ensureMapped(slots);
+        taskCount = 0;
+        for (int slot = 0; slot < slotCount; slot += spanOf(slot)) {
+            trackSlot(slot);
+        }
+    }
+
+    private static void writeFully(FileChannel ch, ByteBuffer buf) throws IOException {
+        while (buf.hasRemaining()) {
+            ch.write(buf);
+        }
+    }
+
+    private int capacity() {
+        return (map.capacity() - HEADER_SIZE) / RECORD_SIZE;
+    }
+
+    private void trackSlot(int slot) {
+        if (taskCount == firstSlots.length) {
+            firstSlots = Arrays.copyOf(firstSlots, Math.max(16, taskCount * 2));
+        }
+        firstSlots[taskCount++] = slot;
+    }
+
+    private static int slotsOf(List<byte[]> records) {
+        long bytes = 0;
+        for (byte[] record : records) {
+            bytes += record.length;
+        }
+        return Math.toIntExact(bytes / RECORD_SIZE);
+    }
+
+    /** Copies an encoded record, which may span several slots, into the mapping; returns its slot count. */
+    private int put(int slot, byte[] record) {
+        map.put(HEADER_SIZE + slot * RECORD_SIZE, record);
+        return record.length / RECORD_SIZE;
+    }
+
+    private void commit() throws IOException {
+        generation++;
+        map.putInt(4, VERSION).putInt(COUNT_OFFSET, slotCount).putLong(GENERATION_OFFSET, generation);
+        fileVersion = VERSION;
+        map.force();
+        // Writes through a mapping do not reliably bump the modification time, which the
+        // saved search index relies on to notice that the data changed.
+        Files.setLastModifiedTime(recordPath, FileTime.fromMillis(System.currentTimeMillis()));
+    }
+
+    /**
+     * Reads the generation from the file on disk rather than the mapping, which still shows the
+     * old file after another process replaced it.
+     */
+    private long readGeneration() throws IOException {
+        if (!Files.exists(recordPath)) {
+            return -1;
+        }
+        ByteBuffer buf = ByteBuffer.allocate(Long.BYTES);
+        try (FileChannel ch = FileChannel.open(recordPath, StandardOpenOption.READ)) {
+            while (buf.hasRemaining() && ch.read(buf, GENERATION_OFFSET + buf.position()) >= 0) {
+                continue;
+            }
+        }
+        return buf.hasRemaining() ? -1 : buf.getLong(0);
+    }
+
+    private Object fileKey() throws IOException {
+        return Files.exists(recordPath) ? Files.readAttributes(recordPath, BasicFileAttributes.class).fileKey() : null;
+    }
+
+    /** Decodes every task in the mapped file and notes where each one starts. */
+    private ArrayList<Task> decodeAll() {
+        ArrayList<Task> tasks = new ArrayList<>(slotCount);
+        taskCount = 0;
+        for (int slot = 0; slot < slotCount; slot += spanOf(slot)) {
+            Task t = decode(slot);
+            if (t != null) {
+                tasks.add(t);
+                trackSlot(slot);
+            }
+        }
+        return tasks;
+    }
+
+    private static List<byte[]> encodeAll(List<Task> tasks) throws IOException {
+        List<byte[]> records = new ArrayList<>(tasks.size());
+        for (Task t : tasks) {
+            records.add(encode(t));
+        }
+        return records;
+    }
+
+    /** Encodes a task as its first slot followed by any continuation slots it needs. */
+    private static byte[] encode(Task t) throws IOException {
+        byte[] desc = bytes(t.getDescription());
+        byte[] from = new byte[0];
+        byte[] to = new byte[0];
+        byte[] marks = bytes(marksOf(t));
+        long epochDay = 0;
+        int interval = 0;
+        byte kind;
+        if (t instanceof Deadline d) {
+            kind = KIND_DEADLINE;
+            epochDay = d.getDeadline().toEpochDay();
+        } else if (t instanceof Event e) {
+            kind = KIND_EVENT;
+            from = bytes(e.getFrom());
+            to = bytes(e.getTo());
+        } else if (t instanceof Recurring r) {
+            kind = KIND_RECURRING;
+            epochDay = r.getStart().toEpochDay();
+            interval = r.getIntervalDays();
+        } else {
+            kind = KIND_TODO;
+        }
+        if (Math.max(Math.max(desc.length, from.length), Math.max(to.length, marks.length)) > MAX_FIELD) {
+            throw new IOException("Task text is too long to store; each part must fit in " + MAX_FIELD + " bytes.");
+        }
+        int textLength = desc.length + from.length + to.length + marks.length;
+        ByteBuffer rec = ByteBuffer.allocate(RECORD_SIZE * (1 + continuationsFor(textLength)));
+        rec.put(0, kind).put(1, (byte) (t.isDone() ? 1 : 0))
+                .putShort(2, (short) desc.length).putShort(4, (short) from.length).putShort(6, (short) to.length)
+                .putLong(8, epochDay).putInt(16, interval).putInt(SINCE_OFFSET, sinceDay(t))
+                .putShort(MARKS_LENGTH_OFFSET, (short) marks.length);
+        ByteBuffer text = ByteBuffer.allocate(textLength).put(desc).put(from).put(to).put(marks).flip();
+        rec.position(TEXT_OFFSET);
+        rec.put(text.slice(0, Math.min(textLength, MAX_TEXT)));
+        text.position(Math.min(textLength, MAX_TEXT));
+        for (int slot = 1; text.hasRemaining(); slot++) {
+            int n = Math.min(text.remaining(), CONTINUATION_TEXT);
+            rec.put(slot * RECORD_SIZE, KIND_CONTINUATION);
+            rec.put(slot * RECORD_SIZE + 1, text, text.position(), n);
+            text.position(text.position() + n);
+        }
+        return rec.array();
+    }
+
+    private static int continuationsFor(int textLength) {
+        int spill = Math.max(0, textLength - MAX_TEXT);
+        return (spill + CONTINUATION_TEXT - 1) / CONTINUATION_TEXT;
+    }
+
+    /** Returns how many slots the record starting at {@code slot} occupies. */
+    private int spanOf(int slot) {
+        int base = HEADER_SIZE + slot * RECORD_SIZE;
+        byte kind = map.get(base);
+        if (fileVersion != VERSION || kind < KIND_TODO || kind > KIND_RECURRING) {
+            return 1;
+        }
+        int textLength = Short.toUnsignedInt(map.getShort(base + 2)) + Short.toUnsignedInt(map.getShort(base + 4))
+                + Short.toUnsignedInt(map.getShort(base + 6))
+                + Short.toUnsignedInt(map.getShort(base + MARKS_LENGTH_OFFSET));
+        return 1 + continuationsFor(textLength);
+    }
+
+    private Task decode(int slot) {
+        int base = HEADER_SIZE + slot * RECORD_SIZE;
+        ByteBuffer rec = map.duplicate().position(base).limit(base + RECORD_SIZE).slice();
+        byte kind = rec.get(0);
+        int descLength = Short.toUnsignedInt(rec.getShort(2));
+        int fromLength = Short.toUnsignedInt(rec.getShort(4));
+        int toLength = Short.toUnsignedInt(rec.getShort(6));
+        boolean hasSince = fileVersion != VERSION_WITHOUT_SINCE;
+        boolean hasMarks = fileVersion >= VERSION_WITHOUT_OVERFLOW;
+        int marksLength = hasMarks ? Short.toUnsignedInt(rec.getShort(MARKS_LENGTH_OFFSET)) : 0;
+        int textAt = switch (fileVersion) {
+        case VERSION_WITHOUT_SINCE -> TEXT_OFFSET_WITHOUT_SINCE;
+        case VERSION_WITHOUT_TAGS -> TEXT_OFFSET_WITHOUT_TAGS;
+        default -> TEXT_OFFSET;
+        };
+        if (kind < KIND_TODO || kind > KIND_RECURRING) {
+            return null; // a free or stray continuation slot
+        }
+        ByteBuffer body = textOf(slot, textAt, descLength + fromLength + toLength + marksLength);
+        String desc = text(body, 0, descLength);
+        Task t = switch (kind) {
+        case KIND_TODO -> new Todo(desc);
+        case KIND_DEADLINE -> new Deadline(desc, LocalDate.ofEpochDay(rec.getLong(8)));
+        case KIND_EVENT -> new Event(desc, text(body, descLength, fromLength),
+                text(body, descLength + fromLength, toLength));
+        default -> new Recurring(desc, LocalDate.ofEpochDay(rec.getLong(8)), rec.getInt(16));
+        };
+        t.restoreStatus(rec.get(1) == 1, hasSince ? LocalDate.ofEpochDay(rec.getInt(SINCE_OFFSET)) : LocalDate.now());
+        if (hasMarks) {
+            String marks = text(body, descLength + fromLength + toLength, marksLength);
+            for (String mark : marks.isEmpty() ? new String[0] : marks.split(" ")) {
+                if (!mark.startsWith("!")) {
+                    t.addTag(mark);
+                } else if (Priority.parse(mark.substring(1)) != null) {
+                    t.setPriority(Priority.parse(mark.substring(1)));
+                }
+            }
+        }
+        return t;
+    }
+
+    /** Gathers a record's text from its first slot and any continuation slots after it. */
+    private ByteBuffer textOf(int slot, int textAt, int length) {
+        int base = HEADER_SIZE + slot * RECORD_SIZE;
+        int first = Math.min(length, RECORD_SIZE - textAt);
+        ByteBuffer text = ByteBuffer.allocate(length).put(0, map, base + textAt, first);
+        for (int done = first, next = slot + 1; done < length; done += CONTINUATION_TEXT, next++) {
+            int n = Math.min(length - done, CONTINUATION_TEXT);
+            text.put(done, map, HEADER_SIZE + next * RECORD_SIZE + 1, n);
+        }
+        return text;
+    }
+
+    /** The priority, if any, then the tags, separated by spaces. */
+    private static String marksOf(Task t) {
+        String tags = String.join(" ", t.getTags());
+        if (t.getPriority() == Priority.NONE) {
+            return tags;
+        }
+        return ("!" + t.getPriority().label() + " " + tags).trim();
+    }
+
+    private static int sinceDay(Task t) {
+        LocalDate since = t.getStatusSince() != null ? t.getStatusSince() : LocalDate.now();
+        return (int) since.toEpochDay();
+    }
+
+    private static byte[] bytes(String s) {
+        return s.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String text(ByteBuffer rec, int offset, int length) {
+        byte[] b = new byte[length];
+        rec.get(offset, b);
+        return new String(b, StandardCharsets.UTF_8);
+    }
+}
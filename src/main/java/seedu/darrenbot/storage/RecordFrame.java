@@ -0,0 +1,120 @@
+package seedu.darrenbot.storage;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.CRC32C;
+
+/**
+ * Encodes and checks the self-describing frame around each persisted task line.
+ * <p>
+ * A framed record is a single line of the form {@code @<length>:<crc>:<payload>}, where
+ * {@code length} is the payload size in UTF-8 bytes and {@code crc} is the CRC32C of those bytes
+ * as eight hex digits. Every record can be verified on its own, so a damaged record never
+ * prevents the records around it from being read.
+ * </p>
+ *
+ * <p>Example:</p>
+ * <pre>
+ * RecordFrame.encode("todo | 0 | read book");
+ * // "@20:1a2b3c4d:todo | 0 | read book"
+ * </pre>
+ */
+final class RecordFrame {
+    /** First byte of every framed record; legacy unframed lines never start with it. */
+    static final byte MARKER = '@';
+
+    private static final int CRC_DIGITS = 8;
+    private static final int MAX_LENGTH_DIGITS = 9;
+
+    private RecordFrame() {
+    }
+
+    /**
+     * Wraps a storage line in a frame.
+     *
+     * @param payload the storage line, without a line terminator
+     * @return the framed record, without a line terminator
+     */
+    static String encode(String payload) {
+        byte[] bytes = payload.getBytes(StandardCharsets.UTF_8);
+        return "@" + bytes.length + ":" + String.format("%08x", crcOf(bytes, 0, bytes.length)) + ":" + payload;
+    }
+
+    /**
+     * Checks the frame starting at {@code start} and returns where its payload ends.
+     *
+     * @param buf   the bytes holding the frame
+     * @param start the position of the {@link #MARKER}
+     * @param limit the position the frame must not extend past
+     * @return the exclusive end of a valid frame, or {@code -1} if the header, length or checksum is wrong
+     */
+    static int validEnd(ByteBuffer buf, int start, int limit) {
+        int p = start + 1;
+        long length = 0;
+        int digits = 0;
+        while (p < limit && buf.get(p) >= '0' && buf.get(p) <= '9' && digits < MAX_LENGTH_DIGITS) {
+            length = length * 10 + (buf.get(p) - '0');
+            p++;
+            digits++;
+        }
+        if (digits == 0 || p >= limit || buf.get(p) != ':') {
+            return -1;
+        }
+        p++;
+        if (p + CRC_DIGITS + 1 > limit || buf.get(p + CRC_DIGITS) != ':') {
+            return -1;
+        }
+        long crc = 0;
+        for (int i = 0; i < CRC_DIGITS; i++) {
+            int d = Character.digit(buf.get(p + i), 16);
+            if (d < 0) {
+                return -1;
+            }
+            crc = (crc << 4) | d;
+        }
+        int payloadStart = p + CRC_DIGITS + 1;
+        if (payloadStart + length > limit) {
+            return -1;
+        }
+        int end = payloadStart + (int) length;
+        return crcOf(buf, payloadStart, end) == crc ? end : -1;
+    }
+
+    /**
+     * Returns where the payload of a frame that {@link #validEnd} accepted begins.
+     *
+     * @param buf   the bytes holding the frame
+     * @param start the position of the {@link #MARKER}
+     * @return the payload's start position
+     */
+    static int payloadStart(ByteBuffer buf, int start) {
+        int p = start + 1;
+        while (buf.get(p) != ':') {
+            p++;
+        }
+        return p + 1 + CRC_DIGITS + 1;
+    }
+
+    /**
+     * Returns where the checksum digits of a frame begin.
+     *
+     * @param buf   the bytes holding the frame
+     * @param start the position of the {@link #MARKER}
+     * @return the position of the first checksum digit
+     */
+    static int crcStart(ByteBuffer buf, int start) {
+        return payloadStart(buf, start) - CRC_DIGITS - 1;
+    }
+
+    private static long crcOf(byte[] bytes, int from, int to) {
+        CRC32C crc = new CRC32C();
+        crc.update(bytes, from, to - from);
+        return crc.getValue();
+    }
+
+    private static long crcOf(ByteBuffer buf, int from, int to) {
+        CRC32C crc = new CRC32C();
+        crc.update(buf.duplicate().limit(to).position(from));
+        return crc.getValue();
+    }
+}
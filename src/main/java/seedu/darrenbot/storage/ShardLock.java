@@ -0,0 +1,83 @@
+package seedu.darrenbot.storage;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * An exclusive lock on one shard, held against both other processes and other threads.
+ * <p>
+ * Other processes are kept out with a {@link FileLock} on a sibling {@code .lock} file; the shard
+ * itself cannot carry the lock because a rewrite replaces it with a new file. A JVM may hold only
+ * one file lock per file, so there is one {@code ShardLock} per shard path, and threads take turns
+ * on its {@link ReentrantLock} before the file lock is taken. The lock is reentrant: nested
+ * acquisitions by the thread that holds it only count.
+ * </p>
+ */
+final class ShardLock {
+    private static final String LOCK_SUFFIX = ".lock";
+    private static final Map<Path, ShardLock> LOCKS = new ConcurrentHashMap<>();
+
+    private final Path lockPath;
+    private final ReentrantLock threads = new ReentrantLock();
+    private FileChannel channel;
+    private FileLock fileLock;
+
+    private ShardLock(Path lockPath) {
+        this.lockPath = lockPath;
+    }
+
+    /** Returns the lock for a shard, shared by every {@link Storage} of that shard in this JVM. */
+    static ShardLock of(Path shard) {
+        Path key = shard.toAbsolutePath().normalize();
+        return LOCKS.computeIfAbsent(key, p -> new ShardLock(p.resolveSibling(p.getFileName() + LOCK_SUFFIX)));
+    }
+
+    /**
+     * Blocks until this thread holds the lock, then returns a handle that releases it when closed.
+     * The handle must be closed by the same thread.
+     */
+    Closeable acquire() throws IOException {
+        threads.lock();
+        if (threads.getHoldCount() > 1) {
+            return this::release;
+        }
+        try {
+            Files.createDirectories(lockPath.getParent());
+            channel = FileChannel.open(lockPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+            fileLock = channel.lock();
+        } catch (IOException | RuntimeException e) {
+            closeChannel();
+            threads.unlock();
+            throw e;
+        }
+        return this::release;
+    }
+
+    private void release() throws IOException {
+        try {
+            if (threads.getHoldCount() == 1) {
+                fileLock.release();
+                closeChannel();
+            }
+        } finally {
+            threads.unlock();
+        }
+    }
+
+    private void closeChannel() throws IOException {
+        FileChannel ch = channel;
+        channel = null;
+        fileLock = null;
+        if (ch != null) {
+            ch.close();
+        }
+    }
+}
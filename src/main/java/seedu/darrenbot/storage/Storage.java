@@ -1,19 +1,37 @@
 package seedu.darrenbot.storage;
 
 import java.io.BufferedReader;
+import java.io.Closeable;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
 import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HexFormat;
 import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ThreadLocalRandom;
 
 import seedu.darrenbot.exception.UnexpectedCommandException;
+import seedu.darrenbot.monitor.StorageEvent;
 import seedu.darrenbot.tasks.Deadline;
 import seedu.darrenbot.tasks.Event;
+import seedu.darrenbot.tasks.Priority;
+import seedu.darrenbot.tasks.Recurring;
 import seedu.darrenbot.tasks.Task;
 import seedu.darrenbot.tasks.TaskList;
 import seedu.darrenbot.tasks.Todo;
@@ -26,21 +44,78 @@ import seedu.darrenbot.tasks.Todo;
  *     <li>Ensuring that the data directory and file exist before use.</li>
  *     <li>Loading saved tasks from the file into memory as a {@link TaskList}.</li>
  *     <li>Appending new tasks to the file when they are added.</li>
- *     <li>Rewriting the entire file to reflect updates such as deletes or marks/unmarks.</li>
+ *     <li>Patching a single record in place when a task is marked or unmarked.</li>
+ *     <li>Rewriting the entire file to reflect other updates such as deletes.</li>
+ *     <li>Picking up changes that other processes made to the same file.</li>
  * </ul>
  * </p>
  *
+ * <p>Several processes may share one file. Every read and write holds an exclusive lock on the
+ * shard (a {@code <shard>.lock} file next to it), so no write is lost or seen half done. Each
+ * process then catches up with {@link #sync(TaskList)} before it changes anything. To make that
+ * cheap, status patches are listed in a small {@code <shard>.journal}, which starts with a random
+ * epoch that every rewrite renews:</p>
+ * <pre>
+ * epoch 3f9a0c61d2b4e857
+ * S 12
+ * S 40
+ * </pre>
+ * <p>So a sync re-reads only the records appended or patched since it last looked, and parses
+ * the whole file only after another process rewrote it.</p>
+ *
  * <p>Example usage:</p>
  * <pre>
  * Storage storage = new Storage("data/duke.txt");
  * storage.ensureDataFile();
  * TaskList tasks = storage.load();
- * storage.appendLine("todo | 0 | read book");
+ * storage.appendLine("todo | 0 2025-10-19 | read book | !high #home");
+ * tasks.mark(0);
+ * storage.saveStatus(tasks, 0);
  * storage.rewrite(tasks);
  * </pre>
  */
 public class Storage {
+    /** Files at least this large are parsed in parallel chunks. */
+    static final long PARALLEL_LOAD_THRESHOLD = 4L * 1024 * 1024;
+
+    private static final int MIN_CHUNK_BYTES = 64 * 1024;
+    private static final int CHUNKS_PER_THREAD = 4;
+    private static final String QUARANTINE_SUFFIX = ".quarantine";
+    private static final String JOURNAL_SUFFIX = ".journal";
+    private static final String EPOCH_PREFIX = "epoch ";
+    private static final String PATCH_PREFIX = "S ";
+    /** Once the journal is this large, the next status change is saved with a rewrite, which empties it. */
+    private static final long MAX_JOURNAL_BYTES = 64 * 1024;
+    /** First guess at the length of one record when re-reading it on its own. */
+    private static final int RECORD_READ_BYTES = 256;
+    /** Status changes are always patched in place when at most this many records change. */
+    private static final int ALWAYS_PATCH_UP_TO = 64;
+    /** Beyond that, changes touching more than one record in this many are saved with a rewrite instead. */
+    private static final int MAX_PATCH_FRACTION = 16;
+    /** System property that selects the storage engine; {@code mapped} selects {@link MappedStorage}. */
+    private static final String ENGINE_PROPERTY = "darrenbot.storage";
+
     private final Path path;
+    private final long parallelLoadThreshold;
+    private int quarantinedCount;
+    /** The day the current {@link #load()} started; stands in for status days missing from old files. */
+    private LocalDate loadDay;
+    /** Byte offset of each task's record, in list order, or -1 for a record that cannot be patched. */
+    private long[] offsets = new long[0];
+    /** Number of tracked offsets, or -1 while the file layout is unknown. */
+    private int recordCount = -1;
+    /** Epoch of the journal when this storage last read or wrote the file; {@code null} until loaded. */
+    private String epoch;
+    /** Bytes of the journal already applied or written by this storage. */
+    private long journalLength;
+    /** Bytes of the file already read or written by this storage. */
+    private long dataLength;
+    /** Identity of the file last read or written, which a rewrite by another process changes. */
+    private Object fileKey;
+    /** Size of the data file when the list last matched it, or -1 before the first load. */
+    private long syncedSize = -1;
+    /** Modification time, in milliseconds, of the data file when the list last matched it. */
+    private long syncedModified = -1;
 
     /**
      * Constructs a new {@code Storage} instance pointing to the given file path.
@@ -48,7 +123,33 @@ public class Storage {
      * @param filePath the file path where tasks should be stored and loaded from
      */
     public Storage(String filePath) {
+        this(filePath, PARALLEL_LOAD_THRESHOLD);
+    }
+
+    Storage(String filePath, long parallelLoadThreshold) {
         this.path = Paths.get(filePath);
+        this.parallelLoadThreshold = parallelLoadThreshold;
+    }
+
+    /**
+     * Opens the storage engine selected by the {@code darrenbot.storage} system property.
+     * <p>
+     * The default is the framed text file. With {@code -Ddarrenbot.storage=mapped}, tasks are kept in
+     * a {@link MappedStorage} record file next to it.
+     * </p>
+     *
+     * @param filePath the text shard of the workspace
+     * @return the storage for that shard
+     */
+    public static Storage open(String filePath) {
+        if ("mapped".equals(System.getProperty(ENGINE_PROPERTY))) {
+            return new MappedStorage(filePath);
+        }
+        return new Storage(filePath);
+    }
+
+    public Path getPath() {
+        return this.path;
     }
 
     /**
@@ -70,71 +171,425 @@ public class Storage {
     /**
      * Loads all tasks from the storage file into a {@link TaskList}.
      * <p>
-     * Parses each line in the file and reconstructs the appropriate
-     * {@link Todo}, {@link Deadline}, or {@link Event} object,
+     * Parses each record in the file and reconstructs the appropriate
+     * {@link Todo}, {@link Deadline}, {@link Event} or {@link Recurring} object,
      * restoring their completion status as recorded.
      * </p>
      *
+     * <p>Each record is checked on its own (see {@link RecordFrame}), so a damaged or unreadable
+     * record is moved to the quarantine file and loading carries on with the next record.
+     * Unframed lines and status fields without a day, written by older versions, are still
+     * accepted. If anything was quarantined or a status had no day, the data file is rewritten
+     * with only the good records, in the current format.</p>
+     *
+     * <p>Large files are memory-mapped and split at line boundaries into chunks that are parsed
+     * concurrently on the common fork-join pool, then joined back in file order.</p>
+     *
      * @return a {@code TaskList} containing all tasks found in the file
-     * @throws IOException if an I/O error occurs while reading the file
-     * @throws UnexpectedCommandException if a line in the file does not match a known task type
+     * @throws IOException if an I/O error occurs while reading or repairing the file
+     */
+    @SuppressWarnings("try")
+    public TaskList load() throws IOException {
+        try (Closeable lock = lock()) {
+            StorageEvent event = StorageEvent.start("load");
+            this.quarantinedCount = 0;
+            this.loadDay = LocalDate.now();
+            long size = endOfFile();
+            Chunk file = readFile(size);
+            trackOffsets(file);
+            remember();
+
+            TaskList list = new TaskList(new ArrayList<>(file.tasks));
+            if (!file.damaged.isEmpty()) {
+                Files.write(getQuarantinePath(), file.damaged, StandardCharsets.UTF_8,
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+                this.quarantinedCount = file.damaged.size();
+            }
+            if (!file.damaged.isEmpty() || file.hasUndatedStatus) {
+                rewrite(list);
+            }
+            stampSynced();
+            event.complete(this.path, size, file.tasks.size());
+            return list;
+        }
+    }
+
+    /**
+     * Decodes the tasks in the file as it is now, without taking the shard lock or writing anything.
+     * <p>
+     * This is for looking into a shard this process is not working in, such as when searching
+     * every workspace while the active one's lock is held. It never waits for another process's
+     * lock, so two processes searching at once cannot deadlock, and unlike {@link #load()} it never
+     * quarantines records or rewrites the file. Damaged records, including one that another
+     * process is still writing, are skipped. The state of this storage is left alone.
+     * </p>
+     *
+     * @return the tasks in the file, in order; none if there is no file
+     * @throws IOException if the file cannot be read
      */
-    public TaskList load() throws IOException, UnexpectedCommandException {
-        ArrayList<Task> tasks = new ArrayList<>();
+    public List<Task> peek() throws IOException {
         if (!Files.exists(this.path)) {
-            return new TaskList(tasks);
+            return List.of();
+        }
+        return decodeRecords(Files.readAllBytes(this.path));
+    }
+
+    /**
+     * Takes the exclusive lock on this shard, waiting for any other process or thread holding it.
+     * <p>
+     * Every read and write takes the lock for itself. Hold it around several operations to make
+     * them atomic as a whole, e.g. a load followed by a rewrite. The lock is reentrant, and the
+     * returned handle must be closed by the thread that took it.
+     * </p>
+     *
+     * @return a handle that releases the lock when closed
+     * @throws IOException if the lock file cannot be opened
+     */
+    public Closeable lock() throws IOException {
+        return ShardLock.of(this.path).acquire();
+    }
+
+    /**
+     * Takes the lock as {@link #lock()} does, then brings the tasks up to date with {@link #sync(TaskList)}.
+     * Changes made while holding the returned handle are based on the latest file and cannot be
+     * overwritten by another process until it is closed.
+     *
+     * @param tasks the tasks loaded from this storage
+     * @return a handle that releases the lock when closed
+     * @throws IOException if the lock cannot be taken or the file cannot be read
+     */
+    public Closeable lockAndSync(TaskList tasks) throws IOException {
+        Closeable lock = lock();
+        try {
+            sync(tasks);
+        } catch (IOException | RuntimeException e) {
+            lock.close();
+            throw e;
+        }
+        return lock;
+    }
+
+    /**
+     * Applies to the tasks the changes other processes made to the file since this storage last
+     * read or wrote it.
+     * <p>
+     * Records appended since then are parsed and added, and records listed in the journal as
+     * patched are read back one at a time, so the cost follows the size of the change, not of the
+     * file. If another process rewrote the file, it is parsed whole, but only the run of tasks that
+     * differ is replaced in the list, so listeners hear about those tasks alone. Does nothing
+     * before the first {@link #load()}.
+     * </p>
+     *
+     * <p>The changes are applied while holding the list's monitor, after the shard lock, so
+     * readers that synchronize on the list see either none or all of them.</p>
+     *
+     * @param tasks the tasks loaded from this storage
+     * @return {@code true} if any task was added, removed or changed
+     * @throws IOException if the file cannot be read
+     */
+    @SuppressWarnings("try")
+    public boolean sync(TaskList tasks) throws IOException {
+        if (this.epoch == null) {
+            return false;
+        }
+        try (Closeable lock = lock()) {
+            synchronized (tasks) {
+                StorageEvent event = StorageEvent.start("sync");
+                this.loadDay = LocalDate.now();
+                long size = endOfFile();
+                long read = size - dataLength;
+                int changed = -1;
+                if (recordCount >= 0 && size >= dataLength && epoch.equals(readEpoch())
+                        && Objects.equals(fileKey, fileKey())) {
+                    int added = applyAppends(tasks, size);
+                    int patched = applyPatches(tasks);
+                    changed = patched < 0 ? -1 : added + patched;
+                }
+                if (changed < 0) {
+                    read = size;
+                    changed = reload(tasks, size);
+                }
+                stampSynced();
+                event.complete(this.path, read, changed);
+                return changed > 0;
+            }
+        }
+    }
+
+    /**
+     * Decodes framed records held in memory, such as the body of an archive segment.
+     * Damaged records are skipped.
+     *
+     * @param records the records, one per line
+     * @return the decoded tasks, in order
+     */
+    static List<Task> decodeRecords(byte[] records) {
+        Storage parser = new Storage(".", Long.MAX_VALUE);
+        parser.loadDay = LocalDate.now();
+        return parser.parseChunk(ByteBuffer.wrap(records), 0).tasks;
+    }
+
+    public Path getQuarantinePath() {
+        return this.path.resolveSibling(this.path.getFileName() + QUARANTINE_SUFFIX);
+    }
+
+    public Path getJournalPath() {
+        return this.path.resolveSibling(this.path.getFileName() + JOURNAL_SUFFIX);
+    }
+
+    /**
+     * Returns how many damaged records the last {@link #load()} moved to the quarantine file.
+     *
+     * @return the number of quarantined records
+     */
+    public int getQuarantinedCount() {
+        return this.quarantinedCount;
+    }
+
+    /**
+     * Returns the size of the data file ({@link #getPath()}) as it was when this storage last loaded,
+     * synced or wrote it, the last time the list was known to match the file.
+     * <p>
+     * A cache of the list, such as a saved search index, is stamped with this and
+     * {@link #getSyncedModified()} rather than with the file as it is now: another process may
+     * have changed the file since, and the cache must not claim to describe that version.
+     * </p>
+     *
+     * @return the size in bytes, or -1 before the first load
+     */
+    public long getSyncedSize() {
+        return this.syncedSize;
+    }
+
+    /**
+     * Returns the modification time of the data file when the list last matched it; see {@link #getSyncedSize()}.
+     *
+     * @return the time in milliseconds since the epoch, or -1 before the first load
+     */
+    public long getSyncedModified() {
+        return this.syncedModified;
+    }
+
+    /** Notes the size and modification time of the data file, which the list now matches. Call with the lock held. */
+    void stampSynced() throws IOException {
+        if (!Files.exists(getPath())) {
+            return; // a mapped store imports the text shard before its record file exists
         }
+        BasicFileAttributes attrs = Files.readAttributes(getPath(), BasicFileAttributes.class);
+        this.syncedSize = attrs.size();
+        this.syncedModified = attrs.lastModifiedTime().toMillis();
+    }
+
+    /* =========================
+     * Parallel loading
+     * ========================= */
 
-        try (BufferedReader br = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
-            String line;
-            while ((line = br.readLine()) != null) {
-                tasks.add(parseStorageLine(line)); // delegate
+    /** Decodes the first {@code size} bytes of the file, in parallel chunks if it is large. */
+    private Chunk readFile(long size) throws IOException {
+        if (size == 0) {
+            return new Chunk(0);
+        }
+        if (size < parallelLoadThreshold || size > Integer.MAX_VALUE) {
+            return parseChunk(ByteBuffer.wrap(Files.readAllBytes(this.path)), 0);
+        }
+        Chunk file = new Chunk(0);
+        for (Chunk c : loadParallel(size)) {
+            file.tasks.addAll(c.tasks);
+            file.damaged.addAll(c.damaged);
+            file.hasUndatedStatus |= c.hasUndatedStatus;
+            for (int i = 0; i < c.offsetCount; i++) {
+                file.addOffset(c.offsets[i]);
             }
         }
-        return new TaskList(tasks);
+        return file;
+    }
+
+    private List<Chunk> loadParallel(long size) throws IOException {
+        MappedByteBuffer map;
+        try (FileChannel ch = FileChannel.open(this.path, StandardOpenOption.READ)) {
+            map = ch.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        }
+
+        List<ForkJoinTask<Chunk>> parts = new ArrayList<>();
+        for (int[] range : chunkRanges(map, (int) size)) {
+            ByteBuffer chunk = map.slice(range[0], range[1] - range[0]);
+            long base = range[0];
+            parts.add(ForkJoinPool.commonPool().submit(() -> parseChunk(chunk, base)));
+        }
+
+        List<Chunk> chunks = new ArrayList<>(parts.size());
+        for (ForkJoinTask<Chunk> part : parts) {
+            chunks.add(part.join());
+        }
+        return chunks;
+    }
+
+    private static List<int[]> chunkRanges(ByteBuffer map, int size) {
+        int threads = ForkJoinPool.getCommonPoolParallelism();
+        int target = Math.max(MIN_CHUNK_BYTES, size / Math.max(1, threads * CHUNKS_PER_THREAD));
+        List<int[]> ranges = new ArrayList<>();
+        int start = 0;
+        while (start < size) {
+            int end = Math.min(size, start + target);
+            while (end < size && map.get(end - 1) != '\n') {
+                end++;
+            }
+            ranges.add(new int[] {start, end});
+            start = end;
+        }
+        return ranges;
+    }
+
+    /**
+     * Decodes every record in a run of whole lines.
+     * <p>
+     * A line may hold several frames if a newline was lost; the length field lets each one be
+     * found. Anything that fails its checksum or cannot be parsed is kept as damaged text up to
+     * the next line boundary, where decoding resynchronises.
+     * </p>
+     */
+    private Chunk parseChunk(ByteBuffer buf, long base) {
+        Chunk out = new Chunk(base);
+        int n = buf.limit();
+        int lineStart = 0;
+        while (lineStart < n) {
+            int lineEnd = lineStart;
+            while (lineEnd < n && buf.get(lineEnd) != '\n') {
+                lineEnd++;
+            }
+            int next = lineEnd + 1;
+            if (lineEnd > lineStart && buf.get(lineEnd - 1) == '\r') {
+                lineEnd--;
+            }
+            parseLine(buf, lineStart, lineEnd, out);
+            lineStart = next;
+        }
+        return out;
+    }
+
+    private void parseLine(ByteBuffer buf, int start, int end, Chunk out) {
+        int p = start;
+        while (p < end) {
+            if (buf.get(p) != RecordFrame.MARKER) {
+                parseOrQuarantine(decode(buf, p, end), -1, out); // legacy unframed line
+                return;
+            }
+            int frameEnd = RecordFrame.validEnd(buf, p, end);
+            if (frameEnd < 0) {
+                out.damaged.add(decode(buf, p, end));
+                return;
+            }
+            parseOrQuarantine(decode(buf, RecordFrame.payloadStart(buf, p), frameEnd), out.base + p, out);
+            p = frameEnd;
+        }
+    }
+
+    private void parseOrQuarantine(String line, long offset, Chunk out) {
+        if (line.isBlank()) {
+            return;
+        }
+        try {
+            out.tasks.add(parseStorageLine(line, out));
+            out.addOffset(offset);
+        } catch (UnexpectedCommandException | RuntimeException e) {
+            out.damaged.add(line);
+        }
+    }
+
+    private static String decode(ByteBuffer buf, int from, int to) {
+        return StandardCharsets.UTF_8.decode(buf.duplicate().limit(to).position(from)).toString();
+    }
+
+    /** Tasks, their record offsets and damaged records decoded from one chunk, all in file order. */
+    private static final class Chunk {
+        private final long base;
+        private final List<Task> tasks = new ArrayList<>();
+        private final List<String> damaged = new ArrayList<>();
+        private long[] offsets = new long[16];
+        private int offsetCount;
+        private boolean hasUndatedStatus;
+
+        Chunk(long base) {
+            this.base = base;
+        }
+
+        void addOffset(long offset) {
+            if (offsetCount == offsets.length) {
+                offsets = Arrays.copyOf(offsets, offsetCount * 2);
+            }
+            offsets[offsetCount++] = offset;
+        }
     }
 
     /* =========================
      * Helpers (single concerns)
      * ========================= */
 
-    private Task parseStorageLine(String line) throws UnexpectedCommandException {
-        String[] parts = line.split("\\|"); // parts: type | 0/1 | desc | (extras...)
+    private Task parseStorageLine(String line, Chunk out) throws UnexpectedCommandException {
+        String[] parts = line.split("\\|"); // parts: type | status | desc | (extras...) | (!priority #tags)
         String type = parts[0].trim().toLowerCase();
-        boolean isDone = parts.length > 1 && parts[1].trim().equals("1");
 
-        return switch (type) {
-        case "todo" -> buildTodo(parts, isDone);
-        case "deadline" -> buildDeadline(parts, isDone);
-        case "event" -> buildEvent(parts, isDone);
+        Task t = switch (type) {
+        case "todo" -> buildTodo(parts);
+        case "deadline" -> buildDeadline(parts);
+        case "event" -> buildEvent(parts);
+        case "recurring" -> buildRecurring(parts);
         default -> throw new UnexpectedCommandException("Tried to initialize an UNKNOWN Task");
         };
+        applyStatus(t, parts.length > 1 ? parts[1].trim() : "0", out);
+        int fixedFields = switch (type) {
+        case "todo" -> 3;
+        case "deadline" -> 4;
+        default -> 5;
+        };
+        if (parts.length > fixedFields) {
+            applyMarks(t, parts[fixedFields]);
+        }
+        return t;
     }
 
-    private Todo buildTodo(String[] parts, boolean isDone) {
-        Todo t = new Todo(parts[2].trim());
-        applyDoneFlag(t, isDone);
-        return t;
+    private Todo buildTodo(String[] parts) {
+        return new Todo(parts[2].trim());
     }
 
-    private Deadline buildDeadline(String[] parts, boolean isDone) {
+    private Deadline buildDeadline(String[] parts) {
         LocalDate by = LocalDate.parse(parts[3].trim());
-        Deadline d = new Deadline(parts[2].trim(), by);
-        applyDoneFlag(d, isDone);
-        return d;
+        return new Deadline(parts[2].trim(), by);
+    }
+
+    private Event buildEvent(String[] parts) {
+        return new Event(parts[2].trim(), parts[3].trim(), parts[4].trim());
     }
 
-    private Event buildEvent(String[] parts, boolean isDone) {
-        Event e = new Event(parts[2].trim(), parts[3].trim(), parts[4].trim());
-        applyDoneFlag(e, isDone);
-        return e;
+    private Recurring buildRecurring(String[] parts) {
+        return new Recurring(parts[2].trim(), LocalDate.parse(parts[3].trim()),
+                Integer.parseInt(parts[4].trim()));
     }
 
-    private void applyDoneFlag(Task t, boolean isDone) {
-        if (isDone) {
-            t.redo();
+    /** Restores a priority and tags field such as {@code !high #work #urgent}. */
+    private static void applyMarks(Task t, String field) {
+        for (String mark : field.trim().split("\\s+")) {
+            if (!mark.startsWith("!")) {
+                if (Task.isValidTag(mark)) {
+                    t.addTag(mark);
+                }
+            } else if (Priority.parse(mark.substring(1)) != null) {
+                t.setPriority(Priority.parse(mark.substring(1)));
+            }
+        }
+    }
+
+    /**
+     * Restores a status field such as {@code 1 2025-10-19}. Older files hold just the digit; the
+     * day is then taken to be today, and the file is rewritten once so the day sticks.
+     */
+    private void applyStatus(Task t, String status, Chunk out) {
+        boolean isDone = status.startsWith("1");
+        if (status.length() > 1) {
+            t.restoreStatus(isDone, LocalDate.parse(status.substring(1).trim()));
         } else {
-            t.undo();
+            t.restoreStatus(isDone, loadDay);
+            out.hasUndatedStatus = true;
         }
     }
 
@@ -142,15 +597,67 @@ public class Storage {
     /**
      * Appends a single line representing a task to the storage file.
      * <p>
-     * This is typically called when a new task is created.
+     * This is typically called when a new task is created. The line is written as a
+     * checksummed record.
      * </p>
      *
      * @param line the formatted line to append to the file
      * @throws IOException if the line cannot be written
      */
+    @SuppressWarnings("try")
     public void appendLine(String line) throws IOException {
-        Files.writeString(this.path, line + System.lineSeparator(), StandardCharsets.UTF_8,
-                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        try (Closeable lock = lock()) {
+            StorageEvent event = StorageEvent.start("append");
+            long at = startAppend();
+            String record = RecordFrame.encode(line) + System.lineSeparator();
+            Files.writeString(this.path, record, StandardCharsets.UTF_8, StandardOpenOption.CREATE,
+                    StandardOpenOption.APPEND);
+            trackOffset(at);
+            this.dataLength = at + utf8Length(record);
+            stampSynced();
+            event.complete(this.path, utf8Length(record), 1);
+        }
+    }
+
+    /**
+     * Appends a newly added task to the storage file.
+     *
+     * @param t the task to persist
+     * @throws IOException if the task cannot be written
+     */
+    public void append(Task t) throws IOException {
+        appendLine(TaskList.toStorageLine(t));
+    }
+
+    /**
+     * Appends several newly added tasks to the storage file with a single write.
+     *
+     * @param added the tasks to persist, in the order they were added
+     * @throws IOException if the tasks cannot be written
+     */
+    @SuppressWarnings("try")
+    public void appendAll(List<Task> added) throws IOException {
+        try (Closeable lock = lock()) {
+            StorageEvent event = StorageEvent.start("append");
+            long at = startAppend();
+            long start = at;
+            long[] starts = new long[added.size()];
+            StringBuilder sb = new StringBuilder();
+            for (int i = 0; i < added.size(); i++) {
+                String record = RecordFrame.encode(TaskList.toStorageLine(added.get(i))) + System.lineSeparator();
+                starts[i] = at;
+                at += utf8Length(record);
+                sb.append(record);
+            }
+            Files.writeString(this.path, sb, StandardCharsets.UTF_8, StandardOpenOption.CREATE,
+                    StandardOpenOption.APPEND);
+            for (long recordStart : starts) {
+                trackOffset(recordStart);
+            }
+            this.dataLength = at;
+            stampSynced();
+            event.complete(this.path, at - start, added.size());
+        }
     }
 
     /**
@@ -158,15 +665,363 @@ public class Storage {
      * <p>
      * This method is used for destructive operations such as deleting a task
      * or updating its completion status, ensuring the file stays consistent
-     * with the in-memory {@link TaskList}.
+     * with the in-memory {@link TaskList}. The new contents are written to a
+     * temporary file first and then moved over the old one, so a crash mid-write
+     * leaves the previous file intact.
      * </p>
      *
      * @param tasks the current list of tasks to persist
      * @throws IOException if the file cannot be written
      */
+    @SuppressWarnings("try")
     public void rewrite(TaskList tasks) throws IOException {
-        List<String> lines = tasks.asStorageLines();
-        Files.write(this.path, lines, StandardCharsets.UTF_8, StandardOpenOption.TRUNCATE_EXISTING,
-                StandardOpenOption.CREATE);
+        try (Closeable lock = lock()) {
+            StorageEvent event = StorageEvent.start("rewrite");
+            List<String> lines = new ArrayList<>();
+            for (String line : tasks.asStorageLines()) {
+                lines.add(RecordFrame.encode(line));
+            }
+            Path tmp = this.path.resolveSibling(this.path.getFileName() + ".tmp");
+            Files.write(tmp, lines, StandardCharsets.UTF_8, StandardOpenOption.TRUNCATE_EXISTING,
+                    StandardOpenOption.CREATE);
+            Files.move(tmp, this.path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            this.recordCount = 0;
+            long at = 0;
+            int separator = utf8Length(System.lineSeparator());
+            for (String record : lines) {
+                trackOffset(at);
+                at += utf8Length(record) + separator;
+            }
+            startJournal();
+            this.dataLength = at;
+            this.fileKey = fileKey();
+            stampSynced();
+            event.complete(this.path, at, lines.size());
+        }
+    }
+
+    /**
+     * Persists a change to the completion status of some tasks.
+     * <p>
+     * Only the status field and the record's checksum differ between the old and new record, and
+     * both have a fixed width, so they are overwritten in place with a single positional write
+     * per task instead of rewriting the file. The record on disk is read back and compared first;
+     * if it is not where this storage last wrote it (for example, the file was edited by hand or
+     * still holds an unframed line), the whole file is rewritten instead. A rewrite is also used
+     * when so many tasks changed that one sequential write is cheaper, and once the journal that
+     * lists patched records for other processes has grown large.
+     * </p>
+     *
+     * @param tasks   the current list of tasks
+     * @param indices the indices of the tasks whose status changed
+     * @throws IOException if the file cannot be written
+     */
+    @SuppressWarnings("try")
+    public void saveStatus(TaskList tasks, int... indices) throws IOException {
+        try (Closeable lock = lock()) {
+            boolean isMostOfFile = indices.length > ALWAYS_PATCH_UP_TO
+                    && (long) indices.length * MAX_PATCH_FRACTION > recordCount;
+            StorageEvent event = StorageEvent.start("saveStatus");
+            long patched = isMostOfFile || journalLength >= MAX_JOURNAL_BYTES ? -1 : patchStatus(tasks, indices);
+            if (patched < 0) {
+                rewrite(tasks);
+            } else {
+                journalPatches(indices);
+            }
+            stampSynced();
+            event.complete(this.path, Math.max(0, patched), indices.length);
+        }
+    }
+
+    /* =========================
+     * Record offsets
+     * ========================= */
+
+    /** Returns the number of bytes written, or -1 if a record could not be patched in place. */
+    private long patchStatus(TaskList tasks, int[] indices) throws IOException {
+        long written = 0;
+        try (FileChannel ch = FileChannel.open(this.path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            for (int index : indices) {
+                int n = patchStatus(ch, index, tasks.get(index));
+                if (n < 0) {
+                    return -1;
+                }
+                written += n;
+            }
+        }
+        return written;
+    }
+
+    private int patchStatus(FileChannel ch, int index, Task t) throws IOException {
+        String line = TaskList.toStorageLine(t);
+        if (index >= recordCount || offsets[index] < 0 || line == null) {
+            return -1;
+        }
+        byte[] fresh = RecordFrame.encode(line).getBytes(StandardCharsets.UTF_8);
+        int crcAt = RecordFrame.crcStart(ByteBuffer.wrap(fresh), 0);
+        int payloadAt = RecordFrame.payloadStart(ByteBuffer.wrap(fresh), 0);
+        int statusAt = payloadAt + line.indexOf('|') + 2; // "type | 0 2025-10-19 | ..."
+        int statusEnd = payloadAt + line.indexOf(" |", statusAt - payloadAt);
+        long at = offsets[index];
+        ByteBuffer old = ByteBuffer.allocate(fresh.length);
+        while (old.hasRemaining()) {
+            if (ch.read(old, at + old.position()) < 0) {
+                return -1;
+            }
+        }
+        // The record on disk must match the new one everywhere except the checksum and status.
+        byte[] expected = old.array();
+        System.arraycopy(fresh, crcAt, expected, crcAt, payloadAt - 1 - crcAt);
+        System.arraycopy(fresh, statusAt, expected, statusAt, statusEnd - statusAt);
+        if (!Arrays.equals(expected, fresh)) {
+            return -1;
+        }
+        ByteBuffer patch = ByteBuffer.wrap(fresh, crcAt, statusEnd - crcAt);
+        while (patch.hasRemaining()) {
+            ch.write(patch, at + patch.position());
+        }
+        return statusEnd - crcAt;
+    }
+
+    private void trackOffsets(Chunk file) {
+        this.recordCount = 0;
+        for (int i = 0; i < file.offsetCount; i++) {
+            trackOffset(file.offsets[i]);
+        }
+    }
+
+    private void trackOffset(long offset) {
+        if (recordCount < 0) {
+            return;
+        }
+        if (recordCount == offsets.length) {
+            offsets = Arrays.copyOf(offsets, Math.max(16, recordCount * 2));
+        }
+        offsets[recordCount++] = offset;
+    }
+
+    private long endOfFile() throws IOException {
+        return Files.exists(this.path) ? Files.size(this.path) : 0;
+    }
+
+    /**
+     * Returns where an append will start. If the file grew without this storage reading it, the
+     * new record's index is unknown, so offsets stop being tracked until the next load or rewrite.
+     */
+    private long startAppend() throws IOException {
+        long at = endOfFile();
+        if (at != dataLength) {
+            this.recordCount = -1;
+        }
+        return at;
+    }
+
+    /* =========================
+     * Sharing with other processes
+     * ========================= */
+
+    /** Adds the records appended since this storage last read or wrote the file. */
+    private int applyAppends(TaskList tasks, long size) throws IOException {
+        if (size == dataLength) {
+            return 0;
+        }
+        Chunk appended = parseChunk(readRange(this.path, dataLength, size), dataLength);
+        for (int i = 0; i < appended.tasks.size(); i++) {
+            tasks.add(appended.tasks.get(i));
+            trackOffset(appended.offsets[i]);
+        }
+        this.dataLength = size;
+        return appended.tasks.size();
+    }
+
+    /**
+     * Re-reads the records the journal lists as patched since this storage last read it and
+     * restores their status. Returns how many tasks changed, or -1 if a record is not the task
+     * this storage expects at its index, or if the journal shrank or vanished since it was read,
+     * in which case the file must be reloaded.
+     */
+    private int applyPatches(TaskList tasks) throws IOException {
+        long end = journalSize();
+        if (end < journalLength) {
+            return -1;
+        }
+        if (end == journalLength) {
+            return 0;
+        }
+        ByteBuffer entries = readRange(getJournalPath(), journalLength, end);
+        this.journalLength = end;
+        Set<Integer> indices = new TreeSet<>();
+        try {
+            for (String entry : decode(entries, 0, entries.limit()).split("\n")) {
+                if (entry.startsWith(PATCH_PREFIX)) {
+                    indices.add(Integer.parseInt(entry.substring(PATCH_PREFIX.length()).trim()));
+                }
+            }
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+
+        int changed = 0;
+        try (FileChannel ch = FileChannel.open(this.path, StandardOpenOption.READ)) {
+            for (int index : indices) {
+                if (index >= recordCount || index >= tasks.size() || offsets[index] < 0) {
+                    return -1;
+                }
+                Task fresh = readRecord(ch, offsets[index]);
+                Task t = tasks.get(index);
+                if (fresh == null || !fresh.getTaskType().equals(t.getTaskType())
+                        || !fresh.getDescription().equals(t.getDescription())) {
+                    return -1;
+                }
+                if (fresh.isDone() != t.isDone() || !Objects.equals(fresh.getStatusSince(), t.getStatusSince())) {
+                    tasks.restoreStatus(index, fresh.isDone(), fresh.getStatusSince());
+                    changed++;
+                }
+            }
+        }
+        return changed;
+    }
+
+    /** Decodes the one record that starts at {@code offset}, or returns {@code null} if it is damaged. */
+    private Task readRecord(FileChannel ch, long offset) throws IOException {
+        ByteBuffer buf = ByteBuffer.allocate(RECORD_READ_BYTES);
+        int end = -1;
+        while (end < 0) {
+            if (!buf.hasRemaining()) {
+                buf = ByteBuffer.allocate(buf.capacity() * 2).put(buf.flip());
+            }
+            int from = buf.position();
+            if (ch.read(buf, offset + from) < 0) {
+                end = buf.position();
+            }
+            for (int i = from; i < buf.position() && end < 0; i++) {
+                if (buf.get(i) == '\n') {
+                    end = i;
+                }
+            }
+        }
+        Chunk record = parseChunk(buf.limit(end), offset);
+        return record.tasks.isEmpty() ? null : record.tasks.get(0);
+    }
+
+    /**
+     * Parses the whole file after another process replaced it and swaps in the tasks that differ.
+     * Returns how many tasks were added or removed.
+     */
+    private int reload(TaskList tasks, long size) throws IOException {
+        Chunk file = readFile(size);
+        int changed = replaceChanged(tasks, file.tasks);
+        trackOffsets(file);
+        remember();
+        return changed;
+    }
+
+    /**
+     * Makes the tasks match a freshly read list by replacing only the run between their longest
+     * common head and tail. Returns how many tasks were added or removed.
+     */
+    static int replaceChanged(TaskList tasks, List<Task> fresh) {
+        List<Task> current = tasks.snapshot();
+        int shorter = Math.min(current.size(), fresh.size());
+        int head = 0;
+        while (head < shorter && isSame(current.get(head), fresh.get(head))) {
+            head++;
+        }
+        int tail = 0;
+        while (tail < shorter - head
+                && isSame(current.get(current.size() - 1 - tail), fresh.get(fresh.size() - 1 - tail))) {
+            tail++;
+        }
+        List<Task> replacement = fresh.subList(head, fresh.size() - tail);
+        int removed = current.size() - tail - head;
+        if (removed > 0 || !replacement.isEmpty()) {
+            tasks.replaceRange(head, current.size() - tail, replacement);
+        }
+        return Math.max(removed, replacement.size());
+    }
+
+    private static boolean isSame(Task a, Task b) {
+        return Objects.equals(TaskList.toStorageLine(a), TaskList.toStorageLine(b));
+    }
+
+    /** Notes how far this storage has read the file and journal, after reading the whole file. */
+    private void remember() throws IOException {
+        this.dataLength = endOfFile();
+        this.fileKey = fileKey();
+        String current = readEpoch();
+        if (current == null) {
+            startJournal();
+        } else {
+            this.epoch = current;
+            this.journalLength = journalSize();
+        }
+    }
+
+    /** Returns the size of the journal, or 0 if another process deleted it. */
+    private long journalSize() throws IOException {
+        try {
+            return Files.size(getJournalPath());
+        } catch (NoSuchFileException e) {
+            return 0;
+        }
+    }
+
+    /** Empties the journal under a new epoch, telling other processes the file was replaced. */
+    private void startJournal() throws IOException {
+        String header = EPOCH_PREFIX + HexFormat.of().toHexDigits(ThreadLocalRandom.current().nextLong()) + "\n";
+        Files.writeString(getJournalPath(), header, StandardCharsets.UTF_8, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+        this.epoch = header.substring(EPOCH_PREFIX.length()).trim();
+        this.journalLength = utf8Length(header);
+    }
+
+    /**
+     * Lists patched records in the journal for other processes. If the journal holds entries this
+     * storage has not read, its view of the file may be stale, so the next sync reloads it.
+     */
+    private void journalPatches(int[] indices) throws IOException {
+        if (indices.length == 0) {
+            return;
+        }
+        if (journalSize() != journalLength) {
+            this.recordCount = -1;
+        }
+        StringBuilder sb = new StringBuilder();
+        for (int index : indices) {
+            sb.append(PATCH_PREFIX).append(index).append('\n');
+        }
+        Files.writeString(getJournalPath(), sb, StandardCharsets.UTF_8, StandardOpenOption.CREATE,
+                StandardOpenOption.APPEND);
+        this.journalLength += sb.length();
+    }
+
+    /** Returns the epoch at the head of the journal, or {@code null} if there is no journal. */
+    private String readEpoch() throws IOException {
+        Path journal = getJournalPath();
+        if (!Files.exists(journal)) {
+            return null;
+        }
+        try (BufferedReader reader = Files.newBufferedReader(journal, StandardCharsets.UTF_8)) {
+            String first = reader.readLine();
+            return first != null && first.startsWith(EPOCH_PREFIX) ? first.substring(EPOCH_PREFIX.length()) : null;
+        }
+    }
+
+    private static ByteBuffer readRange(Path file, long from, long to) throws IOException {
+        ByteBuffer buf = ByteBuffer.allocate(Math.toIntExact(to - from));
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+            while (buf.hasRemaining() && ch.read(buf, from + buf.position()) >= 0) {
+                continue;
+            }
+        }
+        return buf.flip();
+    }
+
+    private Object fileKey() throws IOException {
+        return Files.exists(this.path) ? Files.readAttributes(this.path, BasicFileAttributes.class).fileKey() : null;
+    }
+
+    private static int utf8Length(String s) {
+        return s.getBytes(StandardCharsets.UTF_8).length;
     }
 }
@@ -0,0 +1,319 @@
+package seedu.darrenbot.storage;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import seedu.darrenbot.exception.UnexpectedCommandException;
+import seedu.darrenbot.search.SearchIndex;
+import seedu.darrenbot.tasks.Task;
+import seedu.darrenbot.tasks.TaskList;
+
+/**
+ * Manages named task lists ("workspaces"), each persisted in its own shard file.
+ * <p>
+ * A workspace called {@code work} lives in {@code <dataDir>/work.txt}. Only recently used
+ * workspaces are kept in memory; once more than {@code capacity} are open, the least recently
+ * used one is evicted. The workspace most recently returned by {@link #open(String)} is the
+ * active one and is never evicted. Eviction never loses data because every mutation is already
+ * persisted by {@link Storage}.
+ * </p>
+ *
+ * <p>Example usage:</p>
+ * <pre>
+ * Workspaces ws = new Workspaces("data", 4);
+ * Workspaces.Workspace work = ws.open("work");
+ * work.getTasks().add(new Todo("write report"));
+ * </pre>
+ */
+public class Workspaces {
+    /** File extension of a workspace shard. */
+    public static final String SHARD_EXTENSION = ".txt";
+
+    /** File extension of the saved search index that sits next to each shard. */
+    public static final String INDEX_EXTENSION = ".idx";
+
+    /** Suffix of the directory holding each workspace's archived tasks. */
+    public static final String ARCHIVE_EXTENSION = ".archive";
+
+    private static final Pattern VALID_NAME = Pattern.compile("[A-Za-z0-9_-]+");
+
+    private final Path dataDir;
+    private final LinkedHashMap<String, Workspace> open;
+    /** Name of the active workspace, which eviction skips. */
+    private String active;
+
+    /**
+     * Constructs a workspace manager over the shards in {@code dataDir}.
+     *
+     * @param dataDir  the directory holding one shard file per workspace
+     * @param capacity the maximum number of workspaces kept in memory at once
+     */
+    public Workspaces(String dataDir, int capacity) {
+        assert capacity >= 1 : "At least the active workspace must fit in memory";
+        this.dataDir = Paths.get(dataDir);
+        this.open = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Workspace> eldest) {
+                if (size() <= capacity) {
+                    return false;
+                }
+                if (!eldest.getKey().equals(active)) {
+                    saveIndexQuietly(eldest.getValue());
+                    return true;
+                }
+                // The active workspace is never evicted; the next least recently used one goes instead.
+                Iterator<Workspace> it = values().iterator();
+                it.next();
+                if (it.hasNext()) {
+                    saveIndexQuietly(it.next());
+                    it.remove();
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Returns the named workspace, loading its shard if it is not in memory.
+     * <p>
+     * The shard file is created if the workspace does not exist yet. Done tasks completed more than
+     * {@link Archive#DEFAULT_AGE_DAYS} days ago are moved to the workspace's {@link Archive} first.
+     * A workspace already in memory first takes in any changes other processes saved to its shard.
+     * The returned workspace becomes the active one.
+     * </p>
+     *
+     * @param name the workspace name
+     * @return the workspace
+     * @throws IOException if the shard cannot be created or read
+     * @throws UnexpectedCommandException if the name is invalid or the shard is corrupted
+     */
+    @SuppressWarnings("try")
+    public Workspace open(String name) throws IOException, UnexpectedCommandException {
+        checkName(name);
+        Workspace ws = open.get(name);
+        if (ws != null) {
+            ws.getStorage().sync(ws.getTasks());
+            active = name;
+            return ws;
+        }
+        Storage storage = Storage.open(shardPath(name).toString());
+        storage.ensureDataFile();
+        TaskList tasks;
+        Archive archive = new Archive(dataDir.resolve(name + ARCHIVE_EXTENSION), Archive.DEFAULT_AGE_DAYS);
+        try (Closeable lock = storage.lock()) {
+            tasks = storage.load();
+            if (!archive.archiveDone(tasks, LocalDate.now()).isEmpty()) {
+                storage.rewrite(tasks);
+            }
+        }
+        SearchIndex index = SearchIndex.loadOrBuild(indexPath(name), storage.getPath(), tasks);
+        tasks.addListener(index);
+        ws = new Workspace(name, storage, tasks, index, archive);
+        active = name;
+        open.put(name, ws);
+        return ws;
+    }
+
+    /**
+     * Saves the search index of every workspace in memory so the next start can skip rebuilding it.
+     * <p>
+     * Failures are ignored: a missing index is simply rebuilt on the next load.
+     * </p>
+     */
+    public void saveIndexes() {
+        for (Workspace ws : open.values()) {
+            saveIndexQuietly(ws);
+        }
+    }
+
+    /**
+     * Returns whether the named workspace is currently held in memory.
+     *
+     * @param name the workspace name
+     * @return {@code true} if it is loaded
+     */
+    public boolean isLoaded(String name) {
+        return open.containsKey(name);
+    }
+
+    /**
+     * Lists the names of all workspaces that have a shard on disk, in alphabetical order.
+     *
+     * @return the workspace names
+     * @throws IOException if the data directory cannot be read
+     */
+    public List<String> names() throws IOException {
+        List<String> names = new ArrayList<>();
+        if (!Files.isDirectory(dataDir)) {
+            return names;
+        }
+        try (DirectoryStream<Path> ds = Files.newDirectoryStream(dataDir, "*" + SHARD_EXTENSION)) {
+            for (Path p : ds) {
+                String file = p.getFileName().toString();
+                String name = file.substring(0, file.length() - SHARD_EXTENSION.length());
+                if (VALID_NAME.matcher(name).matches()) {
+                    names.add(name);
+                }
+            }
+        }
+        Collections.sort(names);
+        return names;
+    }
+
+    /**
+     * Searches every workspace for tasks matching {@code filter}, scanning shards in parallel.
+     * <p>
+     * The active workspace is brought up to date and searched in memory. Every other shard is
+     * only {@linkplain Storage#peek() peeked} at, without taking its lock, so a search run while
+     * holding the active shard's lock never waits on a lock another process holds, and a search
+     * never repairs or upgrades a shard. Nothing is added to the cache, and no workspace counts
+     * as used, so a search does not change which workspace is evicted next.
+     * </p>
+     *
+     * @param filter the predicate tasks must satisfy
+     * @return matching tasks keyed by their index in their workspace's list, in list order, grouped by
+     *         workspace name and omitting workspaces without matches
+     * @throws IOException if a shard cannot be read
+     */
+    public Map<String, Map<Integer, Task>> search(Predicate<Task> filter) throws IOException {
+        List<String> names = names();
+        List<Task> activeTasks = null;
+        for (Workspace ws : open.values()) { // iterating, unlike get, leaves the access order alone
+            if (ws.getName().equals(active)) {
+                ws.getStorage().sync(ws.getTasks());
+                activeTasks = ws.getTasks().all();
+            }
+        }
+
+        List<Task> inMemory = activeTasks;
+        Map<String, Map<Integer, Task>> found;
+        try {
+            found = names.parallelStream()
+                    .collect(Collectors.toMap(name -> name,
+                        name -> matches(name.equals(active) ? inMemory : null, name, filter),
+                        (a, b) -> a, LinkedHashMap::new));
+        } catch (ShardReadException e) {
+            throw (IOException) e.getCause();
+        }
+        found.values().removeIf(Map::isEmpty);
+        return found;
+    }
+
+    /* =========================
+     * Helpers (single concerns)
+     * ========================= */
+
+    private Map<Integer, Task> matches(List<Task> loaded, String name, Predicate<Task> filter) {
+        List<Task> all = loaded;
+        if (all == null) {
+            try {
+                all = Storage.open(shardPath(name).toString()).peek();
+            } catch (IOException e) {
+                throw new ShardReadException(e);
+            }
+        }
+        Map<Integer, Task> out = new LinkedHashMap<>();
+        for (int i = 0; i < all.size(); i++) {
+            if (filter.test(all.get(i))) {
+                out.put(i, all.get(i));
+            }
+        }
+        return out;
+    }
+
+    private Path shardPath(String name) {
+        return dataDir.resolve(name + SHARD_EXTENSION);
+    }
+
+    private Path indexPath(String name) {
+        return dataDir.resolve(name + INDEX_EXTENSION);
+    }
+
+    /**
+     * Saves a workspace's search index, stamped with the data file as the list last matched it.
+     * Another process may have written the shard since, and syncing first would mean taking its
+     * lock while holding the active one's; an index stamped this way is just rebuilt on the next load.
+     */
+    private void saveIndexQuietly(Workspace ws) {
+        Storage storage = ws.getStorage();
+        try {
+            synchronized (ws.getTasks()) { // a sync changes the list and its stamp together under the monitor
+                if (storage.getSyncedSize() >= 0) {
+                    ws.getSearchIndex().save(indexPath(ws.getName()), storage.getSyncedSize(),
+                            storage.getSyncedModified(), ws.getTasks());
+                }
+            }
+        } catch (IOException e) {
+            // The index is only a cache of the shard; it will be rebuilt on the next load.
+        }
+    }
+
+    private void checkName(String name) throws UnexpectedCommandException {
+        if (name == null || !VALID_NAME.matcher(name).matches()) {
+            throw new UnexpectedCommandException("Workspace names may only contain letters, digits, '-' and '_'.");
+        }
+    }
+
+    /** Carries a checked shard-loading failure out of a parallel stream. */
+    private static final class ShardReadException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        ShardReadException(IOException cause) {
+            super(cause);
+        }
+    }
+
+    /**
+     * A named task list together with the storage shard that persists it, its search index and
+     * the archive of its old completed tasks.
+     */
+    public static class Workspace {
+        private final String name;
+        private final Storage storage;
+        private final TaskList tasks;
+        private final SearchIndex searchIndex;
+        private final Archive archive;
+
+        Workspace(String name, Storage storage, TaskList tasks, SearchIndex searchIndex, Archive archive) {
+            this.name = name;
+            this.storage = storage;
+            this.tasks = tasks;
+            this.searchIndex = searchIndex;
+            this.archive = archive;
+        }
+
+        public String getName() {
+            return this.name;
+        }
+
+        public Storage getStorage() {
+            return this.storage;
+        }
+
+        public TaskList getTasks() {
+            return this.tasks;
+        }
+
+        public SearchIndex getSearchIndex() {
+            return this.searchIndex;
+        }
+
+        public Archive getArchive() {
+            return this.archive;
+        }
+    }
+}
@@ -29,8 +29,8 @@ public class Event extends Task {
      */
     public Event(String description, String from, String to) {
         super(description);
-        this.from = from;
-        this.to = to;
+        this.from = StringInterner.shared().intern(from);
+        this.to = StringInterner.shared().intern(to);
         this.taskType = "event";
     }
 
@@ -49,8 +49,8 @@ public class Event extends Task {
      * @param to   the new ending time of the event
      */
     public void updateEvent(String from, String to) {
-        this.from = from;
-        this.to = to;
+        this.from = StringInterner.shared().intern(from);
+        this.to = StringInterner.shared().intern(to);
     }
 
     public String getTaskType() {
@@ -0,0 +1,158 @@
+package seedu.darrenbot.tasks;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.function.ToLongFunction;
+
+/**
+ * A binary min-heap that also knows where each element is, so any element can be re-keyed or
+ * removed in O(log n) rather than only the smallest.
+ * <p>
+ * Elements are ordered by a {@code long} key, then by a tie-breaking {@code long}; both are given
+ * when the element is put. Elements are compared by identity.
+ * </p>
+ *
+ * @param <T> the element type
+ */
+class IndexedHeap<T> {
+    private Object[] items = new Object[16];
+    private long[] keys = new long[16];
+    private long[] ties = new long[16];
+    private final Map<T, Integer> positions = new IdentityHashMap<>();
+    private int size;
+
+    /** Inserts an element, or moves it if it is already present and its key has changed. */
+    void put(T item, long key, long tie) {
+        Integer at = positions.get(item);
+        if (at == null) {
+            grow();
+            at = size++;
+            items[at] = item;
+        }
+        keys[at] = key;
+        ties[at] = tie;
+        positions.put(item, at);
+        siftDown(siftUp(at));
+    }
+
+    /** Removes an element; does nothing if it is absent. */
+    void remove(T item) {
+        Integer at = positions.remove(item);
+        if (at == null) {
+            return;
+        }
+        int last = --size;
+        if (at != last) {
+            move(last, at);
+            siftDown(siftUp(at));
+        }
+        items[last] = null;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /** Recomputes every key and tie-breaker and restores heap order in O(n). */
+    void rekey(ToLongFunction<T> keyOf, ToLongFunction<T> tieOf) {
+        for (int i = 0; i < size; i++) {
+            keys[i] = keyOf.applyAsLong(item(i));
+            ties[i] = tieOf.applyAsLong(item(i));
+        }
+        for (int i = size / 2 - 1; i >= 0; i--) {
+            siftDown(i);
+        }
+    }
+
+    /**
+     * Returns the {@code k} smallest elements in order, in O(k log k), leaving the heap unchanged.
+     * <p>
+     * The children of a heap node are never smaller than it, so the next smallest element is
+     * always a child of one already taken. Only those frontier positions are kept in a small
+     * auxiliary heap.
+     * </p>
+     */
+    List<T> smallest(int k) {
+        List<T> found = new ArrayList<>(Math.min(k, size));
+        PriorityQueue<Integer> frontier = new PriorityQueue<>(this::compare);
+        if (size > 0) {
+            frontier.add(0);
+        }
+        while (found.size() < k && !frontier.isEmpty()) {
+            int at = frontier.poll();
+            found.add(item(at));
+            for (int child = 2 * at + 1; child <= 2 * at + 2 && child < size; child++) {
+                frontier.add(child);
+            }
+        }
+        return found;
+    }
+
+    /* =========================
+     * Helpers (single concerns)
+     * ========================= */
+
+    @SuppressWarnings("unchecked")
+    private T item(int at) {
+        return (T) items[at];
+    }
+
+    private int compare(int a, int b) {
+        int c = Long.compare(keys[a], keys[b]);
+        return c != 0 ? c : Long.compare(ties[a], ties[b]);
+    }
+
+    private int siftUp(int at) {
+        while (at > 0 && compare(at, (at - 1) / 2) < 0) {
+            swap(at, (at - 1) / 2);
+            at = (at - 1) / 2;
+        }
+        return at;
+    }
+
+    private void siftDown(int at) {
+        while (true) {
+            int smallest = at;
+            for (int child = 2 * at + 1; child <= 2 * at + 2 && child < size; child++) {
+                if (compare(child, smallest) < 0) {
+                    smallest = child;
+                }
+            }
+            if (smallest == at) {
+                return;
+            }
+            swap(at, smallest);
+            at = smallest;
+        }
+    }
+
+    private void swap(int a, int b) {
+        Object item = items[a];
+        long key = keys[a];
+        long tie = ties[a];
+        move(b, a);
+        items[b] = item;
+        keys[b] = key;
+        ties[b] = tie;
+        positions.put(item(b), b);
+    }
+
+    private void move(int from, int to) {
+        items[to] = items[from];
+        keys[to] = keys[from];
+        ties[to] = ties[from];
+        positions.put(item(to), to);
+    }
+
+    private void grow() {
+        if (size == items.length) {
+            items = Arrays.copyOf(items, size * 2);
+            keys = Arrays.copyOf(keys, size * 2);
+            ties = Arrays.copyOf(ties, size * 2);
+        }
+    }
+}
@@ -0,0 +1,213 @@
+package seedu.darrenbot.tasks;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * A balanced binary search tree that also knows the rank of every element.
+ * <p>
+ * It is a treap: nodes are ordered by the comparator and heap-ordered by a random priority,
+ * which keeps the expected depth logarithmic. Every node records the size of its subtree, so
+ * inserting, removing and finding the {@code k}-th smallest element are all O(log n), and
+ * reading {@code k} consecutive elements from any rank costs O(log n + k).
+ * </p>
+ *
+ * <p>The comparator must be a total order: elements that compare equal are treated as the
+ * same element.</p>
+ *
+ * @param <E> the element type
+ */
+class OrderStatisticTree<E> {
+    private final Comparator<? super E> order;
+    private final SplittableRandom random = new SplittableRandom(0x5eed);
+    private Node<E> root;
+
+    OrderStatisticTree(Comparator<? super E> order) {
+        this.order = order;
+    }
+
+    int size() {
+        return sizeOf(root);
+    }
+
+    /**
+     * Inserts an element.
+     *
+     * @param e the element; must not already be present
+     */
+    void add(E e) {
+        root = insert(root, new Node<>(e, random.nextInt()));
+    }
+
+    /**
+     * Removes an element, if present.
+     *
+     * @param e the element to remove
+     * @return {@code true} if it was present
+     */
+    boolean remove(E e) {
+        int before = size();
+        root = delete(root, e);
+        return size() < before;
+    }
+
+    /**
+     * Returns the element with the given rank, counting from zero.
+     *
+     * @param rank the rank
+     * @return the element
+     * @throws IndexOutOfBoundsException if the rank is out of range
+     */
+    E get(int rank) {
+        if (rank < 0 || rank >= size()) {
+            throw new IndexOutOfBoundsException("Rank " + rank + " out of bounds for size " + size());
+        }
+        Node<E> n = root;
+        while (true) {
+            int left = sizeOf(n.left);
+            if (rank < left) {
+                n = n.left;
+            } else if (rank == left) {
+                return n.value;
+            } else {
+                rank -= left + 1;
+                n = n.right;
+            }
+        }
+    }
+
+    /**
+     * Returns up to {@code count} consecutive elements in order, starting at rank {@code from}.
+     *
+     * @param from  the rank of the first element
+     * @param count the maximum number of elements
+     * @return the elements
+     */
+    List<E> range(int from, int count) {
+        List<E> out = new ArrayList<>(Math.max(0, Math.min(count, size() - from)));
+        Deque<Node<E>> stack = new ArrayDeque<>();
+        // Descend to the element at rank 'from', remembering every ancestor still to be visited.
+        Node<E> n = root;
+        int skip = from;
+        while (n != null) {
+            int left = sizeOf(n.left);
+            if (skip < left) {
+                stack.push(n);
+                n = n.left;
+            } else if (skip == left) {
+                stack.push(n);
+                break;
+            } else {
+                skip -= left + 1;
+                n = n.right;
+            }
+        }
+        while (!stack.isEmpty() && out.size() < count) {
+            Node<E> next = stack.pop();
+            out.add(next.value);
+            for (Node<E> c = next.right; c != null; c = c.left) {
+                stack.push(c);
+            }
+        }
+        return out;
+    }
+
+    /* =========================
+     * Helpers (single concerns)
+     * ========================= */
+
+    private Node<E> insert(Node<E> n, Node<E> fresh) {
+        if (n == null) {
+            return fresh;
+        }
+        if (order.compare(fresh.value, n.value) < 0) {
+            n.left = insert(n.left, fresh);
+            if (n.left.priority > n.priority) {
+                n = rotateRight(n);
+            }
+        } else {
+            n.right = insert(n.right, fresh);
+            if (n.right.priority > n.priority) {
+                n = rotateLeft(n);
+            }
+        }
+        n.update();
+        return n;
+    }
+
+    private Node<E> delete(Node<E> n, E e) {
+        if (n == null) {
+            return null;
+        }
+        int c = order.compare(e, n.value);
+        if (c < 0) {
+            n.left = delete(n.left, e);
+        } else if (c > 0) {
+            n.right = delete(n.right, e);
+        } else {
+            return merge(n.left, n.right);
+        }
+        n.update();
+        return n;
+    }
+
+    private Node<E> merge(Node<E> a, Node<E> b) {
+        if (a == null) {
+            return b;
+        }
+        if (b == null) {
+            return a;
+        }
+        if (a.priority > b.priority) {
+            a.right = merge(a.right, b);
+            a.update();
+            return a;
+        }
+        b.left = merge(a, b.left);
+        b.update();
+        return b;
+    }
+
+    private static <E> Node<E> rotateRight(Node<E> n) {
+        Node<E> l = n.left;
+        n.left = l.right;
+        l.right = n;
+        n.update();
+        l.update();
+        return l;
+    }
+
+    private static <E> Node<E> rotateLeft(Node<E> n) {
+        Node<E> r = n.right;
+        n.right = r.left;
+        r.left = n;
+        n.update();
+        r.update();
+        return r;
+    }
+
+    private static int sizeOf(Node<?> n) {
+        return n == null ? 0 : n.size;
+    }
+
+    private static final class Node<E> {
+        private final E value;
+        private final int priority;
+        private Node<E> left;
+        private Node<E> right;
+        private int size = 1;
+
+        Node(E value, int priority) {
+            this.value = value;
+            this.priority = priority;
+        }
+
+        void update() {
+            size = 1 + sizeOf(left) + sizeOf(right);
+        }
+    }
+}
@@ -0,0 +1,197 @@
+package seedu.darrenbot.tasks;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.RandomAccess;
+
+/**
+ * An immutable list that shares structure with the versions it was derived from.
+ * <p>
+ * Elements live in the leaves of a 32-way trie, with the last (up to) 32 elements kept in a
+ * separate tail array. Appending or replacing an element copies only the path from the root to
+ * one leaf, at most {@code log32(n)} small arrays, so every older version stays valid and can be
+ * handed to readers without copying. Lookups walk the same short path.
+ * </p>
+ *
+ * <p>Removing from the middle has no shared-structure shortcut in this layout and rebuilds the
+ * vector, which costs the same O(n) as removing from an {@link java.util.ArrayList}.</p>
+ *
+ * <p>Example usage:</p>
+ * <pre>
+ * PersistentVector&lt;String&gt; v1 = PersistentVector.&lt;String&gt;empty().append("a");
+ * PersistentVector&lt;String&gt; v2 = v1.append("b");
+ * v1.size(); // 1, unaffected by v2
+ * </pre>
+ *
+ * @param <T> the element type
+ */
+final class PersistentVector<T> extends AbstractList<T> implements RandomAccess {
+    private static final int BITS = 5;
+    private static final int WIDTH = 1 << BITS;
+    private static final int MASK = WIDTH - 1;
+    private static final PersistentVector<?> EMPTY = new PersistentVector<>(0, BITS, new Object[WIDTH], new Object[0]);
+
+    private final int size;
+    private final int shift;
+    private final Object[] root;
+    private final Object[] tail;
+
+    private PersistentVector(int size, int shift, Object[] root, Object[] tail) {
+        this.size = size;
+        this.shift = shift;
+        this.root = root;
+        this.tail = tail;
+    }
+
+    @SuppressWarnings("unchecked")
+    static <T> PersistentVector<T> empty() {
+        return (PersistentVector<T>) EMPTY;
+    }
+
+    /**
+     * Builds a vector holding the given elements, in order.
+     *
+     * @param elements the elements
+     * @param <T>      the element type
+     * @return the vector
+     */
+    static <T> PersistentVector<T> of(Iterable<? extends T> elements) {
+        PersistentVector<T> v = empty();
+        for (T e : elements) {
+            v = v.append(e);
+        }
+        return v;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T get(int i) {
+        if (i < 0 || i >= size) {
+            throw new IndexOutOfBoundsException("Index " + i + " out of bounds for length " + size);
+        }
+        return (T) leafFor(i)[i & MASK];
+    }
+
+    /**
+     * Returns a vector with {@code value} added at the end.
+     *
+     * @param value the element to add
+     * @return the new vector; this one is unchanged
+     */
+    PersistentVector<T> append(T value) {
+        if (size - tailOffset() < WIDTH) {
+            Object[] newTail = Arrays.copyOf(tail, tail.length + 1);
+            newTail[tail.length] = value;
+            return new PersistentVector<>(size + 1, shift, root, newTail);
+        }
+        // The tail is full: push it into the trie and start a new one.
+        Object[] newRoot;
+        int newShift = shift;
+        if ((size >>> BITS) > (1 << shift)) {
+            newRoot = new Object[WIDTH];
+            newRoot[0] = root;
+            newRoot[1] = newPath(shift, tail);
+            newShift += BITS;
+        } else {
+            newRoot = pushTail(shift, root, tail);
+        }
+        return new PersistentVector<>(size + 1, newShift, newRoot, new Object[] {value});
+    }
+
+    /**
+     * Returns a vector with the element at {@code i} replaced by {@code value}.
+     *
+     * @param i     the index to replace
+     * @param value the new element
+     * @return the new vector; this one is unchanged
+     */
+    PersistentVector<T> with(int i, T value) {
+        if (i < 0 || i >= size) {
+            throw new IndexOutOfBoundsException("Index " + i + " out of bounds for length " + size);
+        }
+        if (i >= tailOffset()) {
+            Object[] newTail = tail.clone();
+            newTail[i & MASK] = value;
+            return new PersistentVector<>(size, shift, root, newTail);
+        }
+        return new PersistentVector<>(size, shift, assoc(shift, root, i, value), tail);
+    }
+
+    /**
+     * Returns a vector without the element at {@code i}.
+     *
+     * @param i the index to remove
+     * @return the new vector; this one is unchanged
+     */
+    PersistentVector<T> without(int i) {
+        if (i < 0 || i >= size) {
+            throw new IndexOutOfBoundsException("Index " + i + " out of bounds for length " + size);
+        }
+        if (i == size - 1 && tail.length > 1) {
+            return new PersistentVector<>(size - 1, shift, root, Arrays.copyOf(tail, tail.length - 1));
+        }
+        PersistentVector<T> v = empty();
+        for (int j = 0; j < size; j++) {
+            if (j != i) {
+                v = v.append(get(j));
+            }
+        }
+        return v;
+    }
+
+    /* =========================
+     * Helpers (single concerns)
+     * ========================= */
+
+    private int tailOffset() {
+        return size < WIDTH ? 0 : ((size - 1) >>> BITS) << BITS;
+    }
+
+    private Object[] leafFor(int i) {
+        if (i >= tailOffset()) {
+            return tail;
+        }
+        Object[] node = root;
+        for (int level = shift; level > 0; level -= BITS) {
+            node = (Object[]) node[(i >>> level) & MASK];
+        }
+        return node;
+    }
+
+    private Object[] pushTail(int level, Object[] parent, Object[] tailNode) {
+        int sub = ((size - 1) >>> level) & MASK;
+        Object[] copy = parent.clone();
+        if (level == BITS) {
+            copy[sub] = tailNode;
+        } else {
+            Object[] child = (Object[]) parent[sub];
+            copy[sub] = child != null ? pushTail(level - BITS, child, tailNode) : newPath(level - BITS, tailNode);
+        }
+        return copy;
+    }
+
+    private static Object[] newPath(int level, Object[] node) {
+        if (level == 0) {
+            return node;
+        }
+        Object[] path = new Object[WIDTH];
+        path[0] = newPath(level - BITS, node);
+        return path;
+    }
+
+    private static Object[] assoc(int level, Object[] node, int i, Object value) {
+        Object[] copy = node.clone();
+        if (level == 0) {
+            copy[i & MASK] = value;
+        } else {
+            int sub = (i >>> level) & MASK;
+            copy[sub] = assoc(level - BITS, (Object[]) node[sub], i, value);
+        }
+        return copy;
+    }
+}
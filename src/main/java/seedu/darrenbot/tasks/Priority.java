@@ -0,0 +1,54 @@
+package seedu.darrenbot.tasks;
+
+import java.util.Locale;
+
+/**
+ * How important a task is, independent of when it is due.
+ * <p>
+ * Each level counts as a number of days of urgency, so a high priority task with no date is
+ * suggested by {@code next} before a deadline a few days away; see {@link UrgencyQueue}.
+ * </p>
+ */
+public enum Priority {
+    NONE(0), LOW(3), MEDIUM(7), HIGH(14);
+
+    private final int days;
+
+    Priority(int days) {
+        this.days = days;
+    }
+
+    /**
+     * Returns how many days earlier than its due date a task of this priority is treated as due.
+     *
+     * @return the head start in days
+     */
+    public int getDays() {
+        return days;
+    }
+
+    /**
+     * Returns the lower-case name used in commands and storage, e.g. {@code high}.
+     *
+     * @return the name
+     */
+    public String label() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Parses a priority as typed, e.g. {@code high}, {@code h} or {@code 3}.
+     *
+     * @param text the priority name, its first letter, or its level from 0 to 3
+     * @return the priority, or {@code null} if the text names none
+     */
+    public static Priority parse(String text) {
+        String t = text.trim().toLowerCase(Locale.ROOT);
+        for (Priority p : values()) {
+            if (t.equals(p.label()) || t.equals(p.label().substring(0, 1)) || t.equals(String.valueOf(p.ordinal()))) {
+                return p;
+            }
+        }
+        return null;
+    }
+}
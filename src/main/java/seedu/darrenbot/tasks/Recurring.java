@@ -0,0 +1,152 @@
+package seedu.darrenbot.tasks;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.TextStyle;
+import java.time.temporal.ChronoUnit;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.stream.Stream;
+
+/**
+ * Represents a task that repeats every fixed number of days, such as "every Monday".
+ * <p>
+ * A {@code Recurring} task stores only its rule: the date of its first occurrence and
+ * the number of days between occurrences. Individual occurrences are never stored; they are
+ * computed on demand, so a rule that repeats forever costs the same as a single deadline.
+ * It is displayed with an "[R]" tag when listed.
+ * </p>
+ *
+ * <p>Example:</p>
+ * <pre>
+ * Recurring r = new Recurring("gym", LocalDate.of(2025, 10, 20), 7);
+ * System.out.println(r);
+ * // Output: [R][ ] gym (every Monday from Oct 20 2025)
+ * r.nextOccurrence(LocalDate.of(2025, 10, 22)); // 2025-10-27
+ * </pre>
+ */
+public class Recurring extends Task {
+    private static final int DAYS_PER_WEEK = 7;
+
+    private final LocalDate start;
+    private final int intervalDays;
+    private final String taskType;
+
+    /**
+     * Constructs a {@code Recurring} task with the given description and rule.
+     *
+     * @param description  the description of the task
+     * @param start        the date of the first occurrence
+     * @param intervalDays the number of days between occurrences; must be positive
+     */
+    public Recurring(String description, LocalDate start, int intervalDays) {
+        super(description);
+        assert intervalDays > 0 : "A recurring task must move forward in time";
+        this.start = start;
+        this.intervalDays = intervalDays;
+        this.taskType = "recurring";
+    }
+
+    public String getTaskType() {
+        return this.taskType;
+    }
+
+    public LocalDate getStart() {
+        return this.start;
+    }
+
+    public int getIntervalDays() {
+        return this.intervalDays;
+    }
+
+    /**
+     * Returns the first occurrence on or after the given date.
+     * <p>
+     * This is computed directly from the rule, without stepping through earlier occurrences.
+     * </p>
+     *
+     * @param date the earliest acceptable date
+     * @return the next occurrence
+     */
+    public LocalDate nextOccurrence(LocalDate date) {
+        if (!date.isAfter(start)) {
+            return start;
+        }
+        long elapsed = ChronoUnit.DAYS.between(start, date);
+        long steps = (elapsed + intervalDays - 1) / intervalDays;
+        return start.plusDays(steps * intervalDays);
+    }
+
+    /**
+     * Returns an endless iterator over the occurrences on or after the given date, in order.
+     *
+     * @param from the earliest date to produce
+     * @return a lazy iterator over occurrence dates
+     */
+    public Iterator<LocalDate> occurrences(LocalDate from) {
+        LocalDate first = nextOccurrence(from);
+        return new Iterator<>() {
+            private LocalDate next = first;
+
+            @Override
+            public boolean hasNext() {
+                return true;
+            }
+
+            @Override
+            public LocalDate next() {
+                LocalDate current = next;
+                next = next.plusDays(intervalDays);
+                return current;
+            }
+        };
+    }
+
+    /**
+     * Returns the occurrences between two dates, both inclusive, as a lazy stream.
+     *
+     * @param from the first date of the range
+     * @param to   the last date of the range
+     * @return the occurrences in the range, in order
+     */
+    public Stream<LocalDate> occurrencesBetween(LocalDate from, LocalDate to) {
+        return Stream.iterate(nextOccurrence(from), d -> !d.isAfter(to), d -> d.plusDays(intervalDays));
+    }
+
+    /**
+     * Describes the rule in words, e.g. {@code every day}, {@code every Monday} or {@code every 3 days}.
+     *
+     * @return the rule description
+     */
+    public String describeRule() {
+        if (intervalDays == 1) {
+            return "every day";
+        }
+        if (intervalDays == DAYS_PER_WEEK) {
+            return "every " + start.getDayOfWeek().getDisplayName(TextStyle.FULL, Locale.ENGLISH);
+        }
+        if (intervalDays % DAYS_PER_WEEK == 0) {
+            return "every " + intervalDays / DAYS_PER_WEEK + " weeks";
+        }
+        return "every " + intervalDays + " days";
+    }
+
+    /**
+     * Returns the string representation of the recurring task.
+     * <p>
+     * The format includes:
+     * <ul>
+     *   <li>An "[R]" prefix to indicate it is a recurring task.</li>
+     *   <li>The base task string from {@link Task#toString()}.</li>
+     *   <li>The rule and the date of the first occurrence formatted as "MMM d yyyy".</li>
+     * </ul>
+     * </p>
+     *
+     * @return the string representation of this recurring task
+     */
+    @Override
+    public String toString() {
+        return "[R]" + super.toString() + " (" + describeRule() + " from "
+                + this.start.format(DateTimeFormatter.ofPattern("MMM d yyyy")) + ")";
+    }
+}
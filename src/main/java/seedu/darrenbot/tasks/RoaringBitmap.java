@@ -0,0 +1,465 @@
+package seedu.darrenbot.tasks;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * A compressed set of non-negative integers in the style of Roaring bitmaps.
+ * <p>
+ * Values are split by their high 16 bits into chunks of 65536. Each chunk is stored in whichever
+ * container is smaller: a sorted array of the low 16 bits while it holds at most
+ * {@value #ARRAY_MAX} values, and a 65536-bit bitmap above that. Sparse sets therefore cost two
+ * bytes per value and dense ones one bit per value, and {@link #and}, {@link #or} and
+ * {@link #andNot} work a chunk at a time, a 64-bit word at a time within dense chunks.
+ * </p>
+ *
+ * <p>Bitmaps returned by the set operations share nothing with their inputs, so any of them may
+ * be changed afterwards.</p>
+ *
+ * <p>Example usage:</p>
+ * <pre>
+ * RoaringBitmap work = new RoaringBitmap();
+ * work.add(3);
+ * work.add(70000);
+ * RoaringBitmap both = RoaringBitmap.and(work, urgent);
+ * both.forEach(slot -&gt; System.out.println(slot));
+ * </pre>
+ */
+public class RoaringBitmap {
+    /** Most values an array container holds before it becomes a bitmap container. */
+    static final int ARRAY_MAX = 4096;
+
+    private char[] keys = new char[0];
+    private Container[] containers = new Container[0];
+    private int size;
+
+    /**
+     * Adds a value.
+     *
+     * @param x the value; must not be negative
+     * @return {@code true} if it was not already present
+     */
+    public boolean add(int x) {
+        assert x >= 0 : "Only non-negative values can be stored";
+        char high = (char) (x >>> 16);
+        int i = find(high);
+        if (i < 0) {
+            i = -i - 1;
+            insert(i, high, new ArrayContainer());
+        }
+        Container c = containers[i];
+        int before = c.cardinality();
+        containers[i] = c.add((char) x);
+        return containers[i].cardinality() > before;
+    }
+
+    /**
+     * Removes a value.
+     *
+     * @param x the value
+     * @return {@code true} if it was present
+     */
+    public boolean remove(int x) {
+        int i = x < 0 ? -1 : find((char) (x >>> 16));
+        if (i < 0) {
+            return false;
+        }
+        Container c = containers[i];
+        int before = c.cardinality();
+        containers[i] = c.remove((char) x);
+        int after = containers[i].cardinality();
+        if (after == 0) {
+            System.arraycopy(keys, i + 1, keys, i, size - i - 1);
+            System.arraycopy(containers, i + 1, containers, i, size - i - 1);
+            containers[--size] = null;
+        }
+        return after < before;
+    }
+
+    /**
+     * Returns whether a value is present.
+     *
+     * @param x the value
+     * @return {@code true} if it was added and not removed since
+     */
+    public boolean contains(int x) {
+        int i = x < 0 ? -1 : find((char) (x >>> 16));
+        return i >= 0 && containers[i].contains((char) x);
+    }
+
+    /**
+     * Returns the number of values in the set.
+     *
+     * @return the cardinality
+     */
+    public int cardinality() {
+        int n = 0;
+        for (int i = 0; i < size; i++) {
+            n += containers[i].cardinality();
+        }
+        return n;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Passes every value to {@code action}, in ascending order.
+     *
+     * @param action receives each value
+     */
+    public void forEach(IntConsumer action) {
+        for (int i = 0; i < size; i++) {
+            containers[i].forEach(keys[i] << 16, action);
+        }
+    }
+
+    /**
+     * Returns the values present in both bitmaps.
+     *
+     * @param a a bitmap
+     * @param b another bitmap
+     * @return a new bitmap holding the intersection
+     */
+    public static RoaringBitmap and(RoaringBitmap a, RoaringBitmap b) {
+        RoaringBitmap out = new RoaringBitmap();
+        int i = 0;
+        int j = 0;
+        while (i < a.size && j < b.size) {
+            if (a.keys[i] < b.keys[j]) {
+                i++;
+            } else if (a.keys[i] > b.keys[j]) {
+                j++;
+            } else {
+                out.append(a.keys[i], Container.and(a.containers[i], b.containers[j]));
+                i++;
+                j++;
+            }
+        }
+        return out;
+    }
+
+    /**
+     * Returns the values present in either bitmap.
+     *
+     * @param a a bitmap
+     * @param b another bitmap
+     * @return a new bitmap holding the union
+     */
+    public static RoaringBitmap or(RoaringBitmap a, RoaringBitmap b) {
+        RoaringBitmap out = new RoaringBitmap();
+        int i = 0;
+        int j = 0;
+        while (i < a.size || j < b.size) {
+            if (j == b.size || (i < a.size && a.keys[i] < b.keys[j])) {
+                out.append(a.keys[i], a.containers[i].copy());
+                i++;
+            } else if (i == a.size || a.keys[i] > b.keys[j]) {
+                out.append(b.keys[j], b.containers[j].copy());
+                j++;
+            } else {
+                out.append(a.keys[i], Container.or(a.containers[i], b.containers[j]));
+                i++;
+                j++;
+            }
+        }
+        return out;
+    }
+
+    /**
+     * Returns the values present in {@code a} but not in {@code b}.
+     *
+     * @param a the bitmap to take values from
+     * @param b the values to leave out
+     * @return a new bitmap holding the difference
+     */
+    public static RoaringBitmap andNot(RoaringBitmap a, RoaringBitmap b) {
+        RoaringBitmap out = new RoaringBitmap();
+        int j = 0;
+        for (int i = 0; i < a.size; i++) {
+            while (j < b.size && b.keys[j] < a.keys[i]) {
+                j++;
+            }
+            boolean isShared = j < b.size && b.keys[j] == a.keys[i];
+            Container c = a.containers[i];
+            out.append(a.keys[i], isShared ? Container.andNot(c, b.containers[j]) : c.copy());
+        }
+        return out;
+    }
+
+    /* =========================
+     * Helpers (single concerns)
+     * ========================= */
+
+    private int find(char high) {
+        return Arrays.binarySearch(keys, 0, size, high);
+    }
+
+    private void insert(int at, char high, Container c) {
+        if (size == keys.length) {
+            int grown = Math.max(4, size * 2);
+            keys = Arrays.copyOf(keys, grown);
+            containers = Arrays.copyOf(containers, grown);
+        }
+        System.arraycopy(keys, at, keys, at + 1, size - at);
+        System.arraycopy(containers, at, containers, at + 1, size - at);
+        keys[at] = high;
+        containers[at] = c;
+        size++;
+    }
+
+    /** Appends a chunk above every existing one, dropping it if it is empty. */
+    private void append(char high, Container c) {
+        if (c.cardinality() > 0) {
+            insert(size, high, c);
+        }
+    }
+
+    /** The values of one 65536-value chunk. */
+    private abstract static class Container {
+        abstract int cardinality();
+
+        abstract boolean contains(char v);
+
+        /** Adds a value and returns the container now holding the chunk, which may be a new one. */
+        abstract Container add(char v);
+
+        /** Removes a value and returns the container now holding the chunk, which may be a new one. */
+        abstract Container remove(char v);
+
+        abstract Container copy();
+
+        abstract void forEach(int base, IntConsumer action);
+
+        static Container and(Container a, Container b) {
+            if (a instanceof ArrayContainer x) {
+                return x.filter(b, true);
+            }
+            if (b instanceof ArrayContainer y) {
+                return y.filter(a, true);
+            }
+            return BitmapContainer.combine((BitmapContainer) a, (BitmapContainer) b, Op.AND);
+        }
+
+        static Container or(Container a, Container b) {
+            if (a instanceof ArrayContainer x && b instanceof ArrayContainer y) {
+                return x.union(y);
+            }
+            if (a instanceof BitmapContainer x && b instanceof BitmapContainer y) {
+                return BitmapContainer.combine(x, y, Op.OR);
+            }
+            BitmapContainer dense = (BitmapContainer) (a instanceof BitmapContainer ? a : b).copy();
+            ArrayContainer sparse = (ArrayContainer) (a instanceof ArrayContainer ? a : b);
+            for (int k = 0; k < sparse.cardinality; k++) {
+                dense.add(sparse.values[k]);
+            }
+            return dense;
+        }
+
+        static Container andNot(Container a, Container b) {
+            if (a instanceof ArrayContainer x) {
+                return x.filter(b, false);
+            }
+            if (b instanceof BitmapContainer y) {
+                return BitmapContainer.combine((BitmapContainer) a, y, Op.AND_NOT);
+            }
+            ArrayContainer y = (ArrayContainer) b;
+            Container out = a.copy();
+            for (int k = 0; k < y.cardinality; k++) {
+                out = out.remove(y.values[k]);
+            }
+            return out;
+        }
+    }
+
+    private enum Op {
+        AND, OR, AND_NOT
+    }
+
+    /** A sorted array of the low 16 bits of each value. */
+    private static final class ArrayContainer extends Container {
+        private char[] values;
+        private int cardinality;
+
+        ArrayContainer() {
+            this(new char[4], 0);
+        }
+
+        ArrayContainer(char[] values, int cardinality) {
+            this.values = values;
+            this.cardinality = cardinality;
+        }
+
+        @Override
+        int cardinality() {
+            return cardinality;
+        }
+
+        @Override
+        boolean contains(char v) {
+            return Arrays.binarySearch(values, 0, cardinality, v) >= 0;
+        }
+
+        @Override
+        Container add(char v) {
+            int at = Arrays.binarySearch(values, 0, cardinality, v);
+            if (at >= 0) {
+                return this;
+            }
+            if (cardinality == ARRAY_MAX) {
+                return toBitmap().add(v);
+            }
+            at = -at - 1;
+            if (cardinality == values.length) {
+                values = Arrays.copyOf(values, Math.min(ARRAY_MAX, cardinality * 2));
+            }
+            System.arraycopy(values, at, values, at + 1, cardinality - at);
+            values[at] = v;
+            cardinality++;
+            return this;
+        }
+
+        @Override
+        Container remove(char v) {
+            int at = Arrays.binarySearch(values, 0, cardinality, v);
+            if (at >= 0) {
+                System.arraycopy(values, at + 1, values, at, cardinality - at - 1);
+                cardinality--;
+            }
+            return this;
+        }
+
+        @Override
+        Container copy() {
+            return new ArrayContainer(Arrays.copyOf(values, Math.max(1, cardinality)), cardinality);
+        }
+
+        @Override
+        void forEach(int base, IntConsumer action) {
+            for (int k = 0; k < cardinality; k++) {
+                action.accept(base | values[k]);
+            }
+        }
+
+        /** Keeps the values that are ({@code isKept}) or are not in {@code other}. */
+        ArrayContainer filter(Container other, boolean isKept) {
+            char[] out = new char[Math.max(1, cardinality)];
+            int n = 0;
+            for (int k = 0; k < cardinality; k++) {
+                if (other.contains(values[k]) == isKept) {
+                    out[n++] = values[k];
+                }
+            }
+            return new ArrayContainer(out, n);
+        }
+
+        Container union(ArrayContainer other) {
+            char[] out = new char[cardinality + other.cardinality];
+            int i = 0;
+            int j = 0;
+            int n = 0;
+            while (i < cardinality || j < other.cardinality) {
+                if (j == other.cardinality || (i < cardinality && values[i] < other.values[j])) {
+                    out[n++] = values[i++];
+                } else if (i == cardinality || values[i] > other.values[j]) {
+                    out[n++] = other.values[j++];
+                } else {
+                    out[n++] = values[i++];
+                    j++;
+                }
+            }
+            ArrayContainer merged = new ArrayContainer(out, n);
+            return n > ARRAY_MAX ? merged.toBitmap() : merged;
+        }
+
+        BitmapContainer toBitmap() {
+            BitmapContainer b = new BitmapContainer();
+            for (int k = 0; k < cardinality; k++) {
+                b.add(values[k]);
+            }
+            return b;
+        }
+    }
+
+    /** One bit for each of the 65536 values of the chunk. */
+    private static final class BitmapContainer extends Container {
+        private final long[] words;
+        private int cardinality;
+
+        BitmapContainer() {
+            this(new long[1024], 0);
+        }
+
+        BitmapContainer(long[] words, int cardinality) {
+            this.words = words;
+            this.cardinality = cardinality;
+        }
+
+        @Override
+        int cardinality() {
+            return cardinality;
+        }
+
+        @Override
+        boolean contains(char v) {
+            return (words[v >>> 6] & (1L << v)) != 0;
+        }
+
+        @Override
+        Container add(char v) {
+            if (!contains(v)) {
+                words[v >>> 6] |= 1L << v;
+                cardinality++;
+            }
+            return this;
+        }
+
+        @Override
+        Container remove(char v) {
+            if (contains(v)) {
+                words[v >>> 6] &= ~(1L << v);
+                cardinality--;
+            }
+            return cardinality <= ARRAY_MAX ? toArray() : this;
+        }
+
+        @Override
+        Container copy() {
+            return new BitmapContainer(words.clone(), cardinality);
+        }
+
+        @Override
+        void forEach(int base, IntConsumer action) {
+            for (int w = 0; w < words.length; w++) {
+                long word = words[w];
+                while (word != 0) {
+                    action.accept(base | (w << 6) | Long.numberOfTrailingZeros(word));
+                    word &= word - 1;
+                }
+            }
+        }
+
+        static Container combine(BitmapContainer a, BitmapContainer b, Op op) {
+            long[] out = new long[a.words.length];
+            int n = 0;
+            for (int w = 0; w < out.length; w++) {
+                out[w] = switch (op) {
+                case AND -> a.words[w] & b.words[w];
+                case OR -> a.words[w] | b.words[w];
+                case AND_NOT -> a.words[w] & ~b.words[w];
+                };
+                n += Long.bitCount(out[w]);
+            }
+            BitmapContainer c = new BitmapContainer(out, n);
+            return n <= ARRAY_MAX ? c.toArray() : c;
+        }
+
+        ArrayContainer toArray() {
+            char[] values = new char[Math.max(1, cardinality)];
+            int[] n = {0};
+            forEach(0, v -> values[n[0]++] = (char) v);
+            return new ArrayContainer(values, cardinality);
+        }
+    }
+}
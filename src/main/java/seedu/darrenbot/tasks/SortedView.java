@@ -0,0 +1,135 @@
+package seedu.darrenbot.tasks;
+
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * A filtered, sorted view of a {@link TaskList} that is kept in order as the list changes.
+ * <p>
+ * The view holds the matching tasks in an {@link OrderStatisticTree}, ordered by a sort key and
+ * then by list order. As a {@link TaskListener}, it moves only the task that changed, in
+ * O(log n), instead of re-sorting on every request; reading the first {@code k} tasks costs
+ * O(log n + k).
+ * </p>
+ *
+ * <p>Sort keys are taken when a task is added or reported changed. A recurring task sorted by
+ * date therefore keeps the next occurrence it had at that time.</p>
+ *
+ * <p>Example usage:</p>
+ * <pre>
+ * SortedView&lt;Boolean&gt; byStatus = new SortedView&lt;&gt;(t -&gt; true, Task::isDone);
+ * tasks.addView("sort:done", byStatus);
+ * List&lt;Task&gt; firstTen = byStatus.first(10);
+ * </pre>
+ *
+ * @param <K> the sort key type
+ */
+public class SortedView<K extends Comparable<? super K>> implements TaskListener {
+    private final Predicate<Task> filter;
+    private final Function<Task, K> keyOf;
+    private final OrderStatisticTree<Entry<K>> tree;
+    /** Position of every task in list order, including tasks the filter currently excludes. */
+    private final Map<Task, Long> sequence = new IdentityHashMap<>();
+    private final Map<Task, Entry<K>> entries = new IdentityHashMap<>();
+    private long nextSequence;
+
+    /**
+     * Constructs an empty view.
+     *
+     * @param filter which tasks belong in the view
+     * @param keyOf  the sort key of a task; ties keep list order
+     */
+    public SortedView(Predicate<Task> filter, Function<Task, K> keyOf) {
+        this.filter = filter;
+        this.keyOf = keyOf;
+        Comparator<Entry<K>> order = Comparator.comparing((Entry<K> e) -> e.key)
+                .thenComparingLong(e -> e.sequence);
+        this.tree = new OrderStatisticTree<>(order);
+    }
+
+    /**
+     * Returns the first {@code k} tasks of the view, in order.
+     *
+     * @param k the maximum number of tasks
+     * @return the tasks
+     */
+    public synchronized List<Task> first(int k) {
+        return tree.range(0, k).stream().map(e -> e.task).toList();
+    }
+
+    public synchronized int size() {
+        return tree.size();
+    }
+
+    /**
+     * Renumbers the tie-breaking positions to follow the given list order and re-sorts the view,
+     * in O(n log n). Tasks keep the sort keys they were placed with.
+     *
+     * @param inOrder every task in the list, in list order
+     */
+    synchronized void resequence(List<Task> inOrder) {
+        Map<Task, Entry<K>> placed = new IdentityHashMap<>(entries);
+        placed.values().forEach(tree::remove);
+        entries.clear();
+        sequence.clear();
+        nextSequence = 0;
+        for (Task t : inOrder) {
+            long position = nextSequence++;
+            sequence.put(t, position);
+            Entry<K> old = placed.get(t);
+            if (old != null) {
+                Entry<K> e = new Entry<>(t, old.key, position);
+                entries.put(t, e);
+                tree.add(e);
+            }
+        }
+    }
+
+    @Override
+    public synchronized void onAdded(Task t) {
+        sequence.put(t, nextSequence++);
+        place(t);
+    }
+
+    @Override
+    public synchronized void onRemoved(Task t) {
+        unplace(t);
+        sequence.remove(t);
+    }
+
+    @Override
+    public synchronized void onChanged(Task t) {
+        if (!sequence.containsKey(t)) {
+            onAdded(t);
+            return;
+        }
+        unplace(t);
+        place(t);
+    }
+
+    /* =========================
+     * Helpers (single concerns)
+     * ========================= */
+
+    private void place(Task t) {
+        if (filter.test(t)) {
+            Entry<K> e = new Entry<>(t, keyOf.apply(t), sequence.get(t));
+            entries.put(t, e);
+            tree.add(e);
+        }
+    }
+
+    private void unplace(Task t) {
+        Entry<K> e = entries.remove(t);
+        if (e != null) {
+            tree.remove(e);
+        }
+    }
+
+    private record Entry<K>(Task task, K key, long sequence) {
+    }
+}
@@ -0,0 +1,186 @@
+package seedu.darrenbot.tasks;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A thread-safe, weakly-referenced pool of canonical strings.
+ * <p>
+ * Task lists tend to repeat the same text many times ("sleep", "now", "tmr"), and every line
+ * parsed from storage or typed by the user otherwise becomes its own {@link String}. Passing text
+ * through {@link #intern(String)} returns one shared instance per distinct value, so duplicates can
+ * be collected. Entries are held weakly: once no task refers to a string, it drops out of the pool.
+ * </p>
+ *
+ * <p>Unlike {@link String#intern()}, the pool is an ordinary heap object backed by a
+ * {@link ConcurrentHashMap}, so it is safe to use from the parallel loader and keeps
+ * counters for the {@code memory} report.</p>
+ *
+ * <p>Each pooled string costs a weak reference and a map node, about
+ * {@value #ENTRY_OVERHEAD_BYTES} bytes, whether or not it is ever shared. Only pass text that is
+ * likely to repeat, such as tags and event times; a long, unique description would cost more
+ * than it could save.</p>
+ *
+ * <p>Example usage:</p>
+ * <pre>
+ * StringInterner pool = StringInterner.shared();
+ * String a = pool.intern(new String("sleep"));
+ * String b = pool.intern(new String("sleep"));
+ * assert a == b;
+ * </pre>
+ */
+public final class StringInterner {
+    private static final StringInterner SHARED = new StringInterner();
+
+    private static final int STRING_HEADER_BYTES = 24;
+    private static final int ARRAY_HEADER_BYTES = 16;
+    /** Estimated heap cost of one pool entry: its weak key, map node and table slot. */
+    private static final int ENTRY_OVERHEAD_BYTES = 72;
+
+    private final ConcurrentHashMap<Key, Key> table = new ConcurrentHashMap<>();
+    private final ReferenceQueue<String> cleared = new ReferenceQueue<>();
+    private final LongAdder lookups = new LongAdder();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder bytesAvoided = new LongAdder();
+
+    /**
+     * Returns the pool shared by every task in the application.
+     *
+     * @return the shared pool
+     */
+    public static StringInterner shared() {
+        return SHARED;
+    }
+
+    /**
+     * Returns the canonical instance equal to {@code s}, adding {@code s} to the pool if it is new.
+     *
+     * @param s the string to intern; may be {@code null}
+     * @return the pooled string, or {@code null} if {@code s} is {@code null}
+     */
+    public String intern(String s) {
+        if (s == null) {
+            return null;
+        }
+        expungeCleared();
+        lookups.increment();
+        Key probe = new Key(s, null);
+        while (true) {
+            Key existing = table.get(probe);
+            if (existing != null) {
+                String canonical = existing.get();
+                if (canonical != null) {
+                    if (canonical != s) {
+                        hits.increment();
+                        bytesAvoided.add(estimateBytes(s));
+                    }
+                    return canonical;
+                }
+                table.remove(existing, existing); // collected but not yet expunged
+                continue;
+            }
+            Key key = new Key(s, cleared);
+            if (table.putIfAbsent(key, key) == null) {
+                return s;
+            }
+        }
+    }
+
+    /**
+     * Returns the number of distinct strings currently in the pool.
+     *
+     * @return the pool size
+     */
+    public int size() {
+        expungeCleared();
+        return table.size();
+    }
+
+    public long getLookupCount() {
+        return lookups.sum();
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * Returns an estimate of the bytes of every duplicate that a lookup replaced with the pooled
+     * instance, added up since the pool was created.
+     * <p>
+     * This is a running total, not what sharing saves now: it never goes down, and text that is
+     * parsed again, e.g. on every reload of the data file, counts again each time even if the
+     * earlier copy is already garbage. It says how much work the pool did, not how much heap it
+     * currently spares.
+     * </p>
+     *
+     * @return the estimated bytes of duplicates avoided so far
+     */
+    public long getBytesAvoided() {
+        return bytesAvoided.sum();
+    }
+
+    /**
+     * Returns an estimate of the heap bytes the pool itself takes for its entries now.
+     *
+     * @return the estimated bytes used by the pool
+     */
+    public long getOverheadBytes() {
+        return (long) size() * ENTRY_OVERHEAD_BYTES;
+    }
+
+    /**
+     * Estimates the shallow heap size of a string and its backing array, assuming
+     * compact strings and 8-byte object alignment.
+     *
+     * @param s the string to measure
+     * @return the estimated size in bytes
+     */
+    static long estimateBytes(String s) {
+        int bytesPerChar = 1;
+        for (int i = 0; i < s.length(); i++) {
+            if (s.charAt(i) > 0xFF) {
+                bytesPerChar = 2;
+                break;
+            }
+        }
+        long array = ARRAY_HEADER_BYTES + (long) s.length() * bytesPerChar;
+        return STRING_HEADER_BYTES + ((array + 7) & ~7L);
+    }
+
+    private void expungeCleared() {
+        Object ref;
+        while ((ref = cleared.poll()) != null) {
+            table.remove(ref, ref);
+        }
+    }
+
+    /** A weak key that compares by the string it refers to while that string is alive. */
+    private static final class Key extends WeakReference<String> {
+        private final int hash;
+
+        Key(String s, ReferenceQueue<String> queue) {
+            super(s, queue);
+            this.hash = s.hashCode();
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key other) || other.hash != hash) {
+                return false;
+            }
+            String mine = get();
+            return mine != null && mine.equals(other.get());
+        }
+    }
+}
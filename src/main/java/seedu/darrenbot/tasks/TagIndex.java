@@ -0,0 +1,140 @@
+package seedu.darrenbot.tasks;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Maps each tag to a {@link RoaringBitmap} of the tasks carrying it, for {@link TaskList}.
+ * <p>
+ * Every task gets a slot number when it is added. Tasks are normally appended to a list, so
+ * slot order is list order and the result of a bitmap query can be read off in list order
+ * without sorting. Removing a task leaves a hole; once holes outnumber tasks the slots are
+ * renumbered and the bitmaps rebuilt. A list that inserts tasks elsewhere than at the end
+ * rebuilds the index with {@link #reset(List)}.
+ * </p>
+ */
+class TagIndex {
+    private final Map<Task, Integer> slots = new IdentityHashMap<>();
+    private final Map<String, RoaringBitmap> byTag = new HashMap<>();
+    private RoaringBitmap live = new RoaringBitmap();
+    private Task[] bySlot = new Task[16];
+    private int nextSlot;
+
+    /** Gives a newly appended task the next slot and indexes its tags. */
+    void add(Task t) {
+        if (nextSlot == bySlot.length) {
+            bySlot = Arrays.copyOf(bySlot, nextSlot * 2);
+        }
+        int slot = nextSlot++;
+        bySlot[slot] = t;
+        slots.put(t, slot);
+        live.add(slot);
+        for (String tag : t.getTags()) {
+            byTag.computeIfAbsent(tag, k -> new RoaringBitmap()).add(slot);
+        }
+    }
+
+    /** Drops a removed task from every bitmap. */
+    void remove(Task t) {
+        Integer slot = slots.remove(t);
+        if (slot == null) {
+            return;
+        }
+        bySlot[slot] = null;
+        live.remove(slot);
+        for (String tag : t.getTags()) {
+            untagged(slot, tag);
+        }
+        if (nextSlot > 2 * slots.size() + 64) {
+            compact();
+        }
+    }
+
+    /** Records that {@code t} now carries {@code tag}. */
+    void tagged(Task t, String tag) {
+        Integer slot = slots.get(t);
+        if (slot != null) {
+            byTag.computeIfAbsent(tag, k -> new RoaringBitmap()).add(slot);
+        }
+    }
+
+    /** Records that {@code t} no longer carries {@code tag}. */
+    void untagged(Task t, String tag) {
+        Integer slot = slots.get(t);
+        if (slot != null) {
+            untagged(slot, tag);
+        }
+    }
+
+    /**
+     * Returns the tasks that have at least one tag of every group and none of the excluded tags.
+     *
+     * @param anyOf    groups of tags; a task must match one tag of each group
+     * @param excluded tags a task must not have
+     * @return the matching tasks, in list order
+     */
+    List<Task> select(List<List<String>> anyOf, List<String> excluded) {
+        RoaringBitmap result = live;
+        for (List<String> group : anyOf) {
+            RoaringBitmap union = new RoaringBitmap();
+            for (String tag : group) {
+                union = RoaringBitmap.or(union, byTag.getOrDefault(tag, union));
+            }
+            result = RoaringBitmap.and(result, union);
+        }
+        for (String tag : excluded) {
+            RoaringBitmap tagged = byTag.get(tag);
+            if (tagged != null) {
+                result = RoaringBitmap.andNot(result, tagged);
+            }
+        }
+        List<Task> found = new ArrayList<>(result.cardinality());
+        result.forEach(slot -> found.add(bySlot[slot]));
+        return found;
+    }
+
+    /**
+     * Returns how many tasks carry each tag.
+     *
+     * @return the counts, keyed by tag
+     */
+    Map<String, Integer> counts() {
+        Map<String, Integer> counts = new HashMap<>();
+        byTag.forEach((tag, bitmap) -> counts.put(tag, bitmap.cardinality()));
+        return counts;
+    }
+
+    private void untagged(int slot, String tag) {
+        RoaringBitmap bitmap = byTag.get(tag);
+        if (bitmap != null && bitmap.remove(slot) && bitmap.isEmpty()) {
+            byTag.remove(tag);
+        }
+    }
+
+    /** Forgets every task and indexes the given ones afresh, numbering their slots in order. */
+    void reset(List<Task> tasks) {
+        slots.clear();
+        byTag.clear();
+        live = new RoaringBitmap();
+        bySlot = new Task[Math.max(16, tasks.size())];
+        nextSlot = 0;
+        for (Task t : tasks) {
+            add(t);
+        }
+    }
+
+    /** Renumbers the remaining tasks from 0, in their current order, and rebuilds the bitmaps. */
+    private void compact() {
+        List<Task> remaining = new ArrayList<>(slots.size());
+        for (int i = 0; i < nextSlot; i++) {
+            if (bySlot[i] != null) {
+                remaining.add(bySlot[i]);
+            }
+        }
+        reset(remaining);
+    }
+}
@@ -1,5 +1,9 @@
 package seedu.darrenbot.tasks;
 
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Locale;
+
 /**
  * Represents a generic task with a description and completion status.
  * <p>
@@ -21,19 +25,32 @@ package seedu.darrenbot.tasks;
  * </pre>
  */
 public class Task {
+    private static final String[] NO_TAGS = new String[0];
+    /** Longest description shared through the {@link StringInterner}. */
+    private static final int MAX_SHARED_DESCRIPTION = 24;
+
     protected String description;
     protected boolean isDone;
+    /** The day the current status began, or {@code null} if unknown. */
+    private LocalDate statusSince;
+    /** Lower-case tags without the leading {@code #}, sorted; shared while empty. */
+    private String[] tags = NO_TAGS;
+    private Priority priority = Priority.NONE;
 
     /**
      * Constructs a new {@code Task} with the given description.
      * <p>
-     * By default, a newly created task is marked as not done.
+     * By default, a newly created task is marked as not done. Short descriptions, which are the
+     * ones that tend to repeat ("sleep", "gym"), are shared through {@link StringInterner} so
+     * they are stored once; longer ones are kept as they are rather than cost a pool entry each.
      * </p>
      *
      * @param description the description of the task
      */
     public Task(String description) {
-        this.description = description;
+        this.description = description != null && description.length() <= MAX_SHARED_DESCRIPTION
+                ? StringInterner.shared().intern(description)
+                : description;
         this.isDone = false;
     }
 
@@ -41,6 +58,9 @@ public class Task {
      * Marks this task as not done.
      */
     public void undo() {
+        if (this.isDone) {
+            this.statusSince = LocalDate.now();
+        }
         this.isDone = false;
     }
 
@@ -48,9 +68,147 @@ public class Task {
      * Marks this task as done.
      */
     public void redo() {
+        if (!this.isDone) {
+            this.statusSince = LocalDate.now();
+        }
         this.isDone = true;
     }
 
+    /**
+     * Restores a saved completion status without treating it as a new change.
+     *
+     * @param isDone      whether the task is done
+     * @param statusSince the day that status began, or {@code null} if unknown
+     */
+    public void restoreStatus(boolean isDone, LocalDate statusSince) {
+        this.isDone = isDone;
+        this.statusSince = statusSince;
+    }
+
+    /**
+     * Returns the day the current status began, i.e. when the task was last marked or unmarked.
+     *
+     * @return the day, or {@code null} if it is not known
+     */
+    public LocalDate getStatusSince() {
+        return this.statusSince;
+    }
+
+    /**
+     * Returns the day this task was completed.
+     *
+     * @return the completion day, or {@code null} if the task is not done or the day is not known
+     */
+    public LocalDate getDoneOn() {
+        return this.isDone ? this.statusSince : null;
+    }
+
+    public String getDescription() {
+        return this.description;
+    }
+
+    /**
+     * Returns the type name of this task as used in storage and queries,
+     * e.g. {@code todo}; plain tasks report {@code task}.
+     *
+     * @return the task type name
+     */
+    public String getTaskType() {
+        return "task";
+    }
+
+    public Priority getPriority() {
+        return this.priority;
+    }
+
+    public void setPriority(Priority priority) {
+        this.priority = priority;
+    }
+
+    /**
+     * Returns this task's tags, sorted and without the leading {@code #}.
+     *
+     * @return a copy of the tags; empty if there are none
+     */
+    public String[] getTags() {
+        return tags.clone();
+    }
+
+    /**
+     * Returns whether this task carries a tag.
+     *
+     * @param tag the tag, with or without a leading {@code #}, in any case
+     * @return {@code true} if the task has the tag
+     */
+    public boolean hasTag(String tag) {
+        return Arrays.binarySearch(tags, normaliseTag(tag)) >= 0;
+    }
+
+    /**
+     * Adds a tag.
+     *
+     * @param tag the tag, with or without a leading {@code #}, in any case
+     * @return {@code true} if the task did not have it already
+     */
+    public boolean addTag(String tag) {
+        String t = StringInterner.shared().intern(normaliseTag(tag));
+        int at = Arrays.binarySearch(tags, t);
+        if (at >= 0) {
+            return false;
+        }
+        at = -at - 1;
+        String[] grown = new String[tags.length + 1];
+        System.arraycopy(tags, 0, grown, 0, at);
+        grown[at] = t;
+        System.arraycopy(tags, at, grown, at + 1, tags.length - at);
+        tags = grown;
+        return true;
+    }
+
+    /**
+     * Removes a tag.
+     *
+     * @param tag the tag, with or without a leading {@code #}, in any case
+     * @return {@code true} if the task had it
+     */
+    public boolean removeTag(String tag) {
+        int at = Arrays.binarySearch(tags, normaliseTag(tag));
+        if (at < 0) {
+            return false;
+        }
+        String[] shrunk = tags.length == 1 ? NO_TAGS : new String[tags.length - 1];
+        System.arraycopy(tags, 0, shrunk, 0, at);
+        System.arraycopy(tags, at + 1, shrunk, at, tags.length - at - 1);
+        tags = shrunk;
+        return true;
+    }
+
+    /**
+     * Returns whether {@code tag} can be used as a tag: letters, digits, {@code -} and {@code _}
+     * after an optional leading {@code #}.
+     *
+     * @param tag the tag as typed
+     * @return {@code true} if it is well formed
+     */
+    public static boolean isValidTag(String tag) {
+        return normaliseTag(tag).matches("[\\p{L}\\p{N}_-]+");
+    }
+
+    /**
+     * Returns a tag as it is stored: lower case and without a leading {@code #}.
+     *
+     * @param tag the tag as typed, e.g. {@code #Work}
+     * @return the stored form, e.g. {@code work}
+     */
+    public static String normaliseTag(String tag) {
+        String t = tag.startsWith("#") ? tag.substring(1) : tag;
+        return t.toLowerCase(Locale.ROOT);
+    }
+
+    public boolean isDone() {
+        return this.isDone;
+    }
+
     /**
      * Returns the status icon of the task.
      * <p>
@@ -67,14 +225,21 @@ public class Task {
     /**
      * Returns the string representation of the task.
      * <p>
-     * The format includes the status icon and the task description.
-     * Example: {@code [X] read book}
+     * The format includes the status icon, the task description, its priority if it has one,
+     * and any tags. Example: {@code [X] read book !low #leisure}
      * </p>
      *
      * @return the string representation of this task
      */
     @Override
     public String toString() {
-        return "[" + this.getStatusIcon() + "] " + this.description;
+        StringBuilder sb = new StringBuilder("[").append(this.getStatusIcon()).append("] ").append(this.description);
+        if (priority != Priority.NONE) {
+            sb.append(" !").append(priority.label());
+        }
+        for (String tag : tags) {
+            sb.append(" #").append(tag);
+        }
+        return sb.toString();
     }
 }
@@ -1,8 +1,18 @@
 package seedu.darrenbot.tasks;
 
+import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * Represents a collection of {@link Task} objects.
@@ -12,9 +22,35 @@ import java.util.List;
  * This class is the in-memory model of all tasks managed
  * during the execution of the program.
  * </p>
+ *
+ * <p>The tasks are held in a {@link PersistentVector}, so {@link #snapshot()} is O(1): readers
+ * such as {@code list}, {@code find} and storage rewrites get an immutable, consistent view that
+ * later adds and removes never disturb. Writers are serialised with each other but never wait
+ * for readers. Snapshots share the {@link Task} objects themselves, so marking a task is visible
+ * through every snapshot that contains it.</p>
+ *
+ * <p>Every change is made, and every {@link TaskListener} told about it, while holding this
+ * list's monitor. Snapshots, {@link #indexOf}, {@link #getView} and {@link #getModCount} need no
+ * lock, and sorted views guard themselves, so read-only commands never wait for a change. Other
+ * listeners, such as search indexes, are not thread-safe, so code reading them from another
+ * thread synchronizes on the list. Code that also holds the lock of the list's storage must take
+ * that first.</p>
  */
 public class TaskList {
-    private final ArrayList<Task> tasks;
+    private volatile PersistentVector<Task> tasks;
+    /**
+     * Index of every task in {@link #tasks}, so tasks picked from the list are numbered in O(1)
+     * each. Tasks do not override {@code equals}, so keys compare by identity.
+     */
+    private final Map<Task, Integer> positions = new ConcurrentHashMap<>();
+    /** Tasks grouped by {@link Task#getTaskType()}, each group in list order. */
+    private final Map<String, Set<Task>> byType = new HashMap<>();
+    private final TagIndex tagIndex = new TagIndex();
+    private final UrgencyQueue urgency = new UrgencyQueue();
+    private final List<TaskListener> listeners = new CopyOnWriteArrayList<>();
+    private final Map<String, SortedView<?>> views = new ConcurrentHashMap<>();
+    /** Bumped by every change to the list or to a task in it; see {@link #getModCount()}. */
+    private volatile long modCount;
 
     /**
      * Constructs a {@code TaskList} with the given list of tasks.
@@ -22,7 +58,13 @@ public class TaskList {
      * @param tasks the initial tasks to populate the list
      */
     public TaskList(ArrayList<Task> tasks) {
-        this.tasks = tasks;
+        publish(PersistentVector.of(tasks), 0, List.of());
+        for (Task t : tasks) {
+            indexType(t);
+            tagIndex.add(t);
+            urgency.onAdded(t);
+        }
+        listeners.add(urgency);
     }
 
     /**
@@ -45,13 +87,45 @@ public class TaskList {
         return tasks.get(i);
     }
 
+    /**
+     * Returns the index of a task in this list, in O(1), e.g. to number the tasks a sorted view or
+     * query picked by the index {@code mark} and {@code delete} take.
+     * <p>
+     * The index is checked against the current snapshot without taking the list's monitor, which
+     * is only waited for if a change is renumbering the tasks at that moment.
+     * </p>
+     *
+     * @param t the task
+     * @return its index, or {@code -1} if it is not in this list
+     */
+    public int indexOf(Task t) {
+        PersistentVector<Task> current = tasks;
+        Integer i = positions.get(t);
+        if (i == null) {
+            return -1; // every task in a published snapshot has a position
+        }
+        if (isAt(current, t, i)) {
+            return i;
+        }
+        synchronized (this) {
+            return positions.getOrDefault(t, -1);
+        }
+    }
+
     /**
      * Adds a new task to the list.
      *
      * @param t the task to add
      */
-    public void add(Task t) {
-        tasks.add(t);
+    public synchronized void add(Task t) {
+        PersistentVector<Task> current = tasks;
+        publish(current.append(t), current.size(), List.of());
+        indexType(t);
+        tagIndex.add(t);
+        modCount++;
+        for (TaskListener l : listeners) {
+            l.onAdded(t);
+        }
     }
 
     /**
@@ -61,17 +135,427 @@ public class TaskList {
      * @return the removed task
      * @throws IndexOutOfBoundsException if the index is out of range
      */
-    public Task remove(int i) {
-        return tasks.remove(i);
+    public synchronized Task remove(int i) {
+        Task removed = tasks.get(i);
+        publish(tasks.without(i), i, List.of(removed));
+        tagIndex.remove(removed);
+        modCount++;
+        Set<Task> group = byType.get(removed.getTaskType());
+        if (group != null) {
+            group.remove(removed);
+        }
+        for (TaskListener l : listeners) {
+            l.onRemoved(removed);
+        }
+        return removed;
+    }
+
+    /**
+     * Marks the task at the specified index as done.
+     *
+     * @param i the index of the task to mark
+     * @return the marked task
+     * @throws IndexOutOfBoundsException if the index is out of range
+     */
+    public synchronized Task mark(int i) {
+        Task t = tasks.get(i);
+        t.redo();
+        modCount++;
+        fireChanged(t);
+        return t;
+    }
+
+    /**
+     * Marks the task at the specified index as not done.
+     *
+     * @param i the index of the task to unmark
+     * @return the unmarked task
+     * @throws IndexOutOfBoundsException if the index is out of range
+     */
+    public synchronized Task unmark(int i) {
+        Task t = tasks.get(i);
+        t.undo();
+        modCount++;
+        fireChanged(t);
+        return t;
+    }
+
+    /**
+     * Sets the completion status of the task at the specified index to one saved elsewhere, such as
+     * by another process sharing the data file.
+     *
+     * @param i      the index of the task
+     * @param isDone whether the task is done
+     * @param since  the day that status began
+     * @return the task
+     * @throws IndexOutOfBoundsException if the index is out of range
+     */
+    public synchronized Task restoreStatus(int i, boolean isDone, LocalDate since) {
+        Task t = tasks.get(i);
+        t.restoreStatus(isDone, since);
+        modCount++;
+        fireChanged(t);
+        return t;
+    }
+
+    /**
+     * Marks or unmarks every selected task in a single pass over the list.
+     * <p>
+     * Tasks that already have the requested status are left alone, so listeners only hear
+     * about tasks that really changed.
+     * </p>
+     *
+     * @param selector which tasks to update
+     * @param isDone   {@code true} to mark the tasks as done, {@code false} to unmark them
+     * @return the indices of the tasks whose status changed, in ascending order
+     */
+    public synchronized int[] setDoneWhere(TaskSelector selector, boolean isDone) {
+        PersistentVector<Task> current = tasks;
+        int[] changed = new int[Math.min(current.size(), 16)];
+        int count = 0;
+        for (int i = 0; i < current.size(); i++) {
+            Task t = current.get(i);
+            if (t.isDone() == isDone || !selector.selects(i, t)) {
+                continue;
+            }
+            if (isDone) {
+                t.redo();
+            } else {
+                t.undo();
+            }
+            modCount++;
+            fireChanged(t);
+            if (count == changed.length) {
+                changed = Arrays.copyOf(changed, count * 2);
+            }
+            changed[count++] = i;
+        }
+        return Arrays.copyOf(changed, count);
+    }
+
+    /**
+     * Removes every selected task in a single pass over the list.
+     * <p>
+     * The remaining tasks are compacted into a new vector once, so removing {@code k} tasks costs
+     * O(n) rather than the O(n * k) of removing them one index at a time.
+     * </p>
+     *
+     * @param selector which tasks to remove
+     * @return the removed tasks, in list order
+     */
+    public synchronized List<Task> removeWhere(TaskSelector selector) {
+        PersistentVector<Task> current = tasks;
+        List<Task> kept = new ArrayList<>(current.size());
+        List<Task> removed = new ArrayList<>();
+        for (int i = 0; i < current.size(); i++) {
+            Task t = current.get(i);
+            (selector.selects(i, t) ? removed : kept).add(t);
+        }
+        if (removed.isEmpty()) {
+            return removed;
+        }
+        publish(PersistentVector.of(kept), 0, removed);
+        modCount++;
+        for (Task t : removed) {
+            Set<Task> group = byType.get(t.getTaskType());
+            if (group != null) {
+                group.remove(t);
+            }
+            tagIndex.remove(t);
+            for (TaskListener l : listeners) {
+                l.onRemoved(t);
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * Replaces the tasks from index {@code from} up to, but not including, {@code to} with others,
+     * such as the tasks another process changed in the data file.
+     * <p>
+     * Listeners hear only about the tasks removed and added. When the range reaches the end of
+     * the list, the type and tag indexes are updated in place; otherwise they are rebuilt, in O(n).
+     * </p>
+     *
+     * @param from the first index to replace
+     * @param to   the index after the last one to replace
+     * @param with the tasks to put in their place, in order
+     * @throws IndexOutOfBoundsException if the range is out of bounds
+     */
+    public synchronized void replaceRange(int from, int to, List<Task> with) {
+        PersistentVector<Task> current = tasks;
+        Objects.checkFromToIndex(from, to, current.size());
+        List<Task> removed = new ArrayList<>(current.subList(from, to));
+        List<Task> next = new ArrayList<>(current.size() - removed.size() + with.size());
+        next.addAll(current.subList(0, from));
+        next.addAll(with);
+        next.addAll(current.subList(to, current.size()));
+        publish(PersistentVector.of(next), from, removed);
+        modCount++;
+        if (to == current.size()) {
+            for (Task t : removed) {
+                Set<Task> group = byType.get(t.getTaskType());
+                if (group != null) {
+                    group.remove(t);
+                }
+                tagIndex.remove(t);
+            }
+            for (Task t : with) {
+                indexType(t);
+                tagIndex.add(t);
+            }
+        } else {
+            byType.clear();
+            for (Task t : next) {
+                indexType(t);
+            }
+            tagIndex.reset(next);
+        }
+        for (TaskListener l : listeners) {
+            removed.forEach(l::onRemoved);
+            with.forEach(l::onAdded);
+        }
+        if (to != current.size()) {
+            // The added tasks were numbered after the ones that now follow them.
+            urgency.resequence(next);
+            views.values().forEach(v -> v.resequence(next));
+        }
+    }
+
+    /**
+     * Updates the start and end of the event at the specified index.
+     *
+     * @param i    the index of the event
+     * @param from the new start
+     * @param to   the new end
+     * @return the updated event
+     * @throws ClassCastException if the task at that index is not an {@link Event}
+     */
+    public synchronized Event updateEvent(int i, String from, String to) {
+        Event e = (Event) tasks.get(i);
+        e.updateEvent(from, to);
+        modCount++;
+        fireChanged(e);
+        return e;
+    }
+
+    /**
+     * Adds tags to the task at the specified index.
+     *
+     * @param i    the index of the task
+     * @param tags the tags, with or without a leading {@code #}
+     * @return the task
+     * @throws IndexOutOfBoundsException if the index is out of range
+     */
+    public synchronized Task tag(int i, List<String> tags) {
+        Task t = tasks.get(i);
+        boolean isChanged = false;
+        for (String tag : tags) {
+            if (t.addTag(tag)) {
+                tagIndex.tagged(t, Task.normaliseTag(tag));
+                isChanged = true;
+            }
+        }
+        if (isChanged) {
+            modCount++;
+            fireChanged(t);
+        }
+        return t;
+    }
+
+    /**
+     * Removes tags from the task at the specified index; tags it does not have are ignored.
+     *
+     * @param i    the index of the task
+     * @param tags the tags, with or without a leading {@code #}
+     * @return the task
+     * @throws IndexOutOfBoundsException if the index is out of range
+     */
+    public synchronized Task untag(int i, List<String> tags) {
+        Task t = tasks.get(i);
+        boolean isChanged = false;
+        for (String tag : tags) {
+            if (t.removeTag(tag)) {
+                tagIndex.untagged(t, Task.normaliseTag(tag));
+                isChanged = true;
+            }
+        }
+        if (isChanged) {
+            modCount++;
+            fireChanged(t);
+        }
+        return t;
     }
 
     /**
-     * Returns all tasks in this list.
+     * Sets the priority of the task at the specified index.
+     *
+     * @param i        the index of the task
+     * @param priority the new priority
+     * @return the task
+     * @throws IndexOutOfBoundsException if the index is out of range
+     */
+    public synchronized Task setPriority(int i, Priority priority) {
+        Task t = tasks.get(i);
+        t.setPriority(priority);
+        modCount++;
+        fireChanged(t);
+        return t;
+    }
+
+    /**
+     * Returns the {@code k} undone tasks to do first, weighing priority against how soon each is
+     * due; see {@link UrgencyQueue}. Only O(k log k) work is done per call, not a sort of the list.
+     *
+     * @param k the most tasks to return
+     * @return the tasks, most urgent first
+     */
+    public synchronized List<Task> next(int k) {
+        return urgency.top(k, LocalDate.now());
+    }
+
+    /**
+     * Returns the tasks matching a tag query, answered from per-tag bitmaps without scanning
+     * the list.
+     * <p>
+     * A task matches if it has at least one tag from every group and none of the excluded tags,
+     * so {@code [[work], [urgent, soon]]} with {@code [done]} means
+     * {@code #work AND (#urgent OR #soon) AND NOT #done}. With no groups, every task not excluded
+     * matches.
+     * </p>
+     *
+     * @param anyOf    groups of tags, without the leading {@code #}
+     * @param excluded tags a matching task must not have
+     * @return the matching tasks, in list order
+     */
+    public synchronized List<Task> withTags(List<List<String>> anyOf, List<String> excluded) {
+        return tagIndex.select(anyOf, excluded);
+    }
+
+    /**
+     * Returns how many tasks carry each tag.
+     *
+     * @return the counts, keyed by tag without the leading {@code #}
+     */
+    public synchronized Map<String, Integer> tagCounts() {
+        return tagIndex.counts();
+    }
+
+    /**
+     * Returns a counter that grows with every add, remove, status, tag or priority change and event update.
+     * <p>
+     * Anything computed from this list is still valid while the counter has not moved, so callers
+     * can cache derived results and check them in O(1).
+     * </p>
+     *
+     * @return the modification count
+     */
+    public synchronized long getModCount() {
+        return modCount;
+    }
+
+    /**
+     * Registers a listener to be told about every subsequent change to this list.
+     *
+     * @param l the listener
+     */
+    public void addListener(TaskListener l) {
+        listeners.add(l);
+    }
+
+    /**
+     * Unregisters a listener added with {@link #addListener(TaskListener)}.
+     *
+     * @param l the listener
+     */
+    public void removeListener(TaskListener l) {
+        listeners.remove(l);
+    }
+
+    /**
+     * Registers a named sorted view, filled with the current tasks and kept up to date from now on.
+     *
+     * @param name the view name, e.g. {@code sort:by}
+     * @param view an empty view
+     */
+    public synchronized void addView(String name, SortedView<?> view) {
+        for (Task t : tasks) {
+            view.onAdded(t);
+        }
+        views.put(name, view);
+        addListener(view);
+    }
+
+    /**
+     * Returns the sorted view registered under the given name.
+     *
+     * @param name the view name
+     * @return the view, or {@code null} if none is registered
+     */
+    public SortedView<?> getView(String name) {
+        return views.get(name);
+    }
+
+    private void fireChanged(Task t) {
+        for (TaskListener l : listeners) {
+            l.onChanged(t);
+        }
+    }
+
+    /**
+     * Returns an immutable snapshot of the tasks in this list, in O(1).
+     * <p>
+     * The snapshot never changes, even if tasks are added or removed afterwards, so it can be
+     * iterated safely from any thread.
+     * </p>
+     *
+     * @return the current tasks
+     */
+    public List<Task> snapshot() {
+        return tasks;
+    }
+
+    /**
+     * Returns all tasks in this list, as an immutable {@link #snapshot()}.
      *
      * @return a list of all tasks
      */
     public List<Task> all() {
-        return tasks;
+        return snapshot();
+    }
+
+    /**
+     * Returns all tasks of the given type, in list order, without scanning the whole list.
+     *
+     * @param type the task type name, e.g. {@code deadline}
+     * @return a copy of the tasks of that type
+     */
+    public synchronized List<Task> ofType(String type) {
+        return new ArrayList<>(byType.getOrDefault(type, Collections.emptySet()));
+    }
+
+    /**
+     * Makes {@code next} the list, recording the index of every task from {@code from} on first,
+     * so {@link #indexOf} finds every task of a snapshot it can see, then forgets removed tasks.
+     */
+    private void publish(PersistentVector<Task> next, int from, List<Task> removed) {
+        for (int i = from; i < next.size(); i++) {
+            positions.put(next.get(i), i);
+        }
+        tasks = next;
+        for (Task t : removed) {
+            if (!isAt(next, t, positions.get(t))) {
+                positions.remove(t);
+            }
+        }
+    }
+
+    private static boolean isAt(List<Task> list, Task t, Integer i) {
+        return i != null && i < list.size() && list.get(i) == t;
+    }
+
+    private void indexType(Task t) {
+        byType.computeIfAbsent(t.getTaskType(), k -> new LinkedHashSet<>()).add(t);
     }
 
     /**
@@ -80,29 +564,72 @@ public class TaskList {
      * <p>
      * The format is consistent with how tasks are written to and read from storage:
      * <ul>
-     *   <li>{@code todo | isDone | description}</li>
-     *   <li>{@code deadline | isDone | description | yyyy-MM-dd}</li>
-     *   <li>{@code event | isDone | description | from | to}</li>
+     *   <li>{@code todo | status | description}</li>
+     *   <li>{@code deadline | status | description | yyyy-MM-dd}</li>
+     *   <li>{@code event | status | description | from | to}</li>
+     *   <li>{@code recurring | status | description | yyyy-MM-dd | intervalDays}</li>
      * </ul>
+     * A task with a priority or tags has one more field after these listing them, e.g.
+     * {@code todo | 0 2025-10-19 | read | !high #fun #books}.
+     * The status is {@code 0} or {@code 1} followed by the day that status began, e.g.
+     * {@code 1 2025-10-19} for a task completed on that day. It always has the same width, so a
+     * status change can be written over the old one in place.
      * </p>
      *
      * @return a list of storage-formatted strings representing all tasks
      */
     public List<String> asStorageLines() {
         ArrayList<String> lines = new ArrayList<>();
-        DateTimeFormatter fmt = DateTimeFormatter.ISO_LOCAL_DATE;
-
-        for (Task t : tasks) {
-            if (t instanceof Todo todo) {
-                lines.add(todo.getTaskType() + " | " + (t.isDone ? "1" : "0") + " | " + todo.description);
-            } else if (t instanceof Deadline dl) {
-                lines.add(dl.getTaskType() + " | " + (t.isDone ? "1" : "0") + " | " + dl.description + " | "
-                        + dl.getDeadline().format(fmt));
-            } else if (t instanceof Event ev) {
-                lines.add(ev.getTaskType() + " | " + (t.isDone ? "1" : "0") + " | " + ev.description + " | "
-                        + ev.getFrom() + " | " + ev.getTo());
+        for (Task t : snapshot()) {
+            String line = toStorageLine(t);
+            if (line != null) {
+                lines.add(line);
             }
         }
         return lines;
     }
+
+    /**
+     * Converts a single task into its storage line, in the format described in {@link #asStorageLines()}.
+     *
+     * @param t the task to convert
+     * @return the storage line, or {@code null} if the task type is not persisted
+     */
+    public static String toStorageLine(Task t) {
+        String line = fixedFields(t);
+        String[] tags = t.getTags();
+        if (line == null || (tags.length == 0 && t.getPriority() == Priority.NONE)) {
+            return line;
+        }
+        StringBuilder sb = new StringBuilder(line).append(" |");
+        if (t.getPriority() != Priority.NONE) {
+            sb.append(" !").append(t.getPriority().label());
+        }
+        for (String tag : tags) {
+            sb.append(" #").append(tag);
+        }
+        return sb.toString();
+    }
+
+    private static String fixedFields(Task t) {
+        DateTimeFormatter fmt = DateTimeFormatter.ISO_LOCAL_DATE;
+        if (t instanceof Todo todo) {
+            return todo.getTaskType() + " | " + statusField(t) + " | " + todo.description;
+        } else if (t instanceof Deadline dl) {
+            return dl.getTaskType() + " | " + statusField(t) + " | " + dl.description + " | "
+                    + dl.getDeadline().format(fmt);
+        } else if (t instanceof Event ev) {
+            return ev.getTaskType() + " | " + statusField(t) + " | " + ev.description + " | "
+                    + ev.getFrom() + " | " + ev.getTo();
+        } else if (t instanceof Recurring r) {
+            return r.getTaskType() + " | " + statusField(t) + " | " + r.description + " | "
+                    + r.getStart().format(fmt) + " | " + r.getIntervalDays();
+        }
+        return null;
+    }
+
+    private static String statusField(Task t) {
+        LocalDate since = t.getStatusSince() != null ? t.getStatusSince() : LocalDate.now();
+        return (t.isDone ? "1 " : "0 ") + since.format(DateTimeFormatter.ISO_LOCAL_DATE);
+    }
 }
@@ -0,0 +1,35 @@
+package seedu.darrenbot.tasks;
+
+/**
+ * Receives notifications whenever the contents of a {@link TaskList} change.
+ * <p>
+ * Listeners let secondary structures such as search indexes or reminders stay in sync
+ * with the list incrementally instead of rescanning it. All methods default to doing nothing,
+ * so implementations only override the events they care about.
+ * </p>
+ */
+public interface TaskListener {
+    /**
+     * Called after a task has been added to the list.
+     *
+     * @param t the added task
+     */
+    default void onAdded(Task t) {
+    }
+
+    /**
+     * Called after a task has been removed from the list.
+     *
+     * @param t the removed task
+     */
+    default void onRemoved(Task t) {
+    }
+
+    /**
+     * Called after a task in the list has been modified, e.g. marked or updated.
+     *
+     * @param t the modified task
+     */
+    default void onChanged(Task t) {
+    }
+}
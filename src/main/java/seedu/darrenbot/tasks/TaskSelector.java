@@ -0,0 +1,20 @@
+package seedu.darrenbot.tasks;
+
+/**
+ * Chooses which tasks a bulk operation on a {@link TaskList} applies to.
+ * <p>
+ * A selector sees each task together with its current index, so it can select by position
+ * (e.g. {@code 1-500}) as well as by content (e.g. {@code type:event}).
+ * </p>
+ */
+@FunctionalInterface
+public interface TaskSelector {
+    /**
+     * Returns whether the task at the given index is selected.
+     *
+     * @param index the task's index in the list
+     * @param t     the task
+     * @return {@code true} if the operation should apply to it
+     */
+    boolean selects(int index, Task t);
+}
@@ -0,0 +1,116 @@
+package seedu.darrenbot.tasks;
+
+import java.time.LocalDate;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The undone tasks of a {@link TaskList}, ordered by how urgently they should be done.
+ * <p>
+ * A task's urgency is the day it is effectively due: its deadline (or the next occurrence of a
+ * recurring task), capped at {@value #HORIZON_DAYS} days from today, then brought forward by
+ * {@link Priority#getDays()}. Tasks without a date count as due at the cap, so an undated high
+ * priority task comes before a deadline next week but after one that is already overdue. Ties
+ * keep list order.
+ * </p>
+ *
+ * <p>The tasks are held in an {@link IndexedHeap}. As a {@link TaskListener} the queue moves only
+ * the task that was added, marked, re-prioritised or deleted, in O(log n), and reading the top
+ * {@code k} costs O(k log k). Urgency depends on today's date, so the first read on a new day
+ * re-keys the whole heap once, in O(n). Tasks put back in the middle of the list, as a sync
+ * does, would otherwise sort after every older task on a tie, so the list then re-sequences the
+ * queue, also in O(n).</p>
+ */
+class UrgencyQueue implements TaskListener {
+    /** Deadlines further away than this count as undated. */
+    static final int HORIZON_DAYS = 14;
+
+    private final IndexedHeap<Task> heap = new IndexedHeap<>();
+    /** Position of every task in list order, including done tasks, to break ties. */
+    private final Map<Task, Long> sequence = new IdentityHashMap<>();
+    private long nextSequence;
+    private LocalDate keyedOn = LocalDate.now();
+
+    /**
+     * Returns the {@code k} most urgent undone tasks, most urgent first.
+     *
+     * @param k     the most tasks to return
+     * @param today the day urgency is measured from
+     * @return the tasks
+     */
+    synchronized List<Task> top(int k, LocalDate today) {
+        if (!today.equals(keyedOn)) {
+            keyedOn = today;
+            heap.rekey(this::keyOf, sequence::get);
+        }
+        return heap.smallest(k);
+    }
+
+    /**
+     * Returns the effective due day of a task, as an epoch day; smaller is more urgent.
+     *
+     * @param t     the task
+     * @param today the day urgency is measured from
+     * @return the urgency key
+     */
+    static long urgencyOf(Task t, LocalDate today) {
+        long horizon = today.toEpochDay() + HORIZON_DAYS;
+        LocalDate due = null;
+        if (t instanceof Deadline d) {
+            due = d.getDeadline();
+        } else if (t instanceof Recurring r) {
+            due = r.nextOccurrence(today);
+        }
+        long day = due == null ? horizon : Math.min(due.toEpochDay(), horizon);
+        return day - t.getPriority().getDays();
+    }
+
+    /**
+     * Renumbers the tie-breaking positions to follow the given list order and restores heap order,
+     * in O(n).
+     *
+     * @param inOrder every task in the list, in list order
+     */
+    synchronized void resequence(List<Task> inOrder) {
+        sequence.clear();
+        nextSequence = 0;
+        for (Task t : inOrder) {
+            sequence.put(t, nextSequence++);
+        }
+        heap.rekey(this::keyOf, sequence::get);
+    }
+
+    @Override
+    public synchronized void onAdded(Task t) {
+        sequence.put(t, nextSequence++);
+        place(t);
+    }
+
+    @Override
+    public synchronized void onRemoved(Task t) {
+        heap.remove(t);
+        sequence.remove(t);
+    }
+
+    @Override
+    public synchronized void onChanged(Task t) {
+        if (!sequence.containsKey(t)) {
+            onAdded(t);
+            return;
+        }
+        place(t);
+    }
+
+    private void place(Task t) {
+        if (t.isDone()) {
+            heap.remove(t);
+        } else {
+            heap.put(t, keyOf(t), sequence.get(t));
+        }
+    }
+
+    private long keyOf(Task t) {
+        return urgencyOf(t, keyedOn);
+    }
+}
@@ -0,0 +1,98 @@
+package seedu.darrenbot.ui;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A bounded cache of rendered replies to read-only commands such as {@code list} and {@code find}.
+ * <p>
+ * Each reply is stored with the version of the data it was rendered from, e.g. a
+ * {@link seedu.darrenbot.tasks.TaskList#getModCount() modification count}. A lookup only hits if
+ * the version still matches, so a reply is never served after the data behind it has changed and
+ * nothing has to be invalidated explicitly. The least recently used entry is dropped once the
+ * cache is full.
+ * </p>
+ *
+ * <p>Example usage:</p>
+ * <pre>
+ * String reply = cache.get("list", tasks.getModCount());
+ * if (reply == null) {
+ *     reply = cache.put("list", tasks.getModCount(), ui.formatList(tasks.all()));
+ * }
+ * </pre>
+ */
+public class ResponseCache {
+    private final int capacity;
+    private final Map<String, Entry> entries;
+    private long hits;
+    private long misses;
+
+    /**
+     * Constructs an empty cache.
+     *
+     * @param capacity the maximum number of replies kept
+     */
+    public ResponseCache(int capacity) {
+        this.capacity = capacity;
+        this.entries = new LinkedHashMap<>(capacity, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > ResponseCache.this.capacity;
+            }
+        };
+    }
+
+    /**
+     * Returns the reply cached under {@code key}, if it was rendered from the given version.
+     *
+     * @param key     the normalised command
+     * @param version the current version of the data the reply depends on
+     * @return the cached reply, or {@code null} if there is none or it is out of date
+     */
+    public synchronized String get(String key, long version) {
+        Entry e = entries.get(key);
+        if (e == null || e.version != version) {
+            misses++;
+            return null;
+        }
+        hits++;
+        return e.response;
+    }
+
+    /**
+     * Caches a reply rendered from the given version, replacing any older one for the same key.
+     *
+     * @param key      the normalised command
+     * @param version  the version of the data the reply was rendered from
+     * @param response the reply
+     * @return {@code response}, for chaining
+     */
+    public synchronized String put(String key, long version, String response) {
+        entries.put(key, new Entry(version, response));
+        return response;
+    }
+
+    /** Drops every cached reply, e.g. when the data they were rendered from is replaced. */
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public synchronized long getHitCount() {
+        return hits;
+    }
+
+    public synchronized long getMissCount() {
+        return misses;
+    }
+
+    private record Entry(long version, String response) {
+    }
+}
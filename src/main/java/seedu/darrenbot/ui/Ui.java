@@ -1,9 +1,14 @@
 package seedu.darrenbot.ui;
 
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
 import java.util.List;
+import java.util.Map;
 import java.util.Scanner;
 
+import seedu.darrenbot.tasks.Recurring;
 import seedu.darrenbot.tasks.Task;
+import seedu.darrenbot.tasks.TaskList;
 
 /**
  * Handles all interactions with the user through the command line interface.
@@ -14,6 +19,8 @@ import seedu.darrenbot.tasks.Task;
  * </p>
  */
 public class Ui {
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("MMM d yyyy");
+
     private final Scanner scanner = new Scanner(System.in);
 
     /**
@@ -66,14 +73,79 @@ public class Ui {
      * @param tasks the list of tasks to display
      */
     public String formatList(List<Task> tasks) {
+        return ("Here are the tasks in your list:\n" + formatTasks(tasks)).trim();
+    }
+
+    /**
+     * Displays tasks picked from a list under a header, each numbered with its index in the list;
+     * see {@link #formatTasks(List, TaskList)}.
+     *
+     * @param tasks the tasks to display
+     * @param list  the list the tasks come from
+     * @return the header and numbered lines
+     */
+    public String formatList(List<Task> tasks, TaskList list) {
+        return ("Here are the tasks in your list:\n" + formatTasks(tasks, list)).trim();
+    }
+
+    /**
+     * Formats the given tasks one per line, prefixed with their zero-based index, without a header.
+     * Recurring tasks also show their next occurrence.
+     *
+     * @param tasks the tasks to format
+     * @return the numbered lines
+     */
+    public String formatTasks(List<Task> tasks) {
         StringBuilder sb = new StringBuilder();
-        sb.append("Here are the tasks in your list:\n");
         for (int i = 0; i < tasks.size(); i++) {
-            sb.append((i)).append(". ").append(tasks.get(i)).append("\n");
+            appendTask(sb, i + ". ", tasks.get(i));
         }
         return sb.toString().trim();
     }
 
+    /**
+     * Formats tasks picked from a list, such as the results of a filter, one per line without a
+     * header. Each is prefixed with its zero-based index in {@code list}, the index that
+     * {@code mark}, {@code unmark} and {@code delete} take, rather than its place among the results.
+     * Tasks not in the list, such as archived ones, are prefixed with a dash. Each index is looked
+     * up with {@link TaskList#indexOf(Task)}, so formatting {@code k} tasks costs O(k) however long
+     * the list is.
+     *
+     * @param tasks the tasks to format, in the order to show them
+     * @param list  the list the tasks come from
+     * @return the numbered lines
+     */
+    public String formatTasks(List<Task> tasks, TaskList list) {
+        StringBuilder sb = new StringBuilder();
+        for (Task t : tasks) {
+            int index = list.indexOf(t);
+            appendTask(sb, index < 0 ? "- " : index + ". ", t);
+        }
+        return sb.toString().trim();
+    }
+
+    /**
+     * Formats tasks already paired with their index in their list, one per line without a header.
+     *
+     * @param tasks the tasks keyed by index, in the order to show them
+     * @return the numbered lines
+     */
+    public String formatTasks(Map<Integer, Task> tasks) {
+        StringBuilder sb = new StringBuilder();
+        for (Map.Entry<Integer, Task> e : tasks.entrySet()) {
+            appendTask(sb, e.getKey() + ". ", e.getValue());
+        }
+        return sb.toString().trim();
+    }
+
+    private static void appendTask(StringBuilder sb, String prefix, Task t) {
+        sb.append(prefix).append(t);
+        if (t instanceof Recurring r && !r.isDone()) {
+            sb.append(" next: ").append(r.nextOccurrence(LocalDate.now()).format(DATE_FORMAT));
+        }
+        sb.append("\n");
+    }
+
     /**
      * Displays the given list of tasks to the standard output in a numbered format.
      *
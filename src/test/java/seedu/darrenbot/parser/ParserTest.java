@@ -0,0 +1,93 @@
+package seedu.darrenbot.parser;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import seedu.darrenbot.exception.UnexpectedCommandException;
+import seedu.darrenbot.tasks.Event;
+import seedu.darrenbot.tasks.Task;
+import seedu.darrenbot.tasks.TaskList;
+import seedu.darrenbot.tasks.Todo;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ParserTest {
+    @Test
+    public void splitPipelineTest() {
+        assertEquals(List.of("todo a", "todo b", "mark 3"), Parser.splitPipeline("todo a; todo b;mark 3"));
+        assertEquals(List.of("todo fish; chips", "list"), Parser.splitPipeline("todo fish\\; chips ; ; list;"));
+        assertEquals(List.of("list"), Parser.splitPipeline("list"));
+        assertEquals(List.of(), Parser.splitPipeline("  "));
+    }
+
+    @Test
+    public void bulkSelectionsApplyInOnePass() throws Exception {
+        TaskList tasks = new TaskList(new ArrayList<>());
+        for (int i = 0; i < 10; i++) {
+            tasks.add(i % 3 == 0 ? new Event("meet " + i, "mon", "tue") : new Todo("task " + i));
+        }
+
+        Parser.ParsedArgs single = Parser.parseArgs(Parser.Command.MARK, "mark 4");
+        assertNull(single.getSelector());
+        assertEquals(4, (int) single.getIndex());
+
+        Parser.ParsedArgs range = Parser.parseArgs(Parser.Command.MARK, "mark 1-3, 8");
+        assertEquals(8, range.getHighestIndex());
+        assertArrayEquals(new int[] {1, 2, 3, 8}, tasks.setDoneWhere(range.getSelector(), true));
+        assertArrayEquals(new int[] {3}, tasks.setDoneWhere(
+                Parser.parseArgs(Parser.Command.UNMARK, "unmark type:event").getSelector(), false));
+
+        List<Task> removed = tasks.removeWhere(Parser.parseArgs(Parser.Command.DELETE, "delete done").getSelector());
+        assertEquals(3, removed.size());
+        assertEquals(7, tasks.size());
+        assertEquals("[T][ ] task 4", tasks.get(2).toString());
+        assertEquals(4, tasks.ofType("event").size());
+
+        assertThrows(UnexpectedCommandException.class, () -> Parser.parseArgs(Parser.Command.DELETE, "delete task"));
+        assertThrows(UnexpectedCommandException.class, () -> Parser.parseArgs(Parser.Command.DELETE, "delete 5-2"));
+    }
+
+    @Test
+    public void hugeRangesAreBoundedWithoutSelectingEveryIndex() throws Exception {
+        Parser.ParsedArgs all = Parser.parseArgs(Parser.Command.MARK, "mark 0-2147483647");
+        assertEquals(Integer.MAX_VALUE, all.getHighestIndex());
+        assertTrue(all.getSelector().selects(Integer.MAX_VALUE, null));
+
+        Parser.ParsedArgs merged = Parser.parseArgs(Parser.Command.MARK, "mark 9, 2-4, 3-6 12");
+        assertEquals(12, merged.getHighestIndex());
+        assertTrue(merged.getSelector().selects(5, null));
+        assertFalse(merged.getSelector().selects(7, null));
+        assertFalse(merged.getSelector().selects(1, null));
+
+        assertThrows(UnexpectedCommandException.class, ()
+                -> Parser.parseArgs(Parser.Command.MARK, "mark 99999999999"));
+        assertThrows(UnexpectedCommandException.class, ()
+                -> Parser.parseArgs(Parser.Command.MARK, "mark 0-99999999999"));
+        assertThrows(UnexpectedCommandException.class, ()
+                -> Parser.parseArgs(Parser.Command.TAG, "tag 99999999999 #a"));
+    }
+
+    @Test
+    public void tagsAreNormalisedAndSelectTasks() throws Exception {
+        Parser.ParsedArgs a = Parser.parseArgs(Parser.Command.TAG, "tag 2 #Work urgent");
+        assertEquals(2, (int) a.getIndex());
+        assertEquals(List.of("work", "urgent"), a.getTags());
+
+        TaskList tasks = new TaskList(new ArrayList<>());
+        tasks.add(new Todo("a"));
+        tasks.add(new Todo("b"));
+        tasks.tag(1, a.getTags());
+        assertArrayEquals(new int[] {1}, tasks.setDoneWhere(
+                Parser.parseArgs(Parser.Command.MARK, "mark #work").getSelector(), true));
+
+        assertThrows(UnexpectedCommandException.class, () -> Parser.parseArgs(Parser.Command.TAG, "tag 2"));
+        assertThrows(UnexpectedCommandException.class, () -> Parser.parseArgs(Parser.Command.TAG, "tag 2 #a|b"));
+    }
+}
@@ -0,0 +1,138 @@
+package seedu.darrenbot.query;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.stream.Stream;
+
+import seedu.darrenbot.exception.UnexpectedCommandException;
+import seedu.darrenbot.tasks.Deadline;
+import seedu.darrenbot.tasks.Event;
+import seedu.darrenbot.tasks.Recurring;
+import seedu.darrenbot.tasks.Task;
+import seedu.darrenbot.tasks.TaskList;
+import seedu.darrenbot.tasks.Todo;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+public class QueryTest {
+    private TaskList sampleList() {
+        TaskList tasks = new TaskList(new ArrayList<>());
+        tasks.add(new Todo("read book"));
+        tasks.add(new Deadline("tax return", LocalDate.of(2025, 11, 30)));
+        tasks.add(new Deadline("essay", LocalDate.of(2025, 10, 1)));
+        tasks.add(new Event("book club", "2025-10-02", "2025-10-03"));
+        Deadline done = new Deadline("old report", LocalDate.of(2025, 1, 1));
+        done.redo();
+        tasks.add(done);
+        return tasks;
+    }
+
+    @Test
+    public void filtersAndSortsDeadlines() throws UnexpectedCommandException {
+        List<Task> found = Query.compile("type:deadline done:false by<2025-12-01 sort:by").run(sampleList()).toList();
+
+        assertEquals(2, found.size());
+        assertEquals("essay", found.get(0).getDescription());
+        assertEquals("tax return", found.get(1).getDescription());
+    }
+
+    @Test
+    public void limitKeepsOnlyTheBestMatches() throws UnexpectedCommandException {
+        List<Task> found = Query.compile("sort:-by limit 1").run(sampleList()).toList();
+
+        assertEquals(1, found.size());
+        assertEquals("tax return", found.get(0).getDescription());
+    }
+
+    @Test
+    public void limitKeepsTiesInListOrder() throws UnexpectedCommandException {
+        TaskList tasks = new TaskList(new ArrayList<>());
+        for (int i = 0; i < 60; i++) {
+            tasks.add(i % 3 == 0 ? new Todo("task " + i) : new Deadline("task " + i, LocalDate.of(2025, 1, 1)));
+        }
+        List<Task> expected = tasks.all().stream()
+                .sorted(Comparator.comparing(Task::getTaskType)) // stable, so ties stay in list order
+                .limit(30)
+                .toList();
+
+        assertEquals(expected, Query.compile("sort:type limit 30").run(tasks).toList());
+    }
+
+    @Test
+    public void readsDoNotWaitForAChangeInProgress() throws Exception {
+        TaskList tasks = sampleList();
+        Query query = Query.compile("sort:by limit 2");
+        CountDownLatch held = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(1);
+        Thread writer = new Thread(() -> {
+            synchronized (tasks) {
+                held.countDown();
+                try {
+                    done.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        });
+        writer.start();
+        held.await();
+        try {
+            List<Task> found = assertTimeoutPreemptively(Duration.ofSeconds(5), () -> query.run(tasks).toList());
+            assertEquals("old report", found.get(0).getDescription());
+            assertEquals(2, assertTimeoutPreemptively(Duration.ofSeconds(5), () -> tasks.indexOf(found.get(1))));
+        } finally {
+            done.countDown();
+            writer.join();
+        }
+    }
+
+    @Test
+    public void bareWordsMatchText() throws UnexpectedCommandException {
+        assertEquals(2, Query.compile("book").run(sampleList()).count());
+        assertEquals(1, Query.compile("book type:event").run(sampleList()).count());
+    }
+
+    @Test
+    public void recurringTasksMatchWhenAnOccurrenceIsInRange() throws UnexpectedCommandException {
+        TaskList tasks = sampleList();
+        tasks.add(new Recurring("gym", LocalDate.of(2025, 10, 20), 7));
+
+        assertEquals(List.of("gym"), names(Query.compile("type:recurring by>=2025-11-01 by<=2025-11-03").run(tasks)));
+        assertEquals(0, Query.compile("type:recurring by>=2025-11-04 by<=2025-11-09").run(tasks).count());
+        assertEquals(0, Query.compile("type:recurring by<2025-10-20").run(tasks).count());
+    }
+
+    @Test
+    public void tagTermsCombineWithOtherTerms() throws UnexpectedCommandException {
+        TaskList tasks = sampleList();
+        tasks.tag(0, List.of("#fun", "#books"));
+        tasks.tag(3, List.of("#fun", "#club"));
+        tasks.tag(1, List.of("#admin"));
+
+        assertEquals(List.of("read book", "book club"), names(Query.compile("#FUN").run(tasks)));
+        assertEquals(List.of("read book"), names(Query.compile("#fun -#club").run(tasks)));
+        assertEquals(List.of("tax return", "book club"), names(Query.compile("#admin,#club").run(tasks)));
+        assertEquals(List.of("book club"), names(Query.compile("#fun type:event").run(tasks)));
+        assertEquals(3, Query.compile("-#fun").run(tasks).count());
+        assertThrows(UnexpectedCommandException.class, () -> Query.compile("#work!"));
+    }
+
+    private static List<String> names(Stream<Task> found) {
+        return found.map(Task::getDescription).toList();
+    }
+
+    @Test
+    public void malformedTermsAreRejected() {
+        assertThrows(UnexpectedCommandException.class, () -> Query.compile("by<tomorrow"));
+        assertThrows(UnexpectedCommandException.class, () -> Query.compile("type:meeting"));
+        assertThrows(UnexpectedCommandException.class, () -> Query.compile("limit:-3"));
+    }
+}
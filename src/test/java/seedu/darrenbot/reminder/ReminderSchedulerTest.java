@@ -0,0 +1,103 @@
+package seedu.darrenbot.reminder;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import seedu.darrenbot.tasks.Deadline;
+import seedu.darrenbot.tasks.Event;
+import seedu.darrenbot.tasks.Recurring;
+import seedu.darrenbot.tasks.Todo;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ReminderSchedulerTest {
+    /** A clock that only moves when told to. */
+    private static class ManualClock extends Clock {
+        private Instant now;
+
+        ManualClock(Instant start) {
+            this.now = start;
+        }
+
+        void advance(Duration d) {
+            now = now.plus(d);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+
+    @Test
+    public void remindsOneDayBeforeDeadline() {
+        ManualClock clock = new ManualClock(Instant.parse("2025-09-28T00:00:00Z"));
+        List<String> out = new ArrayList<>();
+        ReminderScheduler r = new ReminderScheduler(clock, Duration.ofMinutes(1), Duration.ofDays(1), out::add);
+
+        assertTrue(r.schedule(new Deadline("submit report", LocalDate.of(2025, 10, 1))));
+        assertTrue(r.schedule(new Event("demo", "2025-09-29T12:00", "2025-09-29T13:00")));
+        assertFalse(r.schedule(new Todo("read book")));
+        assertFalse(r.schedule(new Deadline("long gone", LocalDate.of(2019, 12, 1))));
+
+        clock.advance(Duration.ofHours(12));
+        assertEquals(1, r.poll());
+        clock.advance(Duration.ofDays(2));
+        assertEquals(1, r.poll());
+        assertEquals(2, out.size());
+        assertEquals(0, r.getPendingCount());
+    }
+
+    @Test
+    public void recurringTaskKeepsOnlyItsNextOccurrenceScheduled() {
+        ManualClock clock = new ManualClock(Instant.parse("2025-10-18T09:00:00Z"));
+        List<String> out = new ArrayList<>();
+        ReminderScheduler r = new ReminderScheduler(clock, Duration.ofMinutes(1), Duration.ofDays(1), out::add);
+
+        assertTrue(r.schedule(new Recurring("gym", LocalDate.of(2025, 10, 6), 7)));
+        assertEquals(1, r.getPendingCount());
+
+        clock.advance(Duration.ofDays(1)); // Sunday, a day before Monday the 20th
+        assertEquals(1, r.poll());
+        assertEquals(1, r.getPendingCount());
+        clock.advance(Duration.ofDays(7));
+        assertEquals(1, r.poll());
+        assertEquals(2, out.size());
+        assertEquals(1, r.getPendingCount());
+    }
+
+    @Test
+    public void cancelledReminderIsSilent() {
+        ManualClock clock = new ManualClock(Instant.parse("2025-09-28T00:00:00Z"));
+        List<String> out = new ArrayList<>();
+        ReminderScheduler r = new ReminderScheduler(clock, Duration.ofMinutes(1), Duration.ofDays(1), out::add);
+        Deadline d = new Deadline("submit report", LocalDate.of(2025, 10, 1));
+
+        r.schedule(d);
+        r.cancel(d);
+        clock.advance(Duration.ofDays(5));
+
+        assertEquals(0, r.poll());
+        assertEquals(0, out.size());
+    }
+}
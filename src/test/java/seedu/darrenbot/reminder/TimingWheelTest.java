@@ -0,0 +1,68 @@
+package seedu.darrenbot.reminder;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TimingWheelTest {
+    @Test
+    public void firesInDeadlineOrderAcrossLevels() {
+        TimingWheel wheel = new TimingWheel(10, 8, 3, 0);
+        List<Long> fired = new ArrayList<>();
+        long[] deadlines = {5000, 30, 700, 70, 64 * 10 * 8, 10};
+        for (long d : deadlines) {
+            wheel.schedule(d, () -> fired.add(d));
+        }
+
+        wheel.advanceTo(6000);
+
+        assertEquals(deadlines.length, fired.size());
+        for (int i = 1; i < fired.size(); i++) {
+            assertTrue(fired.get(i - 1) <= fired.get(i));
+        }
+        assertEquals(0, wheel.pendingCount());
+    }
+
+    @Test
+    public void doesNotFireEarly() {
+        TimingWheel wheel = new TimingWheel(10, 8, 3, 0);
+        List<String> fired = new ArrayList<>();
+        wheel.schedule(1000, () -> fired.add("late"));
+
+        wheel.advanceTo(990);
+        assertEquals(0, fired.size());
+
+        wheel.advanceTo(1000);
+        assertEquals(List.of("late"), fired);
+    }
+
+    @Test
+    public void cancelledTimeoutsNeverFire() {
+        TimingWheel wheel = new TimingWheel(10, 8, 3, 0);
+        List<String> fired = new ArrayList<>();
+        TimingWheel.Timeout t = wheel.schedule(200, () -> fired.add("cancelled"));
+        wheel.schedule(300, () -> fired.add("kept"));
+
+        assertTrue(t.cancel());
+        wheel.advanceTo(10_000);
+
+        assertEquals(List.of("kept"), fired);
+        assertEquals(0, wheel.pendingCount());
+    }
+
+    @Test
+    public void beyondTopLevelIsStillDeliveredOnTime() {
+        TimingWheel wheel = new TimingWheel(1, 4, 2, 0);
+        List<Long> fired = new ArrayList<>();
+        wheel.schedule(100, () -> fired.add(100L));
+
+        wheel.advanceTo(99);
+        assertEquals(0, fired.size());
+        wheel.advanceTo(100);
+        assertEquals(List.of(100L), fired);
+    }
+}
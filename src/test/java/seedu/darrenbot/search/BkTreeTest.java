@@ -0,0 +1,34 @@
+package seedu.darrenbot.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class BkTreeTest {
+    @Test
+    public void distanceTest() {
+        assertEquals(0, BkTree.distance("list", "list", Integer.MAX_VALUE));
+        assertEquals(2, BkTree.distance("lsit", "list", Integer.MAX_VALUE));
+        assertEquals(1, BkTree.distance("dedline", "deadline", Integer.MAX_VALUE));
+        assertEquals(3, BkTree.distance("kitten", "sitting", Integer.MAX_VALUE));
+        assertEquals(2, BkTree.distance("a", "abcdef", 1));
+    }
+
+    @Test
+    public void searchFindsWordsWithinDistanceClosestFirst() {
+        BkTree tree = new BkTree();
+        for (String w : List.of("deadline", "delete", "event", "list", "mark", "unmark", "todo")) {
+            tree.add(w);
+        }
+        assertFalse(tree.add("list"));
+
+        assertEquals(List.of("deadline"), tree.search("dedline", 1));
+        assertEquals("mark", tree.search("marc", 2).get(0));
+        assertTrue(tree.search("lsit", 2).contains("list"));
+        assertTrue(tree.search("zzzzzz", 2).isEmpty());
+    }
+}
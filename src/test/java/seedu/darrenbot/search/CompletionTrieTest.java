@@ -0,0 +1,118 @@
+package seedu.darrenbot.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import seedu.darrenbot.tasks.Event;
+import seedu.darrenbot.tasks.TaskList;
+import seedu.darrenbot.tasks.Todo;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CompletionTrieTest {
+    @Test
+    public void completionsAreRankedByFrequencyThenAlphabetically() {
+        CompletionTrie trie = new CompletionTrie(3);
+        trie.add("read book");
+        trie.add("Return library book");
+        trie.add("return library book");
+        trie.add("reply to email");
+        trie.add("rest");
+
+        assertEquals(List.of("Return library book", "read book", "reply to email"), trie.complete("RE", 5));
+        assertEquals(List.of("Return library book"), trie.complete("ret", 5));
+        assertEquals(List.of("read book"), trie.complete("read", 5));
+        assertTrue(trie.complete("rx", 5).isEmpty());
+        assertEquals(4, trie.size());
+    }
+
+    @Test
+    public void removingPhrasesRestoresTheNextBest() {
+        CompletionTrie trie = new CompletionTrie(2);
+        trie.add("alpha", 3);
+        trie.add("alpine", 2);
+        trie.add("altitude");
+        trie.add("al");
+
+        assertEquals(List.of("alpha", "alpine"), trie.complete("a", 5));
+        assertTrue(trie.remove("ALPHA"));
+        trie.remove("alpha");
+        trie.remove("alpha");
+        assertFalse(trie.remove("alpha"));
+        assertEquals(List.of("alpine", "al"), trie.complete("a", 5));
+        trie.remove("alpine");
+        trie.remove("alpine");
+        assertEquals(List.of("al", "altitude"), trie.complete("al", 5));
+        assertEquals(List.of("altitude"), trie.complete("alt", 5));
+        assertEquals(2, trie.size());
+    }
+
+    @Test
+    public void randomAddsAndRemovesMatchABruteForceRanking() {
+        Random random = new Random(7);
+        CompletionTrie trie = new CompletionTrie(4);
+        List<String> added = new ArrayList<>();
+        for (int step = 0; step < 3000; step++) {
+            if (!added.isEmpty() && random.nextInt(3) == 0) {
+                String gone = added.remove(random.nextInt(added.size()));
+                assertTrue(trie.remove(gone));
+            } else {
+                String word = randomWord(random);
+                trie.add(word);
+                added.add(word);
+            }
+            String prefix = randomWord(random);
+            assertEquals(bruteForce(added, prefix, 4), trie.complete(prefix, 4));
+        }
+    }
+
+    @Test
+    public void autocompleteFollowsTheCommandBeingTyped() {
+        TaskList tasks = new TaskList(new ArrayList<>());
+        tasks.add(new Todo("read book"));
+        tasks.add(new Event("team sync", "2025-10-01T10:00", "2025-10-01T11:00"));
+        tasks.add(new Todo("read book"));
+        tasks.mark(0);
+        Autocomplete completions = new Autocomplete(List.of("deadline", "delete", "event", "find", "mark"));
+        completions.reset(tasks);
+        tasks.addListener(completions);
+
+        assertEquals(List.of("deadline", "delete"), completions.suggest("de", 5));
+        assertEquals(List.of("read book"), completions.suggest("find --all rea", 5));
+        assertEquals(List.of("2025-10-01T10:00", "2025-10-01T11:00"),
+                completions.suggest("event x /from 2025-10-01T10:00 /to 2025-10-01T1", 5));
+        assertEquals("mark 2", completions.complete("mark rea", "read book", tasks));
+        assertEquals("todo a; find team sync", completions.complete("todo a; find te", "team sync", tasks));
+
+        tasks.updateEvent(1, "noon", "1pm");
+        assertEquals(List.of("noon"), completions.suggest("event y /from no", 5));
+        tasks.remove(1);
+        assertTrue(completions.suggest("find te", 5).isEmpty());
+    }
+
+    private static String randomWord(Random random) {
+        StringBuilder sb = new StringBuilder();
+        int length = 1 + random.nextInt(4);
+        for (int i = 0; i < length; i++) {
+            sb.append((char) ('a' + random.nextInt(3)));
+        }
+        return sb.toString();
+    }
+
+    private static List<String> bruteForce(List<String> added, String prefix, int limit) {
+        return added.stream()
+                .filter(w -> w.startsWith(prefix))
+                .distinct()
+                .sorted((a, b) -> {
+                    long byCount = added.stream().filter(b::equals).count() - added.stream().filter(a::equals).count();
+                    return byCount != 0 ? Long.signum(byCount) : a.compareTo(b);
+                })
+                .limit(limit)
+                .toList();
+    }
+}
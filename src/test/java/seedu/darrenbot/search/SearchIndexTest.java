@@ -0,0 +1,97 @@
+package seedu.darrenbot.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import seedu.darrenbot.tasks.Event;
+import seedu.darrenbot.tasks.Task;
+import seedu.darrenbot.tasks.TaskList;
+import seedu.darrenbot.tasks.Todo;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class SearchIndexTest {
+    private TaskList sampleList() {
+        TaskList tasks = new TaskList(new ArrayList<>());
+        tasks.add(new Todo("read book"));
+        tasks.add(new Todo("write project report"));
+        tasks.add(new Todo("project report report review"));
+        tasks.add(new Event("project sync", "monday", "tuesday"));
+        return tasks;
+    }
+
+    @Test
+    public void ranksByRelevance() {
+        TaskList tasks = sampleList();
+        SearchIndex index = SearchIndex.build(tasks);
+
+        List<Task> best = index.search("report", 10);
+
+        assertEquals(2, best.size());
+        assertEquals("project report report review", best.get(0).getDescription());
+        assertEquals(1, index.search("project", 1).size());
+        assertEquals("project sync", index.search("monday", 10).get(0).getDescription());
+    }
+
+    @Test
+    public void equalScoresKeepListOrder() {
+        TaskList tasks = new TaskList(new ArrayList<>());
+        for (int i = 0; i < 6; i++) {
+            tasks.add(new Todo("weekly report"));
+        }
+        SearchIndex index = SearchIndex.build(tasks);
+        tasks.addListener(index);
+        // Indexed after the others but listed before them, as when a sync inserts tasks.
+        tasks.replaceRange(0, 0, List.of(new Todo("weekly report"), new Todo("weekly report")));
+
+        assertEquals(tasks.all().subList(0, 3), index.search("report", 3));
+    }
+
+    @Test
+    public void followsListChanges() {
+        TaskList tasks = sampleList();
+        SearchIndex index = SearchIndex.build(tasks);
+        tasks.addListener(index);
+
+        tasks.remove(0);
+        tasks.add(new Todo("return library book"));
+        tasks.updateEvent(2, "friday", "saturday");
+
+        assertEquals("return library book", index.search("book", 10).get(0).getDescription());
+        assertEquals(0, index.search("monday", 10).size());
+        assertEquals(1, index.search("friday", 10).size());
+    }
+
+    @Test
+    public void savedIndexIsReusedForUnchangedData() throws IOException {
+        Path dir = Files.createTempDirectory("index");
+        Path data = Files.writeString(dir.resolve("duke.txt"), "stand-in for the data file");
+        TaskList tasks = sampleList();
+        SearchIndex.build(tasks).save(dir.resolve("duke.idx"), data, tasks);
+
+        SearchIndex reloaded = SearchIndex.loadOrBuild(dir.resolve("duke.idx"), data, tasks);
+
+        assertEquals(4, reloaded.getDocumentCount());
+        assertEquals("project report report review", reloaded.search("report", 1).get(0).getDescription());
+    }
+
+    @Test
+    public void staleIndexIsSavedFreshInsteadOfFailing() throws IOException {
+        Path dir = Files.createTempDirectory("index");
+        Path data = Files.writeString(dir.resolve("duke.txt"), "stand-in for the data file");
+        TaskList tasks = sampleList();
+        SearchIndex stale = SearchIndex.build(tasks);
+        tasks.replaceRange(0, 1, List.of(new Todo("read another book"))); // the index never heard
+
+        stale.save(dir.resolve("duke.idx"), data, tasks);
+        SearchIndex reloaded = SearchIndex.loadOrBuild(dir.resolve("duke.idx"), data, tasks);
+
+        assertEquals(4, reloaded.getDocumentCount());
+        assertEquals("read another book", reloaded.search("another", 1).get(0).getDescription());
+    }
+}
@@ -0,0 +1,86 @@
+package seedu.darrenbot.storage;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import seedu.darrenbot.tasks.Deadline;
+import seedu.darrenbot.tasks.Recurring;
+import seedu.darrenbot.tasks.Task;
+import seedu.darrenbot.tasks.TaskList;
+import seedu.darrenbot.tasks.Todo;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ArchiveTest {
+    private static final LocalDate TODAY = LocalDate.of(2025, 10, 20);
+
+    @Test
+    public void onlyOldCompletedTasksAreArchived() throws Exception {
+        Path dir = Files.createTempDirectory("darrenbot").resolve("duke.archive");
+        TaskList tasks = new TaskList(new ArrayList<>());
+        tasks.add(done(new Todo("old report"), TODAY.minusDays(40)));
+        tasks.add(done(new Todo("recent report"), TODAY.minusDays(2)));
+        tasks.add(new Todo("open report"));
+        tasks.add(done(new Deadline("old deadline", TODAY), TODAY.minusDays(31)));
+
+        List<Task> archived = new Archive(dir, 30).archiveDone(tasks, TODAY);
+
+        assertEquals(2, archived.size());
+        assertEquals(2, tasks.size());
+        assertEquals("[T][X] recent report", tasks.get(0).toString());
+
+        Archive reopened = new Archive(dir, 30);
+        assertEquals(1, reopened.getSegmentCount());
+        assertEquals(2, reopened.getTaskCount());
+        List<Task> found = reopened.search("OLD");
+        assertEquals(2, found.size());
+        assertEquals("[D][X] old deadline (by: Oct 20 2025)", found.get(1).toString());
+        assertEquals(TODAY.minusDays(40), found.get(0).getDoneOn());
+    }
+
+    @Test
+    public void segmentSummariesSkipSegmentsWithoutTheText() throws Exception {
+        Path dir = Files.createTempDirectory("darrenbot").resolve("duke.archive");
+        Archive archive = new Archive(dir, 0);
+        for (int segment = 0; segment < 5; segment++) {
+            TaskList tasks = new TaskList(new ArrayList<>());
+            for (int i = 0; i < 200; i++) {
+                tasks.add(done(new Todo("chore " + segment + "-" + i), TODAY.minusDays(1)));
+            }
+            tasks.add(done(new Todo(segment == 3 ? "pay the plumber" : "walk the dog"), TODAY.minusDays(1)));
+            archive.archiveDone(tasks, TODAY);
+        }
+
+        List<Task> found = archive.search("plumber");
+        assertEquals(1, found.size());
+        assertTrue(archive.getLastScanned() < 5);
+        assertEquals(5, archive.search("the").size());
+        assertEquals(5, archive.getLastScanned());
+    }
+
+    @Test
+    public void recurringTasksAreNeverArchived() throws Exception {
+        Path dir = Files.createTempDirectory("darrenbot").resolve("duke.archive");
+        TaskList tasks = new TaskList(new ArrayList<>());
+        tasks.add(done(new Recurring("water plants", TODAY.minusDays(90), 7), TODAY.minusDays(60)));
+        tasks.add(done(new Todo("old report"), TODAY.minusDays(60)));
+
+        List<Task> archived = new Archive(dir, 30).archiveDone(tasks, TODAY);
+
+        assertEquals(1, archived.size());
+        assertEquals("old report", archived.get(0).getDescription());
+        assertEquals(1, tasks.size());
+        assertEquals("water plants", tasks.get(0).getDescription());
+    }
+
+    private static Task done(Task t, LocalDate on) {
+        t.restoreStatus(true, on);
+        return t;
+    }
+}
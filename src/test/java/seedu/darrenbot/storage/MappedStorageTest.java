@@ -0,0 +1,176 @@
+package seedu.darrenbot.storage;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import seedu.darrenbot.tasks.Deadline;
+import seedu.darrenbot.tasks.Event;
+import seedu.darrenbot.tasks.Priority;
+import seedu.darrenbot.tasks.Recurring;
+import seedu.darrenbot.tasks.Task;
+import seedu.darrenbot.tasks.TaskList;
+import seedu.darrenbot.tasks.Todo;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class MappedStorageTest {
+    @Test
+    public void importsTextShardThenReloadsFromRecords() throws Exception {
+        Path dir = Files.createTempDirectory("darrenbot");
+        Path shard = dir.resolve("tasks.txt");
+        Files.write(shard, List.of("todo | 1 | read book", "deadline | 0 | report | 2025-10-20"),
+                StandardCharsets.UTF_8);
+
+        TaskList imported = new MappedStorage(shard.toString()).load();
+        Files.delete(shard);
+        TaskList reloaded = new MappedStorage(shard.toString()).load();
+
+        assertEquals(2, reloaded.size());
+        for (int i = 0; i < imported.size(); i++) {
+            assertEquals(imported.get(i).toString(), reloaded.get(i).toString());
+        }
+    }
+
+    @Test
+    public void appendsAndRewritesSurviveReopenAndGrowth() throws Exception {
+        Path dir = Files.createTempDirectory("darrenbot");
+        String shard = dir.resolve("tasks.txt").toString();
+        MappedStorage storage = new MappedStorage(shard);
+        TaskList tasks = storage.load();
+
+        List<Task> added = new ArrayList<>();
+        for (int i = 0; i < 3000; i++) {
+            added.add(new Todo("todo " + i));
+        }
+        added.add(new Deadline("report", LocalDate.of(2025, 10, 20)));
+        added.add(new Event("concert", "fri 7pm", "moné 10pm"));
+        added.add(new Recurring("gym", LocalDate.of(2025, 10, 20), 7));
+        for (Task t : added) {
+            tasks.add(t);
+        }
+        storage.appendAll(added);
+        tasks.mark(0);
+        tasks.remove(1);
+        tasks.tag(tasks.size() - 2, List.of("#music", "#fri"));
+        tasks.setPriority(tasks.size() - 1, Priority.LOW);
+        storage.rewrite(tasks);
+
+        storage.appendLine("deadline | 1 2025-10-19 | from a line | 2025-10-21 | !high #late");
+        tasks.add(new Deadline("from a line", LocalDate.of(2025, 10, 21)));
+        tasks.mark(tasks.size() - 1);
+        tasks.setPriority(tasks.size() - 1, Priority.HIGH);
+        tasks.tag(tasks.size() - 1, List.of("late"));
+        assertThrows(IOException.class, () -> storage.appendLine("chore | 0 | unknown type"));
+
+        TaskList reloaded = new MappedStorage(shard).load();
+        assertEquals(tasks.size(), reloaded.size());
+        for (int i = 0; i < tasks.size(); i++) {
+            assertEquals(tasks.get(i).toString(), reloaded.get(i).toString());
+        }
+        assertTrue(reloaded.get(0).isDone());
+        assertTrue(reloaded.get(reloaded.size() - 3).hasTag("music"));
+        assertTrue(reloaded.get(reloaded.size() - 1).hasTag("late"));
+    }
+
+    @Test
+    public void longTasksSpillIntoFollowingSlots() throws Exception {
+        Path dir = Files.createTempDirectory("darrenbot");
+        Path shard = dir.resolve("tasks.txt");
+        String longText = "ü".repeat(400);
+        Files.write(shard, List.of("todo | 0 | " + longText, "todo | 0 | short"), StandardCharsets.UTF_8);
+        MappedStorage storage = new MappedStorage(shard.toString());
+        TaskList tasks = storage.load();
+
+        Event e = new Event("trip", "x".repeat(300), "y".repeat(300));
+        e.addTag("#far");
+        tasks.add(e);
+        tasks.add(new Todo("after"));
+        storage.appendAll(List.of(e, tasks.get(3)));
+        tasks.mark(0);
+        tasks.mark(3);
+        storage.saveStatus(tasks, 0, 3);
+
+        TaskList reloaded = new MappedStorage(shard.toString()).load();
+        assertEquals(4, reloaded.size());
+        for (int i = 0; i < tasks.size(); i++) {
+            assertEquals(tasks.get(i).toString(), reloaded.get(i).toString());
+        }
+        assertTrue(reloaded.get(0).isDone());
+        assertTrue(reloaded.get(3).isDone());
+    }
+
+    @Test
+    public void taskTooLongToStoreLeavesTheFileUnchanged() throws Exception {
+        Path dir = Files.createTempDirectory("darrenbot");
+        Path shard = dir.resolve("tasks.txt");
+        Task huge = new Todo("x".repeat(MappedStorage.MAX_FIELD + 1));
+        Files.write(shard, List.of("todo | 0 | " + huge.getDescription()), StandardCharsets.UTF_8);
+        assertThrows(IOException.class, () -> new MappedStorage(shard.toString()).load());
+        assertFalse(Files.exists(dir.resolve("tasks.txt.dat"))); // the import is retried next time
+
+        Files.write(shard, List.of("todo | 0 | fine"), StandardCharsets.UTF_8);
+        MappedStorage storage = new MappedStorage(shard.toString());
+        TaskList tasks = storage.load();
+        assertThrows(IOException.class, () -> storage.appendAll(List.of(new Todo("ok"), huge)));
+        tasks.add(huge);
+        assertThrows(IOException.class, () -> storage.rewrite(tasks));
+
+        TaskList reloaded = new MappedStorage(shard.toString()).load();
+        assertEquals(1, reloaded.size());
+        assertEquals("[T][ ] fine", reloaded.get(0).toString());
+    }
+
+    @Test
+    public void syncTakesInChangesSavedByAnotherMappedStore() throws Exception {
+        Path dir = Files.createTempDirectory("darrenbot");
+        String shard = dir.resolve("tasks.txt").toString();
+        MappedStorage mine = new MappedStorage(shard);
+        MappedStorage theirs = new MappedStorage(shard);
+        TaskList ours = mine.load();
+        TaskList other = theirs.load();
+        assertFalse(mine.sync(ours));
+
+        other.add(new Todo("read book"));
+        other.add(new Deadline("report", LocalDate.of(2025, 10, 20)));
+        theirs.appendAll(other.all());
+        assertTrue(mine.sync(ours));
+        assertEquals(2, ours.size());
+        assertEquals("[T][ ] read book", ours.get(0).toString());
+        assertFalse(mine.sync(ours));
+
+        other.mark(1);
+        theirs.saveStatus(other, 1);
+        assertTrue(mine.sync(ours));
+        assertTrue(ours.get(1).isDone());
+
+        Task first = ours.get(0);
+        ours.add(new Todo("walk"));
+        mine.append(ours.get(2));
+        assertFalse(mine.sync(ours)); // its own write
+        assertTrue(theirs.sync(other));
+        other.remove(1);
+        theirs.rewrite(other);
+        assertTrue(mine.sync(ours));
+        assertEquals(2, ours.size());
+        assertSame(first, ours.get(0)); // unchanged tasks are kept, not reloaded
+        assertEquals("[T][ ] walk", ours.get(1).toString());
+
+        Files.delete(dir.resolve("tasks.txt.dat"));
+        theirs.rewrite(other); // replaces the file
+        other.mark(0);
+        theirs.saveStatus(other, 0);
+        assertTrue(mine.sync(ours));
+        assertTrue(ours.get(0).isDone());
+    }
+}
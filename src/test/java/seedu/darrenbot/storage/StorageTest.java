@@ -0,0 +1,301 @@
+package seedu.darrenbot.storage;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import seedu.darrenbot.tasks.Deadline;
+import seedu.darrenbot.tasks.Priority;
+import seedu.darrenbot.tasks.SortedView;
+import seedu.darrenbot.tasks.Task;
+import seedu.darrenbot.tasks.TaskList;
+import seedu.darrenbot.tasks.Todo;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class StorageTest {
+    @Test
+    public void parallelLoadKeepsFileOrder() throws Exception {
+        Path file = Files.createTempFile("darrenbot", ".txt");
+        List<String> lines = new ArrayList<>();
+        for (int i = 0; i < 20_000; i++) {
+            switch (i % 3) {
+            case 0 -> lines.add("todo | " + (i % 2) + " | task " + i);
+            case 1 -> lines.add("deadline | 0 | report " + i + " | 2025-10-" + (10 + i % 20));
+            default -> lines.add("event | 1 | meeting " + i + " | moné | tue\r");
+            }
+        }
+        Files.write(file, lines, StandardCharsets.UTF_8);
+
+        TaskList sequential = new Storage(file.toString(), Long.MAX_VALUE).load();
+        TaskList parallel = new Storage(file.toString(), 0).load();
+
+        assertEquals(lines.size(), parallel.size());
+        for (int i = 0; i < lines.size(); i++) {
+            assertEquals(sequential.get(i).toString(), parallel.get(i).toString());
+        }
+        Files.delete(file);
+    }
+
+    @Test
+    public void damagedRecordsAreQuarantinedAndTheRestLoaded() throws Exception {
+        Path file = Files.createTempFile("darrenbot", ".txt");
+        Storage storage = new Storage(file.toString());
+        storage.append(new Todo("first"));
+        storage.append(new Todo("second"));
+        storage.append(new Todo("third"));
+        storage.appendLine("chore | 0 | unknown type");
+
+        String text = Files.readString(file);
+        Files.writeString(file, text.replace("second", "secOnd") + "todo | 1 | legacy line\n");
+
+        TaskList tasks = storage.load();
+        assertEquals(3, tasks.size());
+        assertEquals("[T][ ] first", tasks.get(0).toString());
+        assertEquals("[T][ ] third", tasks.get(1).toString());
+        assertEquals("[T][X] legacy line", tasks.get(2).toString());
+        assertEquals(2, storage.getQuarantinedCount());
+
+        List<String> quarantined = Files.readAllLines(storage.getQuarantinePath());
+        assertEquals(2, quarantined.size());
+        assertTrue(quarantined.get(0).contains("secOnd"));
+        assertEquals("chore | 0 | unknown type", quarantined.get(1));
+
+        // The repaired file loads cleanly.
+        assertEquals(3, storage.load().size());
+        assertEquals(0, storage.getQuarantinedCount());
+        Files.delete(storage.getQuarantinePath());
+        Files.delete(file);
+    }
+
+    @Test
+    public void framesMergedByALostNewlineAreBothRecovered() throws Exception {
+        Path file = Files.createTempFile("darrenbot", ".txt");
+        Storage storage = new Storage(file.toString(), 0);
+        storage.append(new Todo("one"));
+        storage.append(new Todo("two"));
+        Files.writeString(file, Files.readString(file).replaceFirst("\\R", ""));
+
+        TaskList tasks = storage.load();
+        assertEquals(2, tasks.size());
+        assertEquals(0, storage.getQuarantinedCount());
+        Files.delete(file);
+    }
+
+    @Test
+    public void statusChangesArePatchedInPlace() throws Exception {
+        Path file = Files.createTempFile("darrenbot", ".txt");
+        Storage storage = new Storage(file.toString(), 0);
+        storage.append(new Todo("first"));
+        Deadline report = new Deadline("report", LocalDate.of(2025, 10, 20));
+        report.addTag("#School");
+        report.setPriority(Priority.HIGH);
+        storage.append(report);
+        storage.append(new Todo("thïrd"));
+        TaskList tasks = storage.load();
+        storage.append(new Todo("fourth"));
+        tasks.add(new Todo("fourth"));
+        byte[] before = Files.readAllBytes(file);
+
+        tasks.mark(3);
+        storage.saveStatus(tasks, 3);
+        tasks.mark(1);
+        storage.saveStatus(tasks, 1);
+
+        byte[] after = Files.readAllBytes(file);
+        assertEquals(before.length, after.length);
+        int changed = 0;
+        for (int i = 0; i < before.length; i++) {
+            changed += before[i] != after[i] ? 1 : 0;
+        }
+        assertTrue(changed <= 2 * 9); // only status digits and checksums
+
+        TaskList reloaded = new Storage(file.toString()).load();
+        assertEquals("[D][X] report !high #school (by: Oct 20 2025)", reloaded.get(1).toString());
+        assertEquals("[T][X] fourth", reloaded.get(3).toString());
+        assertEquals("[T][ ] thïrd", reloaded.get(2).toString());
+        Files.delete(file);
+    }
+
+    @Test
+    public void statusChangeFallsBackToRewriteWhenTheFileMoved() throws Exception {
+        Path file = Files.createTempFile("darrenbot", ".txt");
+        Files.writeString(file, "todo | 0 | legacy\ntodo | 0 | other\n");
+        Storage storage = new Storage(file.toString());
+        TaskList tasks = storage.load();
+        tasks.mark(1);
+        storage.saveStatus(tasks, 1); // load already rewrote the legacy lines with frames
+
+        Files.writeString(file, Files.readString(file).replace("legacy", "edited by hand"));
+        tasks.mark(0);
+        storage.saveStatus(tasks, 0); // the recorded offsets no longer match
+
+        TaskList reloaded = new Storage(file.toString()).load();
+        assertEquals("[T][X] legacy", reloaded.get(0).toString());
+        assertEquals("[T][X] other", reloaded.get(1).toString());
+        Files.delete(file);
+    }
+
+    @Test
+    @SuppressWarnings("try")
+    public void syncTakesInChangesSavedByAnotherStorageOfTheSameFile() throws Exception {
+        Path dir = Files.createTempDirectory("darrenbot");
+        String file = dir.resolve("duke.txt").toString();
+        Storage mine = new Storage(file);
+        Storage theirs = new Storage(file);
+        mine.ensureDataFile();
+        TaskList ours = mine.load();
+        TaskList other = theirs.load();
+
+        other.add(new Todo("read book"));
+        other.add(new Deadline("report", LocalDate.of(2025, 10, 20)));
+        theirs.appendAll(other.all());
+        assertTrue(mine.sync(ours));
+        assertEquals((long) 2, (long) ours.size());
+        assertEquals("[T][ ] read book", ours.get(0).toString());
+
+        other.mark(1);
+        theirs.saveStatus(other, 1);
+        assertTrue(mine.sync(ours));
+        assertTrue(ours.get(1).isDone());
+        assertFalse(mine.sync(ours));
+
+        try (Closeable lease = mine.lockAndSync(ours)) {
+            ours.add(new Todo("walk"));
+            mine.append(ours.get(2));
+            ours.mark(0);
+            mine.saveStatus(ours, 0);
+        }
+        assertTrue(theirs.sync(other));
+        assertEquals((long) 3, (long) other.size());
+        assertTrue(other.get(0).isDone());
+
+        Task first = ours.get(0);
+        Task walk = ours.get(2);
+        other.remove(1);
+        theirs.rewrite(other);
+        assertTrue(mine.sync(ours));
+        assertEquals((long) 2, (long) ours.size());
+        assertSame(first, ours.get(0)); // unchanged tasks are kept, not reloaded
+        assertSame(walk, ours.get(1));
+
+        ours.unmark(0);
+        mine.saveStatus(ours, 0);
+        assertTrue(theirs.sync(other));
+        assertFalse(other.get(0).isDone());
+        assertEquals(ours.asStorageLines(), new Storage(file).load().asStorageLines());
+
+        try (Stream<Path> files = Files.list(dir)) {
+            for (Path p : files.toList()) {
+                Files.delete(p);
+            }
+        }
+        Files.delete(dir);
+    }
+
+    @Test
+    public void syncReloadsWhenTheJournalShrinks() throws Exception {
+        Path dir = Files.createTempDirectory("darrenbot");
+        String file = dir.resolve("duke.txt").toString();
+        Storage mine = new Storage(file);
+        Storage theirs = new Storage(file);
+        mine.ensureDataFile();
+        TaskList other = theirs.load();
+        other.add(new Todo("a"));
+        other.add(new Todo("b"));
+        theirs.appendAll(other.all());
+        TaskList ours = mine.load();
+        String header = Files.readAllLines(mine.getJournalPath()).get(0) + "\n";
+
+        theirs.sync(other);
+        other.mark(0);
+        theirs.saveStatus(other, 0);
+        assertTrue(mine.sync(ours));
+        other.mark(1);
+        theirs.saveStatus(other, 1);
+        Files.writeString(mine.getJournalPath(), header); // same epoch, entries compacted away
+
+        assertTrue(mine.sync(ours));
+        assertTrue(ours.get(1).isDone());
+        Files.delete(mine.getJournalPath());
+        assertFalse(mine.sync(ours)); // reloads rather than failing on the missing journal
+        try (Stream<Path> files = Files.list(dir)) {
+            for (Path p : files.toList()) {
+                Files.delete(p);
+            }
+        }
+        Files.delete(dir);
+    }
+
+    @Test
+    public void syncOfAMidListChangeKeepsViewsInListOrder() throws Exception {
+        Path dir = Files.createTempDirectory("darrenbot");
+        String file = dir.resolve("duke.txt").toString();
+        Storage mine = new Storage(file);
+        Storage theirs = new Storage(file);
+        mine.ensureDataFile();
+        TaskList other = theirs.load();
+        other.add(new Todo("a"));
+        other.add(new Todo("b"));
+        other.add(new Todo("c"));
+        theirs.appendAll(other.all());
+        TaskList ours = mine.load();
+        SortedView<Integer> undone = new SortedView<>(t -> !t.isDone(), t -> 0);
+        ours.addView("undone", undone);
+
+        List<Task> edited = new ArrayList<>(List.of(new Todo("x"), new Todo("y")));
+        edited.addAll(other.all().subList(1, 3));
+        theirs.rewrite(new TaskList(new ArrayList<>(edited)));
+        assertTrue(mine.sync(ours));
+
+        assertEquals(List.of("x", "y", "b", "c"),
+                undone.first(10).stream().map(Task::getDescription).toList());
+        try (Stream<Path> files = Files.list(dir)) {
+            for (Path p : files.toList()) {
+                Files.delete(p);
+            }
+        }
+        Files.delete(dir);
+    }
+
+    @Test
+    public void syncWaitsForReadersHoldingTheList() throws Exception {
+        Path dir = Files.createTempDirectory("darrenbot");
+        String file = dir.resolve("duke.txt").toString();
+        Storage mine = new Storage(file);
+        Storage theirs = new Storage(file);
+        mine.ensureDataFile();
+        TaskList ours = mine.load();
+        TaskList other = theirs.load();
+        other.add(new Todo("read book"));
+        theirs.appendAll(other.all());
+
+        Thread watcher = new Thread(() -> {
+            try {
+                mine.sync(ours);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        synchronized (ours) {
+            watcher.start();
+            watcher.join(200);
+            assertTrue(watcher.isAlive()); // blocked until the reader lets go
+            assertEquals((long) 0, (long) ours.size());
+        }
+        watcher.join();
+        assertEquals((long) 1, (long) ours.size());
+    }
+}
@@ -0,0 +1,89 @@
+package seedu.darrenbot.storage;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import seedu.darrenbot.tasks.Task;
+import seedu.darrenbot.tasks.TaskList;
+import seedu.darrenbot.tasks.Todo;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class WorkspacesTest {
+    @Test
+    public void searchDoesNotChangeWhichWorkspaceIsEvicted() throws Exception {
+        Path dir = Files.createTempDirectory("darrenbot");
+        Workspaces workspaces = new Workspaces(dir.toString(), 2);
+        workspaces.open("b");
+        Workspaces.Workspace a = workspaces.open("a");
+        Task t = new Todo("read book");
+        a.getTasks().add(t);
+        a.getStorage().append(t);
+
+        Map<String, Map<Integer, Task>> found = workspaces.search(x -> x.getDescription().contains("book"));
+        assertEquals("[T][ ] read book", found.get("a").get(0).toString());
+
+        workspaces.open("c"); // b was used least recently, whatever order the search visited them in
+        assertTrue(workspaces.isLoaded("a"));
+        assertFalse(workspaces.isLoaded("b"));
+        assertTrue(workspaces.isLoaded("c"));
+    }
+
+    @Test
+    @SuppressWarnings("try")
+    public void searchNeitherWaitsForNorRepairsOtherShards() throws Exception {
+        Path dir = Files.createTempDirectory("darrenbot");
+        Path other = dir.resolve("other.txt");
+        Files.write(other, List.of(RecordFrame.encode("todo | 0 2025-10-19 | buy book"), "damaged"));
+        Workspaces workspaces = new Workspaces(dir.toString(), 4);
+        workspaces.open("main");
+        Storage theirs = new Storage(other.toString());
+
+        AtomicReference<Map<String, Map<Integer, Task>>> found = new AtomicReference<>();
+        Thread searcher = new Thread(() -> {
+            try {
+                found.set(workspaces.search(x -> x.getDescription().contains("book")));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        try (Closeable lock = theirs.lock()) { // as another process working in that shard would
+            searcher.start();
+            searcher.join(5000);
+            assertFalse(searcher.isAlive());
+        }
+        assertEquals("[T][ ] buy book", found.get().get("other").get(0).toString());
+        assertFalse(Files.exists(theirs.getQuarantinePath()));
+        assertEquals(2, Files.readAllLines(other).size());
+    }
+
+    @Test
+    public void indexSavedBeforeAnotherProcessWroteTheShardIsNotReused() throws Exception {
+        Path dir = Files.createTempDirectory("darrenbot");
+        Workspaces workspaces = new Workspaces(dir.toString(), 4);
+        Workspaces.Workspace a = workspaces.open("a");
+        Task t = new Todo("read book");
+        a.getTasks().add(t);
+        a.getStorage().append(t);
+
+        Storage theirs = new Storage(dir.resolve("a.txt").toString());
+        TaskList other = theirs.load();
+        other.remove(0);
+        other.add(new Todo("buy milk"));
+        theirs.rewrite(other);
+        workspaces.saveIndexes(); // the list in memory still holds the old task, with as many tasks
+
+        Workspaces.Workspace reopened = new Workspaces(dir.toString(), 4).open("a");
+        assertEquals("buy milk", reopened.getSearchIndex().search("milk", 1).get(0).getDescription());
+    }
+}
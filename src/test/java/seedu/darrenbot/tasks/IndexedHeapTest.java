@@ -0,0 +1,79 @@
+package seedu.darrenbot.tasks;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class IndexedHeapTest {
+    @Test
+    public void smallestMatchesASortAfterRandomUpdates() {
+        Random random = new Random(49);
+        IndexedHeap<long[]> heap = new IndexedHeap<>();
+        List<long[]> live = new ArrayList<>(); // {key, tie}
+        for (int op = 0; op < 20_000; op++) {
+            int choice = random.nextInt(10);
+            if (choice < 5 || live.isEmpty()) {
+                long[] item = {random.nextInt(100), op};
+                live.add(item);
+                heap.put(item, item[0], item[1]);
+            } else if (choice < 8) {
+                long[] item = live.get(random.nextInt(live.size()));
+                item[0] = random.nextInt(100);
+                heap.put(item, item[0], item[1]);
+            } else {
+                heap.remove(live.remove(random.nextInt(live.size())));
+            }
+            if (op % 500 == 0) {
+                int k = random.nextInt(20);
+                List<long[]> expected = live.stream()
+                        .sorted(Comparator.comparingLong((long[] a) -> a[0]).thenComparingLong(a -> a[1]))
+                        .limit(k)
+                        .toList();
+                assertEquals(expected, heap.smallest(k));
+            }
+        }
+        assertEquals((long) live.size(), (long) heap.size());
+    }
+
+    @Test
+    public void nextWeighsPriorityAgainstDueDates() {
+        LocalDate today = LocalDate.now();
+        TaskList tasks = new TaskList(new ArrayList<>());
+        tasks.add(new Todo("someday"));
+        tasks.add(new Deadline("overdue", today.minusDays(1)));
+        tasks.add(new Deadline("next week", today.plusDays(7)));
+        tasks.add(new Todo("important"));
+        tasks.add(new Deadline("done already", today.minusDays(5)));
+        tasks.mark(4);
+        tasks.setPriority(3, Priority.HIGH);
+
+        assertEquals(List.of("overdue", "important", "next week", "someday"), names(tasks.next(10)));
+        assertEquals(List.of("overdue", "important"), names(tasks.next(2)));
+
+        tasks.unmark(4);
+        tasks.remove(1);
+        tasks.setPriority(0, Priority.parse("h"));
+        assertEquals(List.of("done already", "someday", "important"), names(tasks.next(3)));
+    }
+
+    @Test
+    public void nextBreaksTiesByListOrderAfterARangeIsReplaced() {
+        TaskList tasks = new TaskList(new ArrayList<>(List.of(new Todo("a"), new Todo("b"), new Todo("c"))));
+        assertEquals(List.of("a", "b", "c"), names(tasks.next(3)));
+
+        tasks.replaceRange(0, 1, List.of(new Todo("x"), new Todo("y")));
+        assertEquals(List.of("x", "y", "b", "c"), names(tasks.next(4)));
+        tasks.add(new Todo("d"));
+        assertEquals(List.of("x", "y", "b", "c", "d"), names(tasks.next(5)));
+    }
+
+    private static List<String> names(List<Task> found) {
+        return found.stream().map(Task::getDescription).toList();
+    }
+}
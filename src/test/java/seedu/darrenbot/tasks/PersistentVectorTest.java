@@ -0,0 +1,57 @@
+package seedu.darrenbot.tasks;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class PersistentVectorTest {
+    @Test
+    public void behavesLikeAnArrayListAcrossTrieLevels() {
+        Random random = new Random(42);
+        List<Integer> expected = new ArrayList<>();
+        PersistentVector<Integer> v = PersistentVector.empty();
+        for (int i = 0; i < 40_000; i++) {
+            v = v.append(i);
+            expected.add(i);
+        }
+        for (int i = 0; i < 200; i++) {
+            int at = random.nextInt(expected.size());
+            v = v.with(at, -at);
+            expected.set(at, -at);
+        }
+        v = v.without(1234);
+        v = v.without(v.size() - 1);
+        expected.remove(1234);
+        expected.remove(expected.size() - 1);
+
+        assertEquals(expected, v);
+        assertThrows(IndexOutOfBoundsException.class, () -> PersistentVector.empty().get(0));
+    }
+
+    @Test
+    public void olderVersionsAreUnaffected() {
+        PersistentVector<String> v1 = PersistentVector.of(List.of("a", "b", "c"));
+        PersistentVector<String> v2 = v1.append("d").with(0, "z").without(1);
+
+        assertEquals(List.of("a", "b", "c"), v1);
+        assertEquals(List.of("z", "c", "d"), v2);
+    }
+
+    @Test
+    public void taskListSnapshotsIgnoreLaterChanges() {
+        TaskList tasks = new TaskList(new ArrayList<>(List.of(new Todo("read book"), new Todo("sleep"))));
+        List<Task> before = tasks.snapshot();
+        tasks.add(new Todo("write report"));
+        tasks.remove(0);
+
+        assertEquals(2, before.size());
+        assertEquals("read book", before.get(0).getDescription());
+        assertEquals(2, tasks.size());
+        assertEquals("sleep", tasks.get(0).getDescription());
+    }
+}
@@ -0,0 +1,41 @@
+package seedu.darrenbot.tasks;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class RecurringTest {
+    private final Recurring gym = new Recurring("gym", LocalDate.of(2025, 10, 20), 7);
+
+    @Test
+    public void nextOccurrenceSkipsStraightToTheRightWeek() {
+        assertEquals(LocalDate.of(2025, 10, 20), gym.nextOccurrence(LocalDate.of(2025, 1, 1)));
+        assertEquals(LocalDate.of(2025, 10, 20), gym.nextOccurrence(LocalDate.of(2025, 10, 20)));
+        assertEquals(LocalDate.of(2025, 10, 27), gym.nextOccurrence(LocalDate.of(2025, 10, 21)));
+        assertEquals(LocalDate.of(2125, 10, 22), gym.nextOccurrence(LocalDate.of(2125, 10, 17)));
+    }
+
+    @Test
+    public void occurrencesAreProducedLazily() {
+        Iterator<LocalDate> it = gym.occurrences(LocalDate.of(2025, 10, 21));
+        assertEquals(LocalDate.of(2025, 10, 27), it.next());
+        assertEquals(LocalDate.of(2025, 11, 3), it.next());
+
+        List<LocalDate> november = gym.occurrencesBetween(LocalDate.of(2025, 11, 1), LocalDate.of(2025, 11, 30))
+                .toList();
+        assertEquals(4, november.size());
+        assertEquals(LocalDate.of(2025, 11, 24), november.get(3));
+    }
+
+    @Test
+    public void toStringTest() {
+        assertEquals("[R][ ] gym (every Monday from Oct 20 2025)", gym.toString());
+        assertEquals("every day", new Recurring("stretch", LocalDate.of(2025, 1, 1), 1).describeRule());
+        assertEquals("every 2 weeks", new Recurring("bins", LocalDate.of(2025, 1, 1), 14).describeRule());
+        assertEquals("every 3 days", new Recurring("water", LocalDate.of(2025, 1, 1), 3).describeRule());
+    }
+}
@@ -0,0 +1,86 @@
+package seedu.darrenbot.tasks;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class RoaringBitmapTest {
+    @Test
+    public void setOperationsMatchBitSetAcrossSparseAndDenseChunks() {
+        Random random = new Random(48);
+        for (int round = 0; round < 20; round++) {
+            // Alternate between sparse chunks (array containers) and dense ones (bitmap containers).
+            int range = round % 2 == 0 ? 1 << 20 : 3 * (1 << 16);
+            int count = round % 2 == 0 ? 2_000 : 30_000;
+            BitSet expectedA = new BitSet();
+            BitSet expectedB = new BitSet();
+            RoaringBitmap a = fill(random, range, count, expectedA);
+            RoaringBitmap b = fill(random, range, count, expectedB);
+            for (int i = 0; i < count / 2; i++) {
+                int x = random.nextInt(range);
+                assertEquals(expectedA.get(x), a.remove(x));
+                expectedA.clear(x);
+            }
+
+            assertMatches(expectedA, a);
+            BitSet and = (BitSet) expectedA.clone();
+            and.and(expectedB);
+            assertMatches(and, RoaringBitmap.and(a, b));
+            BitSet or = (BitSet) expectedA.clone();
+            or.or(expectedB);
+            assertMatches(or, RoaringBitmap.or(a, b));
+            BitSet andNot = (BitSet) expectedA.clone();
+            andNot.andNot(expectedB);
+            assertMatches(andNot, RoaringBitmap.andNot(a, b));
+        }
+    }
+
+    @Test
+    public void tagQueriesFollowTagUntagAndDelete() {
+        TaskList tasks = new TaskList(new ArrayList<>());
+        for (int i = 0; i < 500; i++) {
+            tasks.add(new Todo("task " + i));
+            tasks.tag(i, List.of(i % 2 == 0 ? "#work" : "#home"));
+            if (i % 5 == 0) {
+                tasks.tag(i, List.of("urgent"));
+            }
+        }
+        tasks.untag(310, List.of("#urgent"));
+        tasks.removeWhere((i, t) -> i < 300); // leaves enough holes to renumber the slots
+
+        List<Task> found = tasks.withTags(List.of(List.of("work"),
+                List.of("urgent")), List.of());
+        assertEquals(19, found.size());
+        assertEquals("[T][ ] task 300 #urgent #work", found.get(0).toString());
+        assertEquals(100, tasks.withTags(List.of(), List.of("home")).size());
+        assertEquals(0, tasks.withTags(List.of(List.of("nope")), List.of()).size());
+    }
+
+    private static RoaringBitmap fill(Random random, int range, int count, BitSet expected) {
+        RoaringBitmap bitmap = new RoaringBitmap();
+        for (int i = 0; i < count; i++) {
+            int x = random.nextInt(range);
+            assertEquals(!expected.get(x), bitmap.add(x));
+            expected.set(x);
+        }
+        return bitmap;
+    }
+
+    private static void assertMatches(BitSet expected, RoaringBitmap actual) {
+        assertEquals((long) expected.cardinality(), (long) actual.cardinality());
+        BitSet seen = new BitSet();
+        int[] previous = {-1};
+        actual.forEach(x -> {
+            assertTrue(x > previous[0]);
+            previous[0] = x;
+            seen.set(x);
+        });
+        assertEquals(expected, seen);
+    }
+}
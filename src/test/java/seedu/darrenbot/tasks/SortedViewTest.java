@@ -0,0 +1,61 @@
+package seedu.darrenbot.tasks;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class SortedViewTest {
+    @Test
+    public void treeKeepsRanksThroughInsertsAndRemoves() {
+        Random random = new Random(7);
+        OrderStatisticTree<Integer> tree = new OrderStatisticTree<>(Comparator.naturalOrder());
+        List<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < 5_000; i++) {
+            int v = random.nextInt(1_000_000);
+            if (!expected.contains(v)) {
+                tree.add(v);
+                expected.add(v);
+            }
+            if (i % 3 == 0) {
+                Integer gone = expected.remove(random.nextInt(expected.size()));
+                tree.remove(gone);
+            }
+        }
+        expected.sort(null);
+
+        assertEquals(expected.size(), tree.size());
+        assertEquals(expected.get(100), tree.get(100));
+        assertEquals(expected.subList(250, 260), tree.range(250, 10));
+        assertEquals(expected.subList(expected.size() - 3, expected.size()), tree.range(expected.size() - 3, 10));
+    }
+
+    @Test
+    public void viewFollowsMarksAndDeletes() {
+        TaskList tasks = new TaskList(new ArrayList<>());
+        tasks.add(new Deadline("tax return", LocalDate.of(2025, 11, 30)));
+        tasks.add(new Todo("read book"));
+        tasks.add(new Deadline("essay", LocalDate.of(2025, 10, 1)));
+        SortedView<LocalDate> undoneByDate = new SortedView<>(t -> !t.isDone(),
+                t -> t instanceof Deadline d ? d.getDeadline() : LocalDate.MAX);
+        tasks.addView("undone sort:by", undoneByDate);
+        tasks.add(new Deadline("visa", LocalDate.of(2025, 10, 15)));
+
+        assertEquals(List.of("essay", "visa", "tax return", "read book"), names(undoneByDate.first(10)));
+        tasks.mark(2);
+        assertEquals(List.of("visa", "tax return"), names(undoneByDate.first(2)));
+        tasks.unmark(2);
+        tasks.remove(3);
+        assertEquals(List.of("essay", "tax return", "read book"), names(undoneByDate.first(10)));
+        assertEquals(3, undoneByDate.size());
+    }
+
+    private static List<String> names(List<Task> found) {
+        return found.stream().map(Task::getDescription).toList();
+    }
+}
@@ -0,0 +1,42 @@
+package seedu.darrenbot.tasks;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class StringInternerTest {
+    @Test
+    public void internReturnsOneInstancePerValue() {
+        StringInterner pool = new StringInterner();
+        String first = pool.intern(new String("sleep"));
+        String second = pool.intern(new String("sleep"));
+
+        assertSame(first, second);
+        assertEquals(1, pool.size());
+        assertEquals(2, pool.getLookupCount());
+        assertEquals(1, pool.getHitCount());
+        assertEquals(StringInterner.estimateBytes("sleep"), pool.getBytesAvoided());
+        assertTrue(pool.getOverheadBytes() > 0);
+        assertNull(pool.intern(null));
+    }
+
+    @Test
+    public void tasksShareDescriptionsAndEventTimes() {
+        Todo a = new Todo(new String("sleep"));
+        Todo b = new Todo(new String("sleep"));
+        Event e = new Event("nap", new String("now"), "later");
+        Event f = new Event("rest", new String("now"), "later");
+
+        assertSame(a.getDescription(), b.getDescription());
+        assertSame(e.getFrom(), f.getFrom());
+
+        String longText = "write the quarterly report for the whole team";
+        Todo c = new Todo(new String(longText));
+        Todo d = new Todo(new String(longText));
+        assertNotSame(c.getDescription(), d.getDescription()); // not worth a pool entry each
+    }
+}
@@ -0,0 +1,42 @@
+package seedu.darrenbot.ui;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+
+import seedu.darrenbot.tasks.TaskList;
+import seedu.darrenbot.tasks.Todo;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class ResponseCacheTest {
+    @Test
+    public void repliesAreOnlyServedForTheVersionTheyWereRenderedFrom() {
+        TaskList tasks = new TaskList(new ArrayList<>());
+        tasks.add(new Todo("read book"));
+        ResponseCache cache = new ResponseCache(2);
+
+        assertNull(cache.get("list", tasks.getModCount()));
+        cache.put("list", tasks.getModCount(), "1.[T][ ] read book");
+        assertEquals("1.[T][ ] read book", cache.get("list", tasks.getModCount()));
+
+        tasks.mark(0);
+        assertNull(cache.get("list", tasks.getModCount()));
+        assertEquals(1, cache.getHitCount());
+        assertEquals(2, cache.getMissCount());
+    }
+
+    @Test
+    public void leastRecentlyUsedReplyIsDroppedWhenFull() {
+        ResponseCache cache = new ResponseCache(2);
+        cache.put("a", 0, "A");
+        cache.put("b", 0, "B");
+        cache.get("a", 0);
+        cache.put("c", 0, "C");
+
+        assertEquals(2, cache.size());
+        assertEquals("A", cache.get("a", 0));
+        assertNull(cache.get("b", 0));
+    }
+}
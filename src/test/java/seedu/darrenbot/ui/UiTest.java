@@ -0,0 +1,30 @@
+package seedu.darrenbot.ui;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import seedu.darrenbot.tasks.Task;
+import seedu.darrenbot.tasks.TaskList;
+import seedu.darrenbot.tasks.Todo;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class UiTest {
+    @Test
+    public void pickedTasksShowTheirIndexInTheList() {
+        Task a = new Todo("a");
+        Task b = new Todo("b");
+        Task c = new Todo("c");
+        TaskList list = new TaskList(new ArrayList<>(List.of(a, b, c)));
+        Ui ui = new Ui();
+
+        assertEquals("2. [T][ ] c\n0. [T][ ] a", ui.formatTasks(List.of(c, a), list));
+        assertEquals("1. [T][ ] b\n- [T][ ] archived", ui.formatTasks(List.of(b, new Todo("archived")), list));
+        assertEquals("0. [T][ ] a\n1. [T][ ] b\n2. [T][ ] c", ui.formatTasks(list.all()));
+
+        list.remove(0);
+        assertEquals("1. [T][ ] c\n0. [T][ ] b", ui.formatTasks(List.of(c, b), list));
+    }
+}